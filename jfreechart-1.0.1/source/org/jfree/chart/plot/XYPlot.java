@@ -168,6 +168,10 @@
  * 06-Jul-2005 : Fixed crosshair bug (id = 1233336) (DG);
  * ------------- JFREECHART 1.0.0 ---------------------------------------------
  * 26-Jan-2006 : Added getAnnotations() method (DG);
+ * 18-Oct-2026 : Only pass the items within the visible domain range to the 
+ *               renderer when the dataset has sorted x-values;
+ * 18-Oct-2026 : Notify the renderer state at the start and end of each 
+ *               series pass;
  *
  */
 
@@ -212,6 +216,7 @@ import org.jfree.chart.event.ChartChangeEventType;
 import org.jfree.chart.event.PlotChangeEvent;
 import org.jfree.chart.event.RendererChangeEvent;
 import org.jfree.chart.event.RendererChangeListener;
+import org.jfree.chart.renderer.RendererUtilities;
 import org.jfree.chart.renderer.xy.XYItemRenderer;
 import org.jfree.chart.renderer.xy.XYItemRendererState;
 import org.jfree.data.Range;
@@ -2597,6 +2602,12 @@ public class XYPlot extends Plot implements ValueAxisPlot,
      * <P>
      * The <code>info</code> and <code>crosshairState</code> arguments may be
      * <code>null</code>.
+     * <P>
+     * If the dataset reports its x-values as sorted (see 
+     * {@link XYDataset#getDomainOrder()}), only the items within the visible
+     * range of the domain axis, plus one item either side, are passed to the
+     * renderer, unless the renderer state asks for every item (see 
+     * {@link XYItemRendererState#getProcessVisibleItemsOnly()}).
      *
      * @param g2  the graphics device.
      * @param dataArea  the region in which the data is to be drawn.
@@ -2635,14 +2646,34 @@ public class XYPlot extends Plot implements ValueAxisPlot,
                 for (int pass = 0; pass < passCount; pass++) {
                     int seriesCount = dataset.getSeriesCount();
                     for (int series = seriesCount-1; series >= 0 ; series--) {
-                        int itemCount = dataset.getItemCount(series);
-                        for (int item = 0; item < itemCount; item++) {
+                        int firstItem = 0;
+                        int lastItem = dataset.getItemCount(series) - 1;
+                        if (lastItem < 0) {
+                            continue;
+                        }
+                        if (state.getProcessVisibleItemsOnly()) {
+                            int[] itemBounds = RendererUtilities.findLiveItems(
+                                dataset, series, xAxis.getLowerBound(), 
+                                xAxis.getUpperBound()
+                            );
+                            firstItem = itemBounds[0];
+                            lastItem = itemBounds[1];
+                        }
+                        state.startSeriesPass(
+                            dataset, series, firstItem, lastItem, pass, 
+                            passCount
+                        );
+                        for (int item = firstItem; item <= lastItem; item++) {
                             renderer.drawItem(
                                 g2, state, dataArea, info,
                                 this, xAxis, yAxis, dataset, series, item,
                                 crosshairState, pass
                             );
                         }
+                        state.endSeriesPass(
+                            dataset, series, firstItem, lastItem, pass, 
+                            passCount
+                        );
                     }
                 }
             }
@@ -2651,14 +2682,34 @@ public class XYPlot extends Plot implements ValueAxisPlot,
                 for (int pass = 0; pass < passCount; pass++) {
                     int seriesCount = dataset.getSeriesCount();
                     for (int series = 0; series < seriesCount; series++) {
-                        int itemCount = dataset.getItemCount(series);
-                        for (int item = 0; item < itemCount; item++) {
+                        int firstItem = 0;
+                        int lastItem = dataset.getItemCount(series) - 1;
+                        if (lastItem < 0) {
+                            continue;
+                        }
+                        if (state.getProcessVisibleItemsOnly()) {
+                            int[] itemBounds = RendererUtilities.findLiveItems(
+                                dataset, series, xAxis.getLowerBound(), 
+                                xAxis.getUpperBound()
+                            );
+                            firstItem = itemBounds[0];
+                            lastItem = itemBounds[1];
+                        }
+                        state.startSeriesPass(
+                            dataset, series, firstItem, lastItem, pass, 
+                            passCount
+                        );
+                        for (int item = firstItem; item <= lastItem; item++) {
                             renderer.drawItem(
                                 g2, state, dataArea, info,
                                 this, xAxis, yAxis, dataset, series, item,
                                 crosshairState, pass
                             );
                         }
+                        state.endSeriesPass(
+                            dataset, series, firstItem, lastItem, pass, 
+                            passCount
+                        );
                     }
                 }
             }
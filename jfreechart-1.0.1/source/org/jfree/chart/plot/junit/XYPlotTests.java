@@ -39,6 +39,7 @@
  * 26-Mar-2003 : Version 1 (DG);
  * 22-Mar-2004 : Added new cloning test (DG);
  * 05-Oct-2004 : Strengthened test for clone independence (DG);
+ * 18-Oct-2026 : Added tests for visible range culling in render();
  */
 
 package org.jfree.chart.plot.junit;
@@ -46,7 +47,10 @@ package org.jfree.chart.plot.junit;
 import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.GradientPaint;
+import java.awt.Graphics2D;
 import java.awt.Stroke;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.ObjectInput;
@@ -65,15 +69,19 @@ import org.jfree.chart.annotations.XYTextAnnotation;
 import org.jfree.chart.axis.AxisLocation;
 import org.jfree.chart.axis.DateAxis;
 import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.axis.ValueAxis;
 import org.jfree.chart.labels.StandardXYToolTipGenerator;
+import org.jfree.chart.plot.CrosshairState;
 import org.jfree.chart.plot.IntervalMarker;
 import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.PlotRenderingInfo;
 import org.jfree.chart.plot.ValueMarker;
 import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.renderer.xy.DefaultXYItemRenderer;
 import org.jfree.chart.renderer.xy.StandardXYItemRenderer;
 import org.jfree.chart.renderer.xy.XYBarRenderer;
 import org.jfree.chart.renderer.xy.XYItemRenderer;
+import org.jfree.chart.renderer.xy.XYItemRendererState;
 import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
 import org.jfree.data.time.Day;
 import org.jfree.data.time.TimeSeries;
@@ -822,4 +830,88 @@ public class XYPlotTests extends TestCase {
         assertEquals(x, a3); 
     }
     
+    /**
+     * A renderer that records the range of items it is asked to draw.
+     */
+    static class ItemRangeRenderer extends XYLineAndShapeRenderer {
+        
+        /** The lowest item index drawn. */
+        int firstItem = Integer.MAX_VALUE;
+        
+        /** The highest item index drawn. */
+        int lastItem = Integer.MIN_VALUE;
+        
+        /**
+         * Records the item index, then draws the item.
+         * 
+         * @param g2  the graphics device.
+         * @param state  the renderer state.
+         * @param dataArea  the area within which the data is being drawn.
+         * @param info  collects information about the drawing.
+         * @param plot  the plot.
+         * @param domainAxis  the domain axis.
+         * @param rangeAxis  the range axis.
+         * @param dataset  the dataset.
+         * @param series  the series index (zero-based).
+         * @param item  the item index (zero-based).
+         * @param crosshairState  crosshair information for the plot.
+         * @param pass  the pass index.
+         */
+        public void drawItem(Graphics2D g2, XYItemRendererState state,
+                Rectangle2D dataArea, PlotRenderingInfo info, XYPlot plot,
+                ValueAxis domainAxis, ValueAxis rangeAxis, XYDataset dataset,
+                int series, int item, CrosshairState crosshairState, 
+                int pass) {
+            this.firstItem = Math.min(this.firstItem, item);
+            this.lastItem = Math.max(this.lastItem, item);
+            super.drawItem(g2, state, dataArea, info, plot, domainAxis, 
+                    rangeAxis, dataset, series, item, crosshairState, pass);
+        }
+    }
+    
+    /**
+     * Creates a plot of 1000 sorted items (x = 0 to 999) with the domain axis
+     * zoomed in to the range 100.5 to 200.5, and draws it.
+     * 
+     * @param renderer  the renderer.
+     */
+    private void drawZoomedPlot(XYItemRenderer renderer) {
+        XYSeries series = new XYSeries("S1");
+        for (int i = 0; i < 1000; i++) {
+            series.add(i, Math.sin(i / 10.0));
+        }
+        NumberAxis xAxis = new NumberAxis("X");
+        xAxis.setRange(100.5, 200.5);
+        XYPlot plot = new XYPlot(new XYSeriesCollection(series), xAxis, 
+                new NumberAxis("Y"), renderer);
+        JFreeChart chart = new JFreeChart(plot);
+        BufferedImage image = new BufferedImage(200, 100, 
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 200, 100), null, null);
+        g2.dispose();
+    }
+    
+    /**
+     * Only the items within the visible domain range, plus one neighbour on
+     * each side, should be passed to the renderer for a sorted dataset.
+     */
+    public void testRenderVisibleItemsOnly() {
+        ItemRangeRenderer renderer = new ItemRangeRenderer();
+        drawZoomedPlot(renderer);
+        assertEquals(100, renderer.firstItem);
+        assertEquals(201, renderer.lastItem);
+    }
+    
+    /**
+     * A renderer that draws each series as a single path needs every item.
+     */
+    public void testRenderAllItemsForSeriesPath() {
+        ItemRangeRenderer renderer = new ItemRangeRenderer();
+        renderer.setDrawSeriesLineAsPath(true);
+        drawZoomedPlot(renderer);
+        assertEquals(0, renderer.firstItem);
+        assertEquals(999, renderer.lastItem);
+    }
+    
 }
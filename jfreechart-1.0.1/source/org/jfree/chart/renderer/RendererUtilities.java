@@ -0,0 +1,194 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2005, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ----------------------
+ * RendererUtilities.java
+ * ----------------------
+ * Original Author:  Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.chart.renderer;
+
+import org.jfree.data.DomainOrder;
+import org.jfree.data.xy.XYDataset;
+
+/**
+ * Utility methods related to the rendering process.  The methods here find
+ * the items of a series that fall within the visible range of the domain
+ * axis, so that a plot can skip the items that cannot be seen.  Only a
+ * dataset that reports its x-values as sorted (see
+ * {@link XYDataset#getDomainOrder()}) is searched, for any other dataset
+ * every item is considered to be visible.
+ */
+public class RendererUtilities {
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private RendererUtilities() {
+        // no instances
+    }
+
+    /**
+     * Finds the lower index of the range of live items in the specified
+     * series, that is the first item with an x-value that is greater than or
+     * equal to <code>xLow</code>.  If the x-values are not sorted, zero is
+     * returned.
+     *
+     * @param dataset  the dataset (<code>null</code> not permitted).
+     * @param series  the series index.
+     * @param xLow  the lowest x-value in the live range.
+     * @param xHigh  the highest x-value in the live range.
+     *
+     * @return The index of the required item, which is equal to the item
+     *         count if every item lies below the live range.
+     */
+    public static int findLiveItemsLowerBound(XYDataset dataset, int series,
+            double xLow, double xHigh) {
+        if (dataset == null) {
+            throw new IllegalArgumentException("Null 'dataset' argument.");
+        }
+        int itemCount = dataset.getItemCount(series);
+        DomainOrder order = dataset.getDomainOrder();
+        if (order == DomainOrder.ASCENDING) {
+            // first item with x >= xLow
+            int low = 0;
+            int high = itemCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (dataset.getXValue(series, mid) < xLow) {
+                    low = mid + 1;
+                }
+                else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+        else if (order == DomainOrder.DESCENDING) {
+            // first item with x <= xHigh
+            int low = 0;
+            int high = itemCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (dataset.getXValue(series, mid) > xHigh) {
+                    low = mid + 1;
+                }
+                else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+        return 0;
+    }
+
+    /**
+     * Finds the upper index of the range of live items in the specified
+     * series, that is the last item with an x-value that is less than or
+     * equal to <code>xHigh</code>.  If the x-values are not sorted, the index
+     * of the last item is returned.
+     *
+     * @param dataset  the dataset (<code>null</code> not permitted).
+     * @param series  the series index.
+     * @param xLow  the lowest x-value in the live range.
+     * @param xHigh  the highest x-value in the live range.
+     *
+     * @return The index of the required item, which is -1 if every item lies
+     *         above the live range.
+     */
+    public static int findLiveItemsUpperBound(XYDataset dataset, int series,
+            double xLow, double xHigh) {
+        if (dataset == null) {
+            throw new IllegalArgumentException("Null 'dataset' argument.");
+        }
+        int itemCount = dataset.getItemCount(series);
+        DomainOrder order = dataset.getDomainOrder();
+        if (order == DomainOrder.ASCENDING) {
+            // first item with x > xHigh, less one
+            int low = 0;
+            int high = itemCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (dataset.getXValue(series, mid) <= xHigh) {
+                    low = mid + 1;
+                }
+                else {
+                    high = mid;
+                }
+            }
+            return low - 1;
+        }
+        else if (order == DomainOrder.DESCENDING) {
+            // first item with x < xLow, less one
+            int low = 0;
+            int high = itemCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (dataset.getXValue(series, mid) >= xLow) {
+                    low = mid + 1;
+                }
+                else {
+                    high = mid;
+                }
+            }
+            return low - 1;
+        }
+        return itemCount - 1;
+    }
+
+    /**
+     * Finds a range of items to be drawn for the specified series so that
+     * every item with an x-value in the range <code>xLow</code> to
+     * <code>xHigh</code> is included, along with one neighbouring item on
+     * each side so that the lines connecting the first and last visible
+     * items to the items just outside the range are still drawn.  The
+     * returned range is empty (the first index is greater than the second)
+     * only when the series has no items.
+     *
+     * @param dataset  the dataset (<code>null</code> not permitted).
+     * @param series  the series index.
+     * @param xLow  the lowest x-value in the live range.
+     * @param xHigh  the highest x-value in the live range.
+     *
+     * @return An array containing the first and last item indices.
+     */
+    public static int[] findLiveItems(XYDataset dataset, int series,
+            double xLow, double xHigh) {
+        int itemCount = dataset.getItemCount(series);
+        int i0 = findLiveItemsLowerBound(dataset, series, xLow, xHigh);
+        int i1 = findLiveItemsUpperBound(dataset, series, xLow, xHigh);
+        i0 = Math.max(i0 - 1, 0);
+        i1 = Math.min(i1 + 1, itemCount - 1);
+        return new int[] {i0, i1};
+    }
+
+}
@@ -38,6 +38,7 @@
  * --------
  * 21-Mar-2003 : Version 1 (DG);
  * 22-Oct-2003 : Added BoxAndWhiskerRendererTests (DG);
+ * 18-Oct-2026 : Added RendererUtilitiesTests;
  *
  */
 
@@ -63,6 +64,7 @@ public class RendererPackageTests extends TestCase {
         TestSuite suite = new TestSuite("org.jfree.chart.renderer");
         suite.addTestSuite(AbstractRendererTests.class);
         suite.addTestSuite(AreaRendererEndTypeTests.class);
+        suite.addTestSuite(RendererUtilitiesTests.class);
         return suite;
     }
 
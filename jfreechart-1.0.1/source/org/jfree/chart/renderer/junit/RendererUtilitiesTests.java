@@ -0,0 +1,164 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2005, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by 
+ * the Free Software Foundation; either version 2.1 of the License, or 
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, 
+ * USA.  
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc. 
+ * in the United States and other countries.]
+ *
+ * ---------------------------
+ * RendererUtilitiesTests.java
+ * ---------------------------
+ * Original Author:  Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.chart.renderer.junit;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.jfree.chart.renderer.RendererUtilities;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+
+/**
+ * Tests for the {@link RendererUtilities} class.
+ */
+public class RendererUtilitiesTests extends TestCase {
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(RendererUtilitiesTests.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public RendererUtilitiesTests(String name) {
+        super(name);
+    }
+
+    /**
+     * Some checks for the findLiveItemsLowerBound() and 
+     * findLiveItemsUpperBound() methods with ascending x-values.
+     */
+    public void testFindLiveItemsBoundsAscending() {
+        XYSeries s1 = new XYSeries("S1");
+        s1.add(1.0, 1.0);
+        s1.add(2.0, 2.0);
+        s1.add(3.0, 3.0);
+        s1.add(4.0, 4.0);
+        s1.add(5.0, 5.0);
+        XYSeriesCollection dataset = new XYSeriesCollection(s1);
+        assertEquals(DomainOrder.ASCENDING, dataset.getDomainOrder());
+
+        assertEquals(1, RendererUtilities.findLiveItemsLowerBound(
+                dataset, 0, 1.5, 3.5));
+        assertEquals(2, RendererUtilities.findLiveItemsUpperBound(
+                dataset, 0, 1.5, 3.5));
+
+        // bounds that fall exactly on an item include that item
+        assertEquals(1, RendererUtilities.findLiveItemsLowerBound(
+                dataset, 0, 2.0, 4.0));
+        assertEquals(3, RendererUtilities.findLiveItemsUpperBound(
+                dataset, 0, 2.0, 4.0));
+
+        // a range that covers every item
+        assertEquals(0, RendererUtilities.findLiveItemsLowerBound(
+                dataset, 0, 0.0, 10.0));
+        assertEquals(4, RendererUtilities.findLiveItemsUpperBound(
+                dataset, 0, 0.0, 10.0));
+
+        // a range after the last item
+        assertEquals(5, RendererUtilities.findLiveItemsLowerBound(
+                dataset, 0, 6.0, 7.0));
+        assertEquals(4, RendererUtilities.findLiveItemsUpperBound(
+                dataset, 0, 6.0, 7.0));
+
+        // a range before the first item
+        assertEquals(0, RendererUtilities.findLiveItemsLowerBound(
+                dataset, 0, -2.0, -1.0));
+        assertEquals(-1, RendererUtilities.findLiveItemsUpperBound(
+                dataset, 0, -2.0, -1.0));
+    }
+
+    /**
+     * Some checks for the findLiveItems() method, which adds a neighbouring
+     * item on each side of the live items.
+     */
+    public void testFindLiveItems() {
+        XYSeries s1 = new XYSeries("S1");
+        for (int i = 0; i < 10; i++) {
+            s1.add(i, i);
+        }
+        XYSeriesCollection dataset = new XYSeriesCollection(s1);
+
+        int[] bounds = RendererUtilities.findLiveItems(dataset, 0, 3.5, 6.5);
+        assertEquals(3, bounds[0]);
+        assertEquals(7, bounds[1]);
+
+        // a range between two items still includes both, so that the line
+        // connecting them is drawn
+        bounds = RendererUtilities.findLiveItems(dataset, 0, 4.2, 4.8);
+        assertEquals(4, bounds[0]);
+        assertEquals(5, bounds[1]);
+
+        // the neighbours are limited to the items in the series
+        bounds = RendererUtilities.findLiveItems(dataset, 0, -5.0, 20.0);
+        assertEquals(0, bounds[0]);
+        assertEquals(9, bounds[1]);
+
+        // an empty series gives an empty range
+        XYSeriesCollection empty = new XYSeriesCollection(new XYSeries("S2"));
+        bounds = RendererUtilities.findLiveItems(empty, 0, 0.0, 1.0);
+        assertTrue(bounds[0] > bounds[1]);
+    }
+
+    /**
+     * If the x-values are not sorted, every item is live.
+     */
+    public void testFindLiveItemsUnsorted() {
+        XYSeries s1 = new XYSeries("S1", false);
+        s1.add(5.0, 1.0);
+        s1.add(1.0, 2.0);
+        s1.add(3.0, 3.0);
+        XYSeriesCollection dataset = new XYSeriesCollection(s1);
+        assertEquals(DomainOrder.NONE, dataset.getDomainOrder());
+
+        int[] bounds = RendererUtilities.findLiveItems(dataset, 0, 2.0, 4.0);
+        assertEquals(0, bounds[0]);
+        assertEquals(2, bounds[1]);
+    }
+
+}
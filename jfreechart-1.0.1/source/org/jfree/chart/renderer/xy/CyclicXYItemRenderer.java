@@ -41,6 +41,8 @@
  * 25-Feb-2004 : Replaced CrosshairInfo with CrosshairState (DG);
  * 15-Jul-2004 : Switched getX() with getXValue() and getY() with 
  *               getYValue() (DG);
+ * 18-Oct-2026 : Ask the plot for every item, since a cyclic axis shows 
+ *               x-values outside its bounds;
  * 
  */
 
@@ -119,6 +121,33 @@ public class CyclicXYItemRenderer extends StandardXYItemRenderer
         super(type, labelGenerator, urlGenerator);
     }
 
+    /**
+     * Initialises the renderer.  A cyclic axis wraps x-values that lie 
+     * outside its bounds back into the data area, so the plot is asked to 
+     * pass every item to the renderer rather than only those within the 
+     * bounds of the domain axis.
+     *
+     * @param g2  the graphics device.
+     * @param dataArea  the area inside the axes.
+     * @param plot  the plot.
+     * @param data  the data.
+     * @param info  an optional info collection object to return data back to 
+     *              the caller.
+     *
+     * @return The renderer state.
+     */
+    public XYItemRendererState initialise(Graphics2D g2,
+                                          Rectangle2D dataArea,
+                                          XYPlot plot,
+                                          XYDataset data,
+                                          PlotRenderingInfo info) {
+        XYItemRendererState state = super.initialise(
+            g2, dataArea, plot, data, info
+        );
+        state.setProcessVisibleItemsOnly(false);
+        return state;
+    }
+
     
     /** 
      * Draws the visual representation of a single data item.
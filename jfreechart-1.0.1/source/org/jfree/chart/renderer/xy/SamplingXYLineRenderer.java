@@ -0,0 +1,481 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2005, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ---------------------------
+ * SamplingXYLineRenderer.java
+ * ---------------------------
+ * Original Author:  Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie;
+ *
+ * Changes:
+ * --------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.chart.renderer.xy;
+
+import java.awt.Graphics2D;
+import java.awt.Shape;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.Line2D;
+import java.awt.geom.Rectangle2D;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+import org.jfree.chart.LegendItem;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.event.RendererChangeEvent;
+import org.jfree.chart.plot.CrosshairState;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.PlotRenderingInfo;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.data.xy.XYDataset;
+import org.jfree.io.SerialUtilities;
+import org.jfree.util.PublicCloneable;
+import org.jfree.util.ShapeUtilities;
+
+/**
+ * A renderer that draws each series as a line, for series with far more
+ * items than the plot has pixels across.  The items that fall within the
+ * same pixel column along the domain axis are reduced to the first, lowest,
+ * highest and last items in that column, joined in the order they appear in
+ * the series.  This covers the same pixels as a line through every item, 
+ * but the number of segments stroked depends on the width of the plot 
+ * rather than on the number of items.
+ * <P>
+ * The renderer does not draw shapes and does not create an entity for each
+ * item, since that would defeat the purpose of the reduction.
+ */
+public class SamplingXYLineRenderer extends AbstractXYItemRenderer
+                                    implements XYItemRenderer,
+                                               Cloneable,
+                                               PublicCloneable,
+                                               Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 3350262283522716419L;
+
+    /** The shape that is used to represent a line in the legend. */
+    private transient Shape legendLine;
+
+    /**
+     * Creates a new renderer.
+     */
+    public SamplingXYLineRenderer() {
+        this.legendLine = new Line2D.Double(-7.0, 0.0, 7.0, 0.0);
+    }
+
+    /**
+     * Returns the shape used to represent a line in the legend.
+     *
+     * @return The legend line (never <code>null</code>).
+     */
+    public Shape getLegendLine() {
+        return this.legendLine;
+    }
+
+    /**
+     * Sets the shape used as a line in each legend item and sends a
+     * {@link RendererChangeEvent} to all registered listeners.
+     *
+     * @param line  the line (<code>null</code> not permitted).
+     */
+    public void setLegendLine(Shape line) {
+        if (line == null) {
+            throw new IllegalArgumentException("Null 'line' argument.");
+        }
+        this.legendLine = line;
+        notifyListeners(new RendererChangeEvent(this));
+    }
+
+    /**
+     * Records the state of the renderer while it draws one series.  The
+     * items are added in domain order, and the items that share a pixel
+     * column are held back until an item in another column arrives.
+     */
+    public static class State extends XYItemRendererState {
+
+        /** The line for the current series. */
+        GeneralPath seriesPath;
+
+        /** A flag that controls whether the domain axis is vertical. */
+        boolean horizontal;
+
+        /**
+         * A flag that indicates if the last (x, y) point was 'good'
+         * (non-null).
+         */
+        boolean lastPointGood;
+
+        /** The pixel column of the items being held back. */
+        double column;
+
+        /** The number of items in the current column. */
+        int columnItemCount;
+
+        /** The coordinates of the lowest item in the column. */
+        double lowX;
+        double lowY;
+
+        /** The coordinates of the highest item in the column. */
+        double highX;
+        double highY;
+
+        /** The coordinates of the last item in the column. */
+        double lastX;
+        double lastY;
+
+        /** A flag that records whether the lowest item came first. */
+        boolean lowFirst;
+
+        /**
+         * Creates a new state instance.
+         *
+         * @param info  the plot rendering info.
+         */
+        public State(PlotRenderingInfo info) {
+            super(info);
+            this.seriesPath = new GeneralPath();
+        }
+
+        /**
+         * Clears the path before the items of a series are drawn.
+         *
+         * @param dataset  the dataset.
+         * @param series  the series index.
+         * @param firstItem  the index of the first item to be drawn.
+         * @param lastItem  the index of the last item to be drawn.
+         * @param pass  the pass index.
+         * @param passCount  the number of passes.
+         */
+        public void startSeriesPass(XYDataset dataset, int series,
+                int firstItem, int lastItem, int pass, int passCount) {
+            super.startSeriesPass(
+                dataset, series, firstItem, lastItem, pass, passCount
+            );
+            this.seriesPath.reset();
+            this.lastPointGood = false;
+            this.columnItemCount = 0;
+        }
+
+        /**
+         * Adds a point, in Java2D coordinates, to the series.
+         *
+         * @param x  the domain coordinate.
+         * @param y  the range coordinate.
+         */
+        void addPoint(double x, double y) {
+            double pixel = Math.floor(x);
+            if (this.lastPointGood && pixel == this.column) {
+                if (y < this.lowY) {
+                    this.lowX = x;
+                    this.lowY = y;
+                    this.lowFirst = false;
+                }
+                if (y > this.highY) {
+                    this.highX = x;
+                    this.highY = y;
+                    this.lowFirst = true;
+                }
+                this.lastX = x;
+                this.lastY = y;
+                this.columnItemCount++;
+                return;
+            }
+            endColumn();
+            if (this.lastPointGood) {
+                lineTo(x, y);
+            }
+            else {
+                moveTo(x, y);
+            }
+            this.lastPointGood = true;
+            this.column = pixel;
+            this.columnItemCount = 1;
+            this.lowX = x;
+            this.lowY = y;
+            this.highX = x;
+            this.highY = y;
+            this.lastX = x;
+            this.lastY = y;
+            this.lowFirst = true;
+        }
+
+        /**
+         * Breaks the line at a missing point.
+         */
+        void addGap() {
+            endColumn();
+            this.lastPointGood = false;
+        }
+
+        /**
+         * Adds the items held back for the current column to the path: the
+         * lowest and highest items, in the order they were added, then the
+         * last item.  The first item is already on the path.
+         */
+        void endColumn() {
+            if (!this.lastPointGood || this.columnItemCount < 2) {
+                return;
+            }
+            if (this.lowFirst) {
+                lineTo(this.lowX, this.lowY);
+                lineTo(this.highX, this.highY);
+            }
+            else {
+                lineTo(this.highX, this.highY);
+                lineTo(this.lowX, this.lowY);
+            }
+            lineTo(this.lastX, this.lastY);
+            this.columnItemCount = 1;
+        }
+
+        /**
+         * Moves the path to a point, swapping the coordinates for a plot 
+         * with a vertical domain axis.
+         *
+         * @param x  the domain coordinate.
+         * @param y  the range coordinate.
+         */
+        private void moveTo(double x, double y) {
+            if (this.horizontal) {
+                this.seriesPath.moveTo((float) y, (float) x);
+            }
+            else {
+                this.seriesPath.moveTo((float) x, (float) y);
+            }
+        }
+
+        /**
+         * Extends the path to a point, swapping the coordinates for a plot
+         * with a vertical domain axis.
+         *
+         * @param x  the domain coordinate.
+         * @param y  the range coordinate.
+         */
+        private void lineTo(double x, double y) {
+            if (this.horizontal) {
+                this.seriesPath.lineTo((float) y, (float) x);
+            }
+            else {
+                this.seriesPath.lineTo((float) x, (float) y);
+            }
+        }
+    }
+
+    /**
+     * Initialises the renderer.
+     * <P>
+     * This method will be called before the first item is rendered, giving the
+     * renderer an opportunity to initialise any state information it wants to
+     * maintain.
+     *
+     * @param g2  the graphics device.
+     * @param dataArea  the area inside the axes.
+     * @param plot  the plot.
+     * @param data  the data.
+     * @param info  an optional info collection object to return data back to
+     *              the caller.
+     *
+     * @return The renderer state.
+     */
+    public XYItemRendererState initialise(Graphics2D g2,
+                                          Rectangle2D dataArea,
+                                          XYPlot plot,
+                                          XYDataset data,
+                                          PlotRenderingInfo info) {
+
+        State state = new State(info);
+        state.horizontal = plot.getOrientation() == PlotOrientation.HORIZONTAL;
+        return state;
+
+    }
+
+    /**
+     * Adds an item to the line for its series, and draws the line once the
+     * last item of the series has been added.
+     *
+     * @param g2  the graphics device.
+     * @param state  the renderer state.
+     * @param dataArea  the area within which the data is being drawn.
+     * @param info  collects information about the drawing.
+     * @param plot  the plot (can be used to obtain standard color
+     *              information etc).
+     * @param domainAxis  the domain axis.
+     * @param rangeAxis  the range axis.
+     * @param dataset  the dataset.
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     * @param crosshairState  crosshair information for the plot
+     *                        (<code>null</code> permitted).
+     * @param pass  the pass index.
+     */
+    public void drawItem(Graphics2D g2,
+                         XYItemRendererState state,
+                         Rectangle2D dataArea,
+                         PlotRenderingInfo info,
+                         XYPlot plot,
+                         ValueAxis domainAxis,
+                         ValueAxis rangeAxis,
+                         XYDataset dataset,
+                         int series,
+                         int item,
+                         CrosshairState crosshairState,
+                         int pass) {
+
+        if (!getItemVisible(series, item)) {
+            return;
+        }
+        State s = (State) state;
+
+        double x1 = dataset.getXValue(series, item);
+        double y1 = dataset.getYValue(series, item);
+        if (Double.isNaN(x1) || Double.isNaN(y1)) {
+            s.addGap();
+        }
+        else {
+            double transX1 = domainAxis.valueToJava2D(
+                x1, dataArea, plot.getDomainAxisEdge()
+            );
+            double transY1 = rangeAxis.valueToJava2D(
+                y1, dataArea, plot.getRangeAxisEdge()
+            );
+            s.addPoint(transX1, transY1);
+            updateCrosshairValues(
+                crosshairState, x1, y1, transX1, transY1,
+                plot.getOrientation()
+            );
+        }
+
+        if (item == s.getLastItemIndex()) {
+            s.endColumn();
+            g2.setStroke(getSeriesStroke(series));
+            g2.setPaint(getSeriesPaint(series));
+            g2.draw(s.seriesPath);
+        }
+    }
+
+    /**
+     * Returns a legend item for a series, drawn as a line.
+     *
+     * @param datasetIndex  the dataset index (zero-based).
+     * @param series  the series index (zero-based).
+     *
+     * @return A legend item for the series.
+     */
+    public LegendItem getLegendItem(int datasetIndex, int series) {
+        XYPlot plot = getPlot();
+        if (plot == null) {
+            return null;
+        }
+        XYDataset dataset = plot.getDataset(datasetIndex);
+        if (dataset == null || !getItemVisible(series, 0)) {
+            return null;
+        }
+        String label = getLegendItemLabelGenerator().generateLabel(
+            dataset, series
+        );
+        String toolTipText = null;
+        if (getLegendItemToolTipGenerator() != null) {
+            toolTipText = getLegendItemToolTipGenerator().generateLabel(
+                dataset, series
+            );
+        }
+        String urlText = null;
+        if (getLegendItemURLGenerator() != null) {
+            urlText = getLegendItemURLGenerator().generateLabel(
+                dataset, series
+            );
+        }
+        return new LegendItem(label, label, toolTipText, urlText,
+                this.legendLine, getSeriesStroke(series),
+                getSeriesPaint(series));
+    }
+
+    /**
+     * Returns a clone of the renderer.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if the clone cannot be created.
+     */
+    public Object clone() throws CloneNotSupportedException {
+        return super.clone();
+    }
+
+    /**
+     * Tests this renderer for equality with another object.
+     *
+     * @param obj  the object.
+     *
+     * @return <code>true</code> or <code>false</code>.
+     */
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof SamplingXYLineRenderer)) {
+            return false;
+        }
+        if (!super.equals(obj)) {
+            return false;
+        }
+        SamplingXYLineRenderer that = (SamplingXYLineRenderer) obj;
+        if (!ShapeUtilities.equal(this.legendLine, that.legendLine)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Provides serialization support.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     * @throws ClassNotFoundException  if there is a classpath problem.
+     */
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        this.legendLine = SerialUtilities.readShape(stream);
+    }
+
+    /**
+     * Provides serialization support.
+     *
+     * @param stream  the output stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     */
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        stream.defaultWriteObject();
+        SerialUtilities.writeShape(this.legendLine, stream);
+    }
+
+}
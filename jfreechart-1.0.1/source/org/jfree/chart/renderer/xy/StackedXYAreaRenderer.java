@@ -57,6 +57,7 @@
  * 28-Mar-2005 : Use getXValue() and getYValue() from dataset (DG);
  * 06-Jun-2005 : Fixed null pointer exception, plus problems with equals() and
  *               serialization (DG);
+ * 18-Oct-2026 : Ask the plot for every item of each series;
  * 
  */
 
@@ -304,7 +305,12 @@ public class StackedXYAreaRenderer extends XYAreaRenderer
                                           XYDataset data,
                                           PlotRenderingInfo info) {
 
-        return new StackedXYAreaRendererState(info);
+        StackedXYAreaRendererState state = new StackedXYAreaRendererState(
+            info
+        );
+        // the stacked areas are built from the first to the last item
+        state.setProcessVisibleItemsOnly(false);
+        return state;
 
     }
 
@@ -92,6 +92,7 @@
  * 10-Apr-2005 : Fixed item label positioning with horizontal orientation (DG);
  * 20-Apr-2005 : Use generators for legend tooltips and URLs (DG);
  * 27-Apr-2005 : Use generator for series label in legend (DG);
+ * 18-Oct-2026 : Ask for every item when drawing series lines as paths;
  *
  */
 
@@ -648,6 +649,8 @@ public class StandardXYItemRenderer extends AbstractXYItemRenderer
 
         State state = new State(info);
         state.seriesPath = new GeneralPath();
+        // a series drawn as a single path needs every item
+        state.setProcessVisibleItemsOnly(!this.drawSeriesLineAsPath);
         return state;
 
     }
@@ -68,6 +68,7 @@
  * 19-Jan-2005 : Now accesses primitives only from dataset (DG);
  * 21-Mar-2005 : Override getLegendItem() and equals() methods (DG);
  * 20-Apr-2005 : Use generators for legend tooltips and URLs (DG);
+ * 18-Oct-2026 : Ask the plot for every item of each series;
  * 
  */
 
@@ -326,6 +327,8 @@ public class XYAreaRenderer extends AbstractXYItemRenderer
     public XYItemRendererState initialise(Graphics2D g2, Rectangle2D dataArea,
             XYPlot plot, XYDataset data, PlotRenderingInfo info) {
         XYAreaRendererState state = new XYAreaRendererState(info);
+        // the area polygon is built from the first to the last item
+        state.setProcessVisibleItemsOnly(false);
         return state;
     }
 
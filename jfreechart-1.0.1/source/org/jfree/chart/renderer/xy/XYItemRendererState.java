@@ -38,6 +38,8 @@
  * --------
  * 07-Oct-2003 : Version 1 (DG);
  * 27-Jan-2004 : Added workingLine attribute (DG);
+ * 18-Oct-2026 : Added processVisibleItemsOnly flag;
+ * 18-Oct-2026 : Added startSeriesPass() and endSeriesPass() methods;
  * 
  */
 
@@ -47,6 +49,7 @@ import java.awt.geom.Line2D;
 
 import org.jfree.chart.plot.PlotRenderingInfo;
 import org.jfree.chart.renderer.RendererState;
+import org.jfree.data.xy.XYDataset;
 
 /**
  * The state for an {@link XYItemRenderer}.
@@ -59,6 +62,20 @@ public class XYItemRendererState extends RendererState {
      */
     public Line2D workingLine;
     
+    /**
+     * A flag that controls whether the plot passes only the items within the
+     * visible range of the domain axis to the renderer.  A renderer that 
+     * needs to see every item of a series (for instance, to build a shape 
+     * for the whole series) should set this to <code>false</code>.
+     */
+    private boolean processVisibleItemsOnly;
+    
+    /** The index of the first item to be drawn in the current series pass. */
+    private int firstItemIndex;
+    
+    /** The index of the last item to be drawn in the current series pass. */
+    private int lastItemIndex;
+    
     /**
      * Creates a new state.
      * 
@@ -67,6 +84,82 @@ public class XYItemRendererState extends RendererState {
     public XYItemRendererState(PlotRenderingInfo info) {
         super(info);
         this.workingLine = new Line2D.Double();
+        this.processVisibleItemsOnly = true;
+    }
+    
+    /**
+     * Returns the flag that controls whether the plot passes only the items 
+     * within the visible range of the domain axis to the renderer.  This only
+     * applies to datasets with sorted x-values.
+     * 
+     * @return A boolean.
+     */
+    public boolean getProcessVisibleItemsOnly() {
+        return this.processVisibleItemsOnly;
+    }
+    
+    /**
+     * Sets the flag that controls whether the plot passes only the items 
+     * within the visible range of the domain axis to the renderer.
+     * 
+     * @param flag  the new flag value.
+     */
+    public void setProcessVisibleItemsOnly(boolean flag) {
+        this.processVisibleItemsOnly = flag;
+    }
+    
+    /**
+     * Returns the index of the first item that the plot passes to the 
+     * renderer in the current series pass.
+     * 
+     * @return The item index.
+     */
+    public int getFirstItemIndex() {
+        return this.firstItemIndex;
+    }
+    
+    /**
+     * Returns the index of the last item that the plot passes to the 
+     * renderer in the current series pass.  A renderer that accumulates the
+     * items of a series can use this to tell when to draw them.
+     * 
+     * @return The item index.
+     */
+    public int getLastItemIndex() {
+        return this.lastItemIndex;
+    }
+    
+    /**
+     * Called by the plot before the items of a series are passed to the 
+     * renderer, in each pass.
+     * 
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param firstItem  the index of the first item to be drawn.
+     * @param lastItem  the index of the last item to be drawn.
+     * @param pass  the pass index.
+     * @param passCount  the number of passes.
+     */
+    public void startSeriesPass(XYDataset dataset, int series, int firstItem,
+            int lastItem, int pass, int passCount) {
+        this.firstItemIndex = firstItem;
+        this.lastItemIndex = lastItem;
+    }
+    
+    /**
+     * Called by the plot after the items of a series have been passed to the
+     * renderer, in each pass.  The default implementation does nothing.
+     * 
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param firstItem  the index of the first item drawn.
+     * @param lastItem  the index of the last item drawn.
+     * @param pass  the pass index.
+     * @param passCount  the number of passes.
+     */
+    public void endSeriesPass(XYDataset dataset, int series, int firstItem,
+            int lastItem, int pass, int passCount) {
+        // nothing to do
     }
     
 }
@@ -54,6 +54,7 @@
  *               defaultShapesVisible --> baseShapesVisible and
  *               defaultShapesFilled --> baseShapesFilled (DG);
  * 29-Jul-2005 : Added code to draw item labels (DG);
+ * 18-Oct-2026 : Ask for every item when drawing series lines as paths;
  *
  */
 
@@ -724,6 +725,8 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
 
         State state = new State(info);
         state.seriesPath = new GeneralPath();
+        // a series drawn as a single path needs every item
+        state.setProcessVisibleItemsOnly(!this.drawSeriesLineAsPath);
         return state;
 
     }
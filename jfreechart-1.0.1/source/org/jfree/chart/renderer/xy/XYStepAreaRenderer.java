@@ -44,6 +44,7 @@
  *               getYValue() (DG);
  * 11-Nov-2004 : Now uses ShapeUtilities to translate shapes (DG);
  * 06-Jul-2005 : Renamed get/setPlotShapes() --> get/setShapesVisible() (DG);
+ * 18-Oct-2026 : Ask the plot for every item of each series;
  * 
  */
 
@@ -288,7 +289,12 @@ public class XYStepAreaRenderer extends AbstractXYItemRenderer
                                           XYDataset data,
                                           PlotRenderingInfo info) {
 
-        return super.initialise(g2, dataArea, plot, data, info);
+        XYItemRendererState state = super.initialise(
+            g2, dataArea, plot, data, info
+        );
+        // the area polygon is built from the first to the last item
+        state.setProcessVisibleItemsOnly(false);
+        return state;
 
     }
 
@@ -40,6 +40,7 @@
  * 06-Jan-2005 : Added method to create test dataset (DG);
  * 07-Jan-2005 : Added a second method to create a test dataset (DG);
  * 19-Jan-2005 : Added main() method to run JUnit in text mode (DG);
+ * 18-Oct-2026 : Added SamplingXYLineRendererTests;
  *
  */
 
@@ -72,6 +73,7 @@ public class RendererXYPackageTests extends TestCase {
         suite.addTestSuite(CandlestickRendererTests.class);
         suite.addTestSuite(ClusteredXYBarRendererTests.class);
         suite.addTestSuite(HighLowRendererTests.class);
+        suite.addTestSuite(SamplingXYLineRendererTests.class);
         suite.addTestSuite(StackedXYAreaRendererTests.class);
         suite.addTestSuite(StackedXYAreaRenderer2Tests.class);
         suite.addTestSuite(StackedXYBarRendererTests.class);
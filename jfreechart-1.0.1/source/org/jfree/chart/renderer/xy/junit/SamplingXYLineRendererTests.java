@@ -0,0 +1,259 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2005, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by 
+ * the Free Software Foundation; either version 2.1 of the License, or 
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, 
+ * USA.  
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc. 
+ * in the United States and other countries.]
+ *
+ * --------------------------------
+ * SamplingXYLineRendererTests.java
+ * --------------------------------
+ * Original Author:  Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.chart.renderer.xy.junit;
+
+import java.awt.Graphics2D;
+import java.awt.geom.Line2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.SamplingXYLineRenderer;
+import org.jfree.chart.renderer.xy.XYItemRenderer;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+
+/**
+ * Tests for the {@link SamplingXYLineRenderer} class.
+ */
+public class SamplingXYLineRendererTests extends TestCase {
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(SamplingXYLineRendererTests.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public SamplingXYLineRendererTests(String name) {
+        super(name);
+    }
+
+    /**
+     * Check that the equals() method distinguishes all fields.
+     */
+    public void testEquals() {
+        SamplingXYLineRenderer r1 = new SamplingXYLineRenderer();
+        SamplingXYLineRenderer r2 = new SamplingXYLineRenderer();
+        assertEquals(r1, r2);
+
+        r1.setLegendLine(new Line2D.Double(1.0, 2.0, 3.0, 4.0));
+        assertFalse(r1.equals(r2));
+        r2.setLegendLine(new Line2D.Double(1.0, 2.0, 3.0, 4.0));
+        assertTrue(r1.equals(r2));
+    }
+
+    /**
+     * Two objects that are equal are required to return the same hashCode. 
+     */
+    public void testHashcode() {
+        SamplingXYLineRenderer r1 = new SamplingXYLineRenderer();
+        SamplingXYLineRenderer r2 = new SamplingXYLineRenderer();
+        assertTrue(r1.equals(r2));
+        int h1 = r1.hashCode();
+        int h2 = r2.hashCode();
+        assertEquals(h1, h2);
+    }
+
+    /**
+     * Confirm that cloning works.
+     */
+    public void testCloning() {
+        SamplingXYLineRenderer r1 = new SamplingXYLineRenderer();
+        SamplingXYLineRenderer r2 = null;
+        try {
+            r2 = (SamplingXYLineRenderer) r1.clone();
+        }
+        catch (CloneNotSupportedException e) {
+            System.err.println("Failed to clone.");
+        }
+        assertTrue(r1 != r2);
+        assertTrue(r1.getClass() == r2.getClass());
+        assertTrue(r1.equals(r2));
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    public void testSerialization() {
+
+        SamplingXYLineRenderer r1 = new SamplingXYLineRenderer();
+        SamplingXYLineRenderer r2 = null;
+
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            ObjectOutput out = new ObjectOutputStream(buffer);
+            out.writeObject(r1);
+            out.close();
+
+            ObjectInput in = new ObjectInputStream(
+                new ByteArrayInputStream(buffer.toByteArray())
+            );
+            r2 = (SamplingXYLineRenderer) in.readObject();
+            in.close();
+        }
+        catch (Exception e) {
+            System.out.println(e.toString());
+        }
+        assertEquals(r1, r2);
+
+    }
+
+    /**
+     * Draws the chart with a <code>null</code> info object to make sure that 
+     * no exceptions are thrown (particularly by code in the renderer).
+     */
+    public void testDrawWithNullInfo() {
+        boolean success = false;
+        try {
+            XYSeries s1 = new XYSeries("Series 1");
+            s1.add(5.0, 5.0);
+            s1.add(10.0, null);
+            s1.add(15.0, 9.5);
+            s1.add(20.0, 7.5);
+            XYPlot plot = new XYPlot(new XYSeriesCollection(s1), 
+                    new NumberAxis("X"), new NumberAxis("Y"), 
+                    new SamplingXYLineRenderer());
+            JFreeChart chart = new JFreeChart(plot);
+            /* BufferedImage image = */ chart.createBufferedImage(300, 200, 
+                    null);
+            success = true;
+        }
+        catch (NullPointerException e) {
+            e.printStackTrace();
+            success = false;
+        }
+        assertTrue(success);
+    }
+
+    /**
+     * Draws a series with many items per pixel column with the sampling 
+     * renderer and with a renderer that draws a path through every item, and 
+     * checks that the two images are (almost) the same.  Stroking joins the
+     * segments slightly differently, so a few pixels on the edge of the line
+     * are allowed to differ.
+     */
+    public void testSameAsFullRender() {
+        XYSeries s1 = new XYSeries("Series 1");
+        for (int i = 0; i < 20000; i++) {
+            s1.add(i, Math.sin(i / 300.0) * 50.0 + (i * 7919 % 13));
+        }
+        XYLineAndShapeRenderer full = new XYLineAndShapeRenderer(true, false);
+        full.setDrawSeriesLineAsPath(true);
+        BufferedImage expected = drawImage(new XYSeriesCollection(s1), full);
+        full.setSeriesVisible(0, Boolean.FALSE);
+        BufferedImage background = drawImage(new XYSeriesCollection(s1), 
+                full);
+        BufferedImage actual = drawImage(new XYSeriesCollection(s1), 
+                new SamplingXYLineRenderer());
+        int linePixels = countDifferences(expected, background);
+        assertTrue(linePixels > 1000);
+        assertTrue(countDifferences(expected, actual) < linePixels / 10);
+    }
+
+    /**
+     * Draws a chart.
+     * 
+     * @param dataset  the dataset.
+     * @param renderer  the renderer.
+     * 
+     * @return The image.
+     */
+    private BufferedImage drawImage(XYSeriesCollection dataset, 
+            XYItemRenderer renderer) {
+        XYPlot plot = new XYPlot(dataset, new NumberAxis("X"), 
+                new NumberAxis("Y"), renderer);
+        JFreeChart chart = new JFreeChart(null, JFreeChart.DEFAULT_TITLE_FONT,
+                plot, false);
+        BufferedImage image = new BufferedImage(400, 300, 
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 400, 300), null, null);
+        g2.dispose();
+        return image;
+    }
+
+    /**
+     * Counts the pixels that differ clearly between two images of the same 
+     * size.
+     * 
+     * @param image1  the first image.
+     * @param image2  the second image.
+     * 
+     * @return The number of pixels.
+     */
+    private int countDifferences(BufferedImage image1, BufferedImage image2) {
+        int count = 0;
+        for (int x = 0; x < image1.getWidth(); x++) {
+            for (int y = 0; y < image1.getHeight(); y++) {
+                int rgb1 = image1.getRGB(x, y);
+                int rgb2 = image2.getRGB(x, y);
+                int difference = 0;
+                for (int shift = 0; shift < 24; shift += 8) {
+                    difference += Math.abs(((rgb1 >> shift) & 0xFF) 
+                            - ((rgb2 >> shift) & 0xFF));
+                }
+                if (difference > 64) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+}
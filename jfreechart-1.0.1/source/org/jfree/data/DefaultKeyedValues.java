@@ -49,14 +49,19 @@
  * 25-Nov-2004 : Small update to the clone() implementation (DG);
  * 24-Feb-2005 : Added methods addValue(Comparable, double) and 
  *               setValue(Comparable, double) for convenience (DG);
+ * 18-Oct-2026 : Added a hash index so that getIndex() does not search the
+ *               list;
  *
  */
 
 package org.jfree.data;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 
@@ -78,11 +83,18 @@ public class DefaultKeyedValues implements KeyedValues,
     /** Storage for the data. */
     private List data;
 
+    /**
+     * A map from each key to its index in the list (an <code>Integer</code>),
+     * rebuilt whenever the items are removed or reordered.
+     */
+    private transient HashMap indexMap;
+
     /**
      * Creates a new collection (initially empty).
      */
     public DefaultKeyedValues() {
         this.data = new java.util.ArrayList();
+        this.indexMap = new HashMap();
     }
 
     /**
@@ -138,16 +150,11 @@ public class DefaultKeyedValues implements KeyedValues,
      * @return The index, or <code>-1</code> if the key is unrecognised.
      */
     public int getIndex(Comparable key) {
-        int i = 0;
-        Iterator iterator = this.data.iterator();
-        while (iterator.hasNext()) {
-            KeyedValue kv = (KeyedValue) iterator.next();
-            if (kv.getKey().equals(key)) {
-                return i;
-            }
-            i++;
+        Integer i = (Integer) this.indexMap.get(key);
+        if (i == null) {
+            return -1;  // key not found
         }
-        return -1;  // key not found
+        return i.intValue();
     }
 
     /**
@@ -232,6 +239,7 @@ public class DefaultKeyedValues implements KeyedValues,
         else {
             KeyedValue kv = new DefaultKeyedValue(key, value);
             this.data.add(kv);
+            this.indexMap.put(key, new Integer(this.data.size() - 1));
         }
     }
 
@@ -242,6 +250,7 @@ public class DefaultKeyedValues implements KeyedValues,
      */
     public void removeValue(int index) {
         this.data.remove(index);
+        rebuildIndex();
     }
 
     /**
@@ -267,6 +276,7 @@ public class DefaultKeyedValues implements KeyedValues,
             KeyedValueComparatorType.BY_KEY, order
         );
         Collections.sort(this.data, comparator);
+        rebuildIndex();
     }
 
     /**
@@ -281,6 +291,7 @@ public class DefaultKeyedValues implements KeyedValues,
             KeyedValueComparatorType.BY_VALUE, order
         );
         Collections.sort(this.data, comparator);
+        rebuildIndex();
     }
 
     /**
@@ -347,7 +358,35 @@ public class DefaultKeyedValues implements KeyedValues,
     public Object clone() throws CloneNotSupportedException {
         DefaultKeyedValues clone = (DefaultKeyedValues) super.clone();
         clone.data = (List) ObjectUtilities.deepClone(this.data);
+        clone.indexMap = (HashMap) this.indexMap.clone();
         return clone;    
     }
-    
+
+    /**
+     * Rebuilds the map from keys to indices, after the items have been
+     * removed or reordered.
+     */
+    private void rebuildIndex() {
+        this.indexMap.clear();
+        for (int i = 0; i < this.data.size(); i++) {
+            KeyedValue kv = (KeyedValue) this.data.get(i);
+            this.indexMap.put(kv.getKey(), new Integer(i));
+        }
+    }
+
+    /**
+     * Provides serialization support.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     * @throws ClassNotFoundException  if there is a classpath problem.
+     */
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        this.indexMap = new HashMap();
+        rebuildIndex();
+    }
+
 }
@@ -48,13 +48,17 @@
  * 23-Mar-2005 : Implemented PublicCloneable (DG);
  * 09-Jun-2005 : Modified getValue() method to throw exception for unknown
  *               keys (DG);
+ * 18-Oct-2026 : Added hash indices for the row and column keys;
  *
  */
 
 package org.jfree.data;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 
@@ -85,6 +89,15 @@ public class DefaultKeyedValues2D implements KeyedValues2D,
     /** If the row keys should be sorted by their comparable order. */
     private boolean sortRowKeys;
 
+    /**
+     * A map from each row key to its index (an <code>Integer</code>), used
+     * when the row keys are not sorted.
+     */
+    private transient HashMap rowKeyIndex;
+
+    /** A map from each column key to its index (an <code>Integer</code>). */
+    private transient HashMap columnKeyIndex;
+
     /**
      * Creates a new instance (initially empty).
      */
@@ -102,6 +115,8 @@ public class DefaultKeyedValues2D implements KeyedValues2D,
         this.columnKeys = new java.util.ArrayList();
         this.rows = new java.util.ArrayList();
         this.sortRowKeys = sortRowKeys;
+        this.rowKeyIndex = new HashMap();
+        this.columnKeyIndex = new HashMap();
     }
 
     /**
@@ -171,7 +186,8 @@ public class DefaultKeyedValues2D implements KeyedValues2D,
             return Collections.binarySearch(this.rowKeys, key);
         }
         else {
-            return this.rowKeys.indexOf(key);
+            Integer index = (Integer) this.rowKeyIndex.get(key);
+            return (index != null ? index.intValue() : -1);
         }
     }
 
@@ -206,7 +222,8 @@ public class DefaultKeyedValues2D implements KeyedValues2D,
         if (key == null) {
             throw new IllegalArgumentException("Null 'key' argument.");
         }
-        return this.columnKeys.indexOf(key);
+        Integer index = (Integer) this.columnKeyIndex.get(key);
+        return (index != null ? index.intValue() : -1);
     }
 
     /**
@@ -286,13 +303,17 @@ public class DefaultKeyedValues2D implements KeyedValues2D,
             else {
                 this.rowKeys.add(rowKey);
                 this.rows.add(row);
+                this.rowKeyIndex.put(rowKey,
+                        new Integer(this.rowKeys.size() - 1));
             }
         }
         row.setValue(columnKey, value);
         
-        int columnIndex = this.columnKeys.indexOf(columnKey);
+        int columnIndex = getColumnIndex(columnKey);
         if (columnIndex < 0) {
             this.columnKeys.add(columnKey);
+            this.columnKeyIndex.put(columnKey,
+                    new Integer(this.columnKeys.size() - 1));
         }
     }
 
@@ -321,6 +342,7 @@ public class DefaultKeyedValues2D implements KeyedValues2D,
         if (allNull) {
             this.rowKeys.remove(rowIndex);
             this.rows.remove(rowIndex);
+            rebuildRowKeyIndex();
         }
         
         // 2. check whether the column is now empty.
@@ -343,6 +365,7 @@ public class DefaultKeyedValues2D implements KeyedValues2D,
                 row.removeValue(columnIndex);
             }
             this.columnKeys.remove(columnIndex);
+            rebuildColumnKeyIndex();
         }
     }
 
@@ -354,6 +377,7 @@ public class DefaultKeyedValues2D implements KeyedValues2D,
     public void removeRow(int rowIndex) {
         this.rowKeys.remove(rowIndex);
         this.rows.remove(rowIndex);
+        rebuildRowKeyIndex();
     }
 
     /**
@@ -387,6 +411,7 @@ public class DefaultKeyedValues2D implements KeyedValues2D,
             rowData.removeValue(columnKey);
         }
         this.columnKeys.remove(columnKey);
+        rebuildColumnKeyIndex();
     }
 
     /**
@@ -396,6 +421,8 @@ public class DefaultKeyedValues2D implements KeyedValues2D,
         this.rowKeys.clear();
         this.columnKeys.clear();
         this.rows.clear();
+        this.rowKeyIndex.clear();
+        this.columnKeyIndex.clear();
     }
     
     /**
@@ -483,7 +510,49 @@ public class DefaultKeyedValues2D implements KeyedValues2D,
         
         // but the row data requires a deep copy
         clone.rows = (List) ObjectUtilities.deepClone(this.rows);
+        clone.rowKeyIndex = (HashMap) this.rowKeyIndex.clone();
+        clone.columnKeyIndex = (HashMap) this.columnKeyIndex.clone();
         return clone;
     }
 
+    /**
+     * Rebuilds the map from row keys to indices, after a row is removed.
+     */
+    private void rebuildRowKeyIndex() {
+        this.rowKeyIndex.clear();
+        if (!this.sortRowKeys) {
+            for (int i = 0; i < this.rowKeys.size(); i++) {
+                this.rowKeyIndex.put(this.rowKeys.get(i), new Integer(i));
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the map from column keys to indices, after a column is
+     * removed.
+     */
+    private void rebuildColumnKeyIndex() {
+        this.columnKeyIndex.clear();
+        for (int i = 0; i < this.columnKeys.size(); i++) {
+            this.columnKeyIndex.put(this.columnKeys.get(i), new Integer(i));
+        }
+    }
+
+    /**
+     * Provides serialization support.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     * @throws ClassNotFoundException  if there is a classpath problem.
+     */
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        this.rowKeyIndex = new HashMap();
+        this.columnKeyIndex = new HashMap();
+        rebuildRowKeyIndex();
+        rebuildColumnKeyIndex();
+    }
+
 }
@@ -0,0 +1,316 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2005, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * -----------------
+ * CircularList.java
+ * -----------------
+ * Original Author:  Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.data.general;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * A list that stores its elements in a circular buffer.  Like an
+ * <code>ArrayList</code>, elements are read by index in constant time, but
+ * adding or removing an element at EITHER end of the list also takes
+ * constant time, and an element added or removed elsewhere moves only the
+ * elements between it and the nearer end.
+ * <P>
+ * The series classes use this list to hold their data items, so that a
+ * series with a maximum item count can add an item at the end and remove the
+ * oldest item at the start without shifting the items in between.
+ */
+public class CircularList extends AbstractList
+                          implements RandomAccess, Cloneable, Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 7398306357818624317L;
+
+    /** The default initial capacity. */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /** The buffer holding the elements. */
+    private transient Object[] elements;
+
+    /** The position in the buffer of the first element. */
+    private transient int head;
+
+    /** The number of elements in the list. */
+    private int size;
+
+    /**
+     * Creates a new empty list.
+     */
+    public CircularList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new empty list with the specified initial capacity.
+     *
+     * @param initialCapacity  the initial capacity (must be >= 0).
+     */
+    public CircularList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException(
+                "Negative 'initialCapacity' argument."
+            );
+        }
+        this.elements = new Object[initialCapacity];
+        this.head = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Returns the number of elements in the list.
+     *
+     * @return The number of elements.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the element at the specified position in the list.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The element (possibly <code>null</code>).
+     */
+    public Object get(int index) {
+        checkIndex(index);
+        return this.elements[position(index)];
+    }
+
+    /**
+     * Replaces the element at the specified position in the list.
+     *
+     * @param index  the index (zero-based).
+     * @param element  the new element (<code>null</code> permitted).
+     *
+     * @return The element previously at the specified position.
+     */
+    public Object set(int index, Object element) {
+        checkIndex(index);
+        int p = position(index);
+        Object result = this.elements[p];
+        this.elements[p] = element;
+        return result;
+    }
+
+    /**
+     * Adds an element at the end of the list.
+     *
+     * @param element  the element (<code>null</code> permitted).
+     *
+     * @return <code>true</code>.
+     */
+    public boolean add(Object element) {
+        ensureCapacity(this.size + 1);
+        this.elements[position(this.size)] = element;
+        this.size++;
+        this.modCount++;
+        return true;
+    }
+
+    /**
+     * Inserts an element at the specified position in the list.
+     *
+     * @param index  the index (zero-based, in the range 0 to size()).
+     * @param element  the element (<code>null</code> permitted).
+     */
+    public void add(int index, Object element) {
+        if (index < 0 || index > this.size) {
+            throw new IndexOutOfBoundsException(
+                "Index: " + index + ", Size: " + this.size
+            );
+        }
+        ensureCapacity(this.size + 1);
+        if (index < this.size - index) {
+            // move the elements before the index one place towards the front
+            this.head = (this.head == 0 ? this.elements.length : this.head)
+                    - 1;
+            for (int i = 0; i < index; i++) {
+                this.elements[position(i)] = this.elements[position(i + 1)];
+            }
+        }
+        else {
+            // move the elements after the index one place towards the end
+            for (int i = this.size; i > index; i--) {
+                this.elements[position(i)] = this.elements[position(i - 1)];
+            }
+        }
+        this.elements[position(index)] = element;
+        this.size++;
+        this.modCount++;
+    }
+
+    /**
+     * Removes the element at the specified position in the list.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The element removed.
+     */
+    public Object remove(int index) {
+        checkIndex(index);
+        Object result = this.elements[position(index)];
+        if (index < this.size - index - 1) {
+            // move the elements before the index one place towards the end
+            for (int i = index; i > 0; i--) {
+                this.elements[position(i)] = this.elements[position(i - 1)];
+            }
+            this.elements[this.head] = null;
+            this.head = position(1);
+        }
+        else {
+            // move the elements after the index one place towards the front
+            for (int i = index; i < this.size - 1; i++) {
+                this.elements[position(i)] = this.elements[position(i + 1)];
+            }
+            this.elements[position(this.size - 1)] = null;
+        }
+        this.size--;
+        this.modCount++;
+        return result;
+    }
+
+    /**
+     * Removes all elements from the list.
+     */
+    public void clear() {
+        Arrays.fill(this.elements, null);
+        this.head = 0;
+        this.size = 0;
+        this.modCount++;
+    }
+
+    /**
+     * Returns a clone of the list.  The elements themselves are not cloned.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException not thrown by this class, but
+     *         subclasses may differ.
+     */
+    public Object clone() throws CloneNotSupportedException {
+        CircularList clone = (CircularList) super.clone();
+        clone.elements = (Object[]) this.elements.clone();
+        return clone;
+    }
+
+    /**
+     * Returns the position in the buffer of the element at the specified
+     * index.
+     *
+     * @param index  the index (in the range 0 to the buffer length - 1).
+     *
+     * @return The position.
+     */
+    private int position(int index) {
+        int p = this.head + index;
+        return (p < this.elements.length ? p : p - this.elements.length);
+    }
+
+    /**
+     * Grows the buffer, if necessary, so that it can hold the specified
+     * number of elements.  The elements are copied to the start of the new
+     * buffer.
+     *
+     * @param capacity  the required capacity.
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > this.elements.length) {
+            int newCapacity = Math.max(this.elements.length * 2,
+                    Math.max(capacity, DEFAULT_CAPACITY));
+            Object[] newElements = new Object[newCapacity];
+            for (int i = 0; i < this.size; i++) {
+                newElements[i] = this.elements[position(i)];
+            }
+            this.elements = newElements;
+            this.head = 0;
+        }
+    }
+
+    /**
+     * Checks that an index refers to an element in the list.
+     *
+     * @param index  the index.
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(
+                "Index: " + index + ", Size: " + this.size
+            );
+        }
+    }
+
+    /**
+     * Provides serialization support.
+     *
+     * @param stream  the output stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     */
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        stream.defaultWriteObject();
+        for (int i = 0; i < this.size; i++) {
+            stream.writeObject(this.elements[position(i)]);
+        }
+    }
+
+    /**
+     * Provides serialization support.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     * @throws ClassNotFoundException  if there is a classpath problem.
+     */
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        this.elements = new Object[Math.max(this.size, DEFAULT_CAPACITY)];
+        this.head = 0;
+        for (int i = 0; i < this.size; i++) {
+            this.elements[i] = stream.readObject();
+        }
+    }
+
+}
@@ -0,0 +1,235 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2005, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * ----------------------
+ * CircularListTests.java
+ * ----------------------
+ * Original Author:  Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.jfree.data.general.junit;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.jfree.data.general.CircularList;
+
+/**
+ * Tests for the {@link CircularList} class.
+ */
+public class CircularListTests extends TestCase {
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(CircularListTests.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public CircularListTests(String name) {
+        super(name);
+    }
+
+    /**
+     * Adding at the end and removing at the start keeps the elements in
+     * order while the buffer wraps around.
+     */
+    public void testRollingWindow() {
+        CircularList list = new CircularList(4);
+        for (int i = 0; i < 100; i++) {
+            list.add(new Integer(i));
+            if (list.size() > 3) {
+                list.remove(0);
+            }
+            int firstValue = Math.max(0, i - 2);
+            assertEquals(new Integer(firstValue), list.get(0));
+            assertEquals(new Integer(i), list.get(list.size() - 1));
+        }
+        assertEquals(3, list.size());
+    }
+
+    /**
+     * Some checks for inserting elements at various positions.
+     */
+    public void testAdd() {
+        CircularList list = new CircularList(2);
+        list.add("B");
+        list.add(0, "A");
+        list.add("D");
+        list.add(2, "C");
+        list.add(4, "E");
+        assertEquals(5, list.size());
+        assertEquals("A", list.get(0));
+        assertEquals("B", list.get(1));
+        assertEquals("C", list.get(2));
+        assertEquals("D", list.get(3));
+        assertEquals("E", list.get(4));
+        try {
+            list.add(6, "X");
+            fail("Should have thrown an IndexOutOfBoundsException.");
+        }
+        catch (IndexOutOfBoundsException e) {
+            // got the required exception
+        }
+    }
+
+    /**
+     * Some checks for the remove(int) method.
+     */
+    public void testRemove() {
+        CircularList list = new CircularList();
+        for (int i = 0; i < 6; i++) {
+            list.add(new Integer(i));
+        }
+        assertEquals(new Integer(1), list.remove(1));
+        assertEquals(new Integer(4), list.remove(3));
+        assertEquals(new Integer(0), list.remove(0));
+        assertEquals(new Integer(5), list.remove(2));
+        assertEquals(2, list.size());
+        assertEquals(new Integer(2), list.get(0));
+        assertEquals(new Integer(3), list.get(1));
+        try {
+            list.get(2);
+            fail("Should have thrown an IndexOutOfBoundsException.");
+        }
+        catch (IndexOutOfBoundsException e) {
+            // got the required exception
+        }
+    }
+
+    /**
+     * A random sequence of changes gives the same results as an
+     * <code>ArrayList</code>.
+     */
+    public void testSameAsArrayList() {
+        Random random = new Random(42L);
+        List expected = new ArrayList();
+        CircularList list = new CircularList(1);
+        for (int i = 0; i < 5000; i++) {
+            int size = expected.size();
+            int op = random.nextInt(4);
+            if (op < 2 || size == 0) {
+                int index = random.nextInt(size + 1);
+                Integer value = new Integer(i);
+                expected.add(index, value);
+                list.add(index, value);
+            }
+            else if (op == 2) {
+                int index = random.nextInt(size);
+                assertEquals(expected.remove(index), list.remove(index));
+            }
+            else {
+                int index = random.nextInt(size);
+                Integer value = new Integer(-i);
+                assertEquals(expected.set(index, value),
+                        list.set(index, value));
+            }
+        }
+        assertEquals(expected, list);
+        assertEquals(list, expected);
+        assertEquals(expected.hashCode(), list.hashCode());
+        list.clear();
+        assertTrue(list.isEmpty());
+    }
+
+    /**
+     * Confirm that cloning works.
+     */
+    public void testCloning() {
+        CircularList l1 = new CircularList();
+        l1.add("A");
+        l1.add("B");
+        CircularList l2 = null;
+        try {
+            l2 = (CircularList) l1.clone();
+        }
+        catch (CloneNotSupportedException e) {
+            System.err.println("Failed to clone.");
+        }
+        assertTrue(l1 != l2);
+        assertTrue(l1.getClass() == l2.getClass());
+        assertTrue(l1.equals(l2));
+
+        // check independence
+        l1.remove(0);
+        assertFalse(l1.equals(l2));
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    public void testSerialization() {
+        CircularList l1 = new CircularList(3);
+        l1.add("A");
+        l1.add("B");
+        l1.add("C");
+        l1.remove(0);
+        l1.add("D");
+        CircularList l2 = null;
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            ObjectOutput out = new ObjectOutputStream(buffer);
+            out.writeObject(l1);
+            out.close();
+
+            ObjectInput in = new ObjectInputStream(
+                new ByteArrayInputStream(buffer.toByteArray())
+            );
+            l2 = (CircularList) in.readObject();
+            in.close();
+        }
+        catch (Exception e) {
+            System.out.println(e.toString());
+        }
+        assertEquals(l1, l2);
+        l2.add("E");
+        assertEquals("E", l2.get(3));
+    }
+
+}
@@ -38,6 +38,7 @@
  * -------
  * 23-Aug-2004 : Restructured org.jfree.data package (DG);
  * 18-Jan-2005 : Added main() method (DG);
+ * 18-Oct-2026 : Added CircularListTests;
  *
  */
 
@@ -61,6 +62,7 @@ public class DataGeneralPackageTests extends TestCase {
      */
     public static Test suite() {
         TestSuite suite = new TestSuite("org.jfree.data.general");
+        suite.addTestSuite(CircularListTests.class);
         suite.addTestSuite(DatasetGroupTests.class);
         suite.addTestSuite(DatasetUtilitiesTests.class);
         suite.addTestSuite(DefaultKeyedValueDatasetTests.class);
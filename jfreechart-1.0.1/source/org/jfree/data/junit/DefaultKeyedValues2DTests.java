@@ -39,6 +39,7 @@
  * 13-Mar-2003 : Version 1 (DG);
  * 15-Sep-2004 : Updated cloning test (DG);
  * 06-Oct-2005 : Added testEquals() (DG);
+ * 18-Oct-2026 : Added testGetIndexAfterChanges();
  *
  */
 
@@ -178,4 +179,85 @@ public class DefaultKeyedValues2DTests extends TestCase {
         assertTrue(d1.equals(d2));
     }
 
+    /**
+     * Checks that the row and column indices stay correct after rows and 
+     * columns are removed, and in clones and deserialized copies.
+     */
+    public void testGetIndexAfterChanges() {
+        DefaultKeyedValues2D d1 = new DefaultKeyedValues2D();
+        for (int r = 0; r < 3; r++) {
+            for (int c = 0; c < 4; c++) {
+                d1.addValue(new Double(r * 10 + c), "R" + r, "C" + c);
+            }
+        }
+        assertEquals(2, d1.getRowIndex("R2"));
+        assertEquals(3, d1.getColumnIndex("C3"));
+        assertEquals(-1, d1.getRowIndex("R9"));
+        assertEquals(-1, d1.getColumnIndex("C9"));
+
+        d1.removeRow("R0");
+        assertEquals(-1, d1.getRowIndex("R0"));
+        assertEquals(1, d1.getRowIndex("R2"));
+        assertEquals(new Double(21.0), d1.getValue("R2", "C1"));
+
+        d1.removeColumn("C1");
+        assertEquals(-1, d1.getColumnIndex("C1"));
+        assertEquals(2, d1.getColumnIndex("C3"));
+        assertEquals(new Double(23.0), d1.getValue(1, 2));
+
+        DefaultKeyedValues2D d2 = null;
+        try {
+            d2 = (DefaultKeyedValues2D) d1.clone();
+        }
+        catch (CloneNotSupportedException e) {
+            System.err.println("Failed to clone.");
+        }
+        d2.addValue(new Double(99.0), "R3", "C4");
+        assertEquals(-1, d1.getRowIndex("R3"));
+        assertEquals(-1, d1.getColumnIndex("C4"));
+        assertEquals(2, d2.getRowIndex("R3"));
+        assertEquals(3, d2.getColumnIndex("C4"));
+
+        DefaultKeyedValues2D d3 = null;
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            ObjectOutput out = new ObjectOutputStream(buffer);
+            out.writeObject(d2);
+            out.close();
+
+            ObjectInput in = new ObjectInputStream(
+                new ByteArrayInputStream(buffer.toByteArray())
+            );
+            d3 = (DefaultKeyedValues2D) in.readObject();
+            in.close();
+        }
+        catch (Exception e) {
+            System.out.println(e.toString());
+        }
+        assertEquals(2, d3.getRowIndex("R3"));
+        assertEquals(3, d3.getColumnIndex("C4"));
+        assertEquals(new Double(99.0), d3.getValue("R3", "C4"));
+
+        d3.clear();
+        assertEquals(-1, d3.getRowIndex("R1"));
+        assertEquals(-1, d3.getColumnIndex("C0"));
+    }
+
+    /**
+     * Checks that the row keys remain sorted, and can be found, when the 
+     * sort flag is set.
+     */
+    public void testSortedRowKeys() {
+        DefaultKeyedValues2D d = new DefaultKeyedValues2D(true);
+        d.addValue(new Double(1.0), "R3", "C1");
+        d.addValue(new Double(2.0), "R1", "C1");
+        d.addValue(new Double(3.0), "R2", "C2");
+        assertEquals("R1", d.getRowKey(0));
+        assertEquals(1, d.getRowIndex("R2"));
+        assertEquals(2, d.getRowIndex("R3"));
+        d.removeRow("R1");
+        assertEquals(0, d.getRowIndex("R2"));
+        assertEquals(new Double(3.0), d.getValue("R2", "C2"));
+    }
+
 }
@@ -38,6 +38,7 @@
  * -------
  * 05-Mar-2003 : Version 1 (DG);
  * 27-Aug-2003 : Moved SortOrder from org.jfree.data --> org.jfree.util (DG);
+ * 18-Oct-2026 : Added testGetIndexAfterChanges();
  *
  */
 
@@ -394,4 +395,62 @@ public class DefaultKeyedValuesTests extends TestCase {
 
     }
 
+    /**
+     * Checks that getIndex() stays correct after values are removed and 
+     * sorted, and in clones and deserialized copies.
+     */
+    public void testGetIndexAfterChanges() {
+        DefaultKeyedValues v1 = new DefaultKeyedValues();
+        v1.addValue("C", new Double(1.0));
+        v1.addValue("A", new Double(3.0));
+        v1.addValue("D", null);
+        v1.addValue("B", new Double(2.0));
+        v1.removeValue(0);
+        assertEquals(-1, v1.getIndex("C"));
+        assertEquals(0, v1.getIndex("A"));
+        assertEquals(2, v1.getIndex("B"));
+
+        v1.sortByKeys(SortOrder.ASCENDING);
+        assertEquals(0, v1.getIndex("A"));
+        assertEquals(1, v1.getIndex("B"));
+        assertEquals(2, v1.getIndex("D"));
+        v1.sortByValues(SortOrder.DESCENDING);
+        assertEquals(0, v1.getIndex("A"));
+        assertEquals(1, v1.getIndex("B"));
+        assertEquals(2, v1.getIndex("D"));
+
+        DefaultKeyedValues v2 = null;
+        try {
+            v2 = (DefaultKeyedValues) v1.clone();
+        }
+        catch (CloneNotSupportedException e) {
+            System.err.println("Failed to clone.");
+        }
+        v2.removeValue("A");
+        assertEquals(0, v1.getIndex("A"));
+        assertEquals(0, v2.getIndex("B"));
+        v2.addValue("E", new Double(5.0));
+        assertEquals(-1, v1.getIndex("E"));
+        assertEquals(2, v2.getIndex("E"));
+
+        DefaultKeyedValues v3 = null;
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            ObjectOutput out = new ObjectOutputStream(buffer);
+            out.writeObject(v1);
+            out.close();
+
+            ObjectInput in = new ObjectInputStream(
+                new ByteArrayInputStream(buffer.toByteArray())
+            );
+            v3 = (DefaultKeyedValues) in.readObject();
+            in.close();
+        }
+        catch (Exception e) {
+            System.out.println(e.toString());
+        }
+        assertEquals(1, v3.getIndex("B"));
+        assertEquals(new Double(2.0), v3.getValue("B"));
+    }
+
 }
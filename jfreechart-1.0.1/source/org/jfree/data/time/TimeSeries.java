@@ -65,6 +65,8 @@
  * 17-Nov-2005 : Renamed historyCount --> maximumItemAge (DG);
  * 28-Nov-2005 : Changed maximumItemAge from int to long (DG);
  * 01-Dec-2005 : New add methods accept notify flag (DG);
+ * 18-Oct-2026 : Store the data items in a CircularList, so that removing the
+ *               first item is a constant time operation;
  * 
  */
 
@@ -75,6 +77,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
+import org.jfree.data.general.CircularList;
 import org.jfree.data.general.Series;
 import org.jfree.data.general.SeriesChangeEvent;
 import org.jfree.data.general.SeriesException;
@@ -103,7 +106,10 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
     /** The type of period for the data. */
     protected Class timePeriodClass;
 
-    /** The list of data items in the series. */
+    /**
+     * The list of data items in the series, a {@link CircularList} so that
+     * the oldest item can be removed without moving the others.
+     */
     protected List data;
 
     /** The maximum number of items for the series. */
@@ -160,7 +166,7 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         this.domain = domain;
         this.range = range;
         this.timePeriodClass = timePeriodClass;
-        this.data = new java.util.ArrayList();
+        this.data = new CircularList();
         this.maximumItemCount = Integer.MAX_VALUE;
         this.maximumItemAge = Long.MAX_VALUE;
         
@@ -847,7 +853,7 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
 
         TimeSeries copy = (TimeSeries) super.clone();
 
-        copy.data = new java.util.ArrayList();
+        copy.data = new CircularList();
         if (this.data.size() > 0) {
             for (int index = start; index <= end; index++) {
                 TimeSeriesDataItem item 
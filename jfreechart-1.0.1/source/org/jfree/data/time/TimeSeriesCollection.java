@@ -75,6 +75,7 @@
  * ------------- JFREECHART 1.0.0 ---------------------------------------------
  * 13-Dec-2005 : Deprecated the 'domainIsPointsInTime' flag as it is 
  *               redundant.  Fixes bug 1243050 (DG);
+ * 18-Oct-2026 : Override getDomainOrder() (time series are always sorted);
  */
 
 package org.jfree.data.time;
@@ -88,6 +89,7 @@ import java.util.List;
 import java.util.TimeZone;
 
 import org.jfree.data.DomainInfo;
+import org.jfree.data.DomainOrder;
 import org.jfree.data.Range;
 import org.jfree.data.general.DatasetChangeEvent;
 import org.jfree.data.xy.AbstractIntervalXYDataset;
@@ -380,6 +382,17 @@ public class TimeSeriesCollection extends AbstractIntervalXYDataset
         return getSeries(series).getItemCount();
     }
     
+    /**
+     * Returns the order of the domain (x) values.  The items in a 
+     * {@link TimeSeries} are always kept in time period order, so this is
+     * {@link DomainOrder#ASCENDING}.
+     *
+     * @return The domain order.
+     */
+    public DomainOrder getDomainOrder() {
+        return DomainOrder.ASCENDING;
+    }
+    
     /**
      * Returns the x-value (as a double primitive) for an item within a series.
      * 
@@ -38,6 +38,7 @@
  * -------
  * 01-May-2003 : Version 1 (DG);
  * 04-Dec-2003 : Added a test for the getSurroundingItems() method (DG);
+ * 18-Oct-2026 : Added a test for the getDomainOrder() method;
  *
  */
 
@@ -54,6 +55,7 @@ import junit.framework.Test;
 import junit.framework.TestCase;
 import junit.framework.TestSuite;
 
+import org.jfree.data.DomainOrder;
 import org.jfree.data.time.Day;
 import org.jfree.data.time.RegularTimePeriod;
 import org.jfree.data.time.TimePeriodAnchor;
@@ -284,4 +286,12 @@ public class TimeSeriesCollectionTests extends TestCase {
     }
 
     
+    /**
+     * A time series collection always has ascending x-values.
+     */
+    public void testGetDomainOrder() {
+        TimeSeriesCollection dataset = new TimeSeriesCollection();
+        assertEquals(DomainOrder.ASCENDING, dataset.getDomainOrder());
+    }
+    
 }
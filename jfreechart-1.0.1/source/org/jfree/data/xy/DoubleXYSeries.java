@@ -0,0 +1,670 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2005, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc.
+ * in the United States and other countries.]
+ *
+ * -------------------
+ * DoubleXYSeries.java
+ * -------------------
+ * Original Author:  Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ * 18-Oct-2026 : Remove the first item in constant time;
+ *
+ */
+
+package org.jfree.data.xy;
+
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jfree.data.general.SeriesChangeEvent;
+import org.jfree.data.general.SeriesException;
+
+/**
+ * An {@link XYSeries} that stores its x and y-values in two growable
+ * <code>double[]</code> arrays instead of a list of {@link XYDataItem}
+ * objects.  Each item costs 16 bytes, and the <code>getXValue()</code> and
+ * <code>getYValue()</code> methods read the arrays directly, so the series
+ * is suited to holding millions of items.  It can be added to an
+ * {@link XYSeriesCollection} like any other series, and follows the same
+ * rules for sorting, duplicate x-values and the maximum item count.
+ * <P>
+ * A <code>null</code> y-value is stored as <code>Double.NaN</code>, so
+ * {@link #getY(int)} returns <code>null</code> for a NaN y-value.  The
+ * {@link XYDataItem} objects returned by {@link #getDataItem(int)} and
+ * {@link #getItems()} are created on demand, and changing them does not
+ * change the series.  The protected <code>data</code> list inherited from
+ * {@link XYSeries} is not used.
+ */
+public class DoubleXYSeries extends XYSeries {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 2916317735390393411L;
+
+    /** The initial capacity of the arrays. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The x-values, the first <code>itemCount</code> are in use. */
+    private double[] xValues;
+
+    /** The y-values, the first <code>itemCount</code> are in use. */
+    private double[] yValues;
+
+    /** The position in the arrays of the first item. */
+    private int first;
+
+    /** The number of items in the series. */
+    private int itemCount;
+
+    /**
+     * Creates a new empty series.  By default, items added to the series will
+     * be sorted into ascending order by x-value, and duplicate x-values will
+     * be allowed.
+     *
+     * @param key  the series key (<code>null</code> not permitted).
+     */
+    public DoubleXYSeries(Comparable key) {
+        this(key, true, true);
+    }
+
+    /**
+     * Constructs a new empty series, with the auto-sort flag set as requested,
+     * and duplicate values allowed.
+     *
+     * @param key  the series key (<code>null</code> not permitted).
+     * @param autoSort  a flag that controls whether or not the items in the
+     *                  series are sorted.
+     */
+    public DoubleXYSeries(Comparable key, boolean autoSort) {
+        this(key, autoSort, true);
+    }
+
+    /**
+     * Constructs a new series that contains no data.
+     *
+     * @param key  the series key (<code>null</code> not permitted).
+     * @param autoSort  a flag that controls whether or not the items in the
+     *                  series are sorted.
+     * @param allowDuplicateXValues  a flag that controls whether duplicate
+     *                               x-values are allowed.
+     */
+    public DoubleXYSeries(Comparable key, boolean autoSort,
+                          boolean allowDuplicateXValues) {
+        super(key, autoSort, allowDuplicateXValues);
+        this.xValues = new double[INITIAL_CAPACITY];
+        this.yValues = new double[INITIAL_CAPACITY];
+        this.first = 0;
+        this.itemCount = 0;
+    }
+
+    /**
+     * Returns the number of items in the series.
+     *
+     * @return The item count.
+     */
+    public int getItemCount() {
+        return this.itemCount;
+    }
+
+    /**
+     * Returns the list of data items for the series.  The list is
+     * unmodifiable and creates an {@link XYDataItem} for each item as it is
+     * read.
+     *
+     * @return The list of data items.
+     */
+    public List getItems() {
+        return Collections.unmodifiableList(new AbstractList() {
+            public Object get(int index) {
+                return getDataItem(index);
+            }
+            public int size() {
+                return DoubleXYSeries.this.itemCount;
+            }
+        });
+    }
+
+    /**
+     * Sets the maximum number of items that will be retained in the series,
+     * removing the oldest items (and sending a {@link SeriesChangeEvent} to
+     * all registered listeners) if the series already holds more.
+     *
+     * @param maximum  the maximum number of items for the series.
+     */
+    public void setMaximumItemCount(int maximum) {
+        super.setMaximumItemCount(maximum);
+        if (this.itemCount > maximum) {
+            removeItems(0, this.itemCount - maximum - 1);
+            fireSeriesChanged();
+        }
+    }
+
+    /**
+     * Adds a data item to the series and sends a {@link SeriesChangeEvent} to
+     * all registered listeners.
+     *
+     * @param x  the x value.
+     * @param y  the y value.
+     */
+    public void add(double x, double y) {
+        add(x, y, true);
+    }
+
+    /**
+     * Adds a data item to the series and, if requested, sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param x  the x value.
+     * @param y  the y value.
+     * @param notify  a flag that controls whether or not a
+     *                {@link SeriesChangeEvent} is sent to all registered
+     *                listeners.
+     */
+    public void add(double x, double y, boolean notify) {
+        if (getAutoSort()) {
+            int index = findInsertionIndex(x);
+            if (!getAllowDuplicateXValues() && index > 0
+                    && this.xValues[this.first + index - 1] == x) {
+                throw new SeriesException("X-value already exists.");
+            }
+            insertItem(index, x, y);
+        }
+        else {
+            if (!getAllowDuplicateXValues() && indexOf(x) >= 0) {
+                throw new SeriesException("X-value already exists.");
+            }
+            insertItem(this.itemCount, x, y);
+        }
+        if (this.itemCount > getMaximumItemCount()) {
+            removeItems(0, 0);
+        }
+        if (notify) {
+            fireSeriesChanged();
+        }
+    }
+
+    /**
+     * Adds new data to the series and, if requested, sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param x  the x-value (<code>null</code> not permitted).
+     * @param y  the y-value (<code>null</code> permitted).
+     * @param notify  a flag the controls whether or not a
+     *                {@link SeriesChangeEvent} is sent to all registered
+     *                listeners.
+     */
+    public void add(Number x, Number y, boolean notify) {
+        if (x == null) {
+            throw new IllegalArgumentException("Null 'x' argument.");
+        }
+        add(x.doubleValue(), toDouble(y), notify);
+    }
+
+    /**
+     * Adds a data item to the series and, if requested, sends a
+     * {@link SeriesChangeEvent} to all registered listeners.  Only the values
+     * of the item are stored, not the item itself.
+     *
+     * @param item  the (x, y) item (<code>null</code> not permitted).
+     * @param notify  a flag that controls whether or not a
+     *                {@link SeriesChangeEvent} is sent to all registered
+     *                listeners.
+     */
+    public void add(XYDataItem item, boolean notify) {
+        if (item == null) {
+            throw new IllegalArgumentException("Null 'item' argument.");
+        }
+        add(item.getX(), item.getY(), notify);
+    }
+
+    /**
+     * Deletes a range of items from the series and sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param start  the start index (zero-based).
+     * @param end  the end index (zero-based).
+     */
+    public void delete(int start, int end) {
+        checkIndex(start);
+        checkIndex(end);
+        removeItems(start, end);
+        fireSeriesChanged();
+    }
+
+    /**
+     * Removes the item at the specified index and sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param index  the index.
+     *
+     * @return The item removed.
+     */
+    public XYDataItem remove(int index) {
+        XYDataItem result = getDataItem(index);
+        removeItems(index, index);
+        fireSeriesChanged();
+        return result;
+    }
+
+    /**
+     * Removes all data items from the series.
+     */
+    public void clear() {
+        if (this.itemCount > 0) {
+            this.xValues = new double[INITIAL_CAPACITY];
+            this.yValues = new double[INITIAL_CAPACITY];
+            this.first = 0;
+            this.itemCount = 0;
+            fireSeriesChanged();
+        }
+    }
+
+    /**
+     * Returns a new data item holding the values at the specified index.
+     *
+     * @param index  the index.
+     *
+     * @return The data item.
+     */
+    public XYDataItem getDataItem(int index) {
+        return new XYDataItem(getX(index), getY(index));
+    }
+
+    /**
+     * Returns the x-value at the specified index.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The x-value (never <code>null</code>).
+     */
+    public Number getX(int index) {
+        return new Double(getXValue(index));
+    }
+
+    /**
+     * Returns the y-value at the specified index.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The y-value (<code>null</code> for a NaN y-value).
+     */
+    public Number getY(int index) {
+        double y = getYValue(index);
+        return Double.isNaN(y) ? null : new Double(y);
+    }
+
+    /**
+     * Returns the x-value (as a double primitive) at the specified index.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The x-value.
+     */
+    public double getXValue(int index) {
+        checkIndex(index);
+        return this.xValues[this.first + index];
+    }
+
+    /**
+     * Returns the y-value (as a double primitive) at the specified index.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The y-value (possibly <code>Double.NaN</code>).
+     */
+    public double getYValue(int index) {
+        checkIndex(index);
+        return this.yValues[this.first + index];
+    }
+
+    /**
+     * Updates the value of an item in the series and sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param index  the item (zero based index).
+     * @param y  the new value (<code>null</code> permitted).
+     *
+     * @deprecated Renamed updateByIndex(int, Number) to avoid confusion with
+     *             the update(Number, Number) method.
+     */
+    public void update(int index, Number y) {
+        checkIndex(index);
+        this.yValues[this.first + index] = toDouble(y);
+        fireSeriesChanged();
+    }
+
+    /**
+     * Updates an item in the series.
+     *
+     * @param x  the x-value (<code>null</code> not permitted).
+     * @param y  the y-value (<code>null</code> permitted).
+     *
+     * @throws SeriesException if there is no existing item with the specified
+     *         x-value.
+     */
+    public void update(Number x, Number y) {
+        int index = indexOf(x);
+        if (index < 0) {
+            throw new SeriesException("No observation for x = " + x);
+        }
+        this.yValues[this.first + index] = toDouble(y);
+        fireSeriesChanged();
+    }
+
+    /**
+     * Adds or updates an item in the series and sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param x  the x-value (<code>null</code> not permitted).
+     * @param y  the y-value (<code>null</code> permitted).
+     *
+     * @return A copy of the overwritten data item, or <code>null</code> if no
+     *         item was overwritten.
+     */
+    public XYDataItem addOrUpdate(Number x, Number y) {
+        if (x == null) {
+            throw new IllegalArgumentException("Null 'x' argument.");
+        }
+        XYDataItem overwritten = null;
+        int index = indexOf(x);
+        if (index >= 0) {
+            overwritten = getDataItem(index);
+            this.yValues[this.first + index] = toDouble(y);
+        }
+        else {
+            if (getAutoSort()) {
+                insertItem(-index - 1, x.doubleValue(), toDouble(y));
+            }
+            else {
+                insertItem(this.itemCount, x.doubleValue(), toDouble(y));
+            }
+            if (this.itemCount > getMaximumItemCount()) {
+                removeItems(0, 0);
+            }
+        }
+        fireSeriesChanged();
+        return overwritten;
+    }
+
+    /**
+     * Returns the index of the item with the specified x-value, or a negative
+     * index if the series does not contain an item with that x-value.  For a
+     * sorted series, the negative index is <code>(-(insertion point) -
+     * 1)</code> as for <code>Collections.binarySearch()</code>; for an
+     * unsorted series the items are searched in order and the result is -1.
+     *
+     * @param x  the x-value (<code>null</code> not permitted).
+     *
+     * @return The index.
+     */
+    public int indexOf(Number x) {
+        if (x == null) {
+            throw new IllegalArgumentException("Null 'x' argument.");
+        }
+        return indexOf(x.doubleValue());
+    }
+
+    /**
+     * Returns the index of the item with the specified x-value, as for
+     * {@link #indexOf(Number)}.
+     *
+     * @param x  the x-value.
+     *
+     * @return The index.
+     */
+    public int indexOf(double x) {
+        if (getAutoSort()) {
+            int low = 0;
+            int high = this.itemCount - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                double midX = this.xValues[this.first + mid];
+                if (midX < x) {
+                    low = mid + 1;
+                }
+                else if (midX > x) {
+                    high = mid - 1;
+                }
+                else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+        for (int i = 0; i < this.itemCount; i++) {
+            if (this.xValues[this.first + i] == x) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Creates a new series by copying a subset of the data in this series.
+     *
+     * @param start  the index of the first item to copy.
+     * @param end  the index of the last item to copy.
+     *
+     * @return A series containing a copy of this series from start until end.
+     *
+     * @throws CloneNotSupportedException if there is a cloning problem.
+     */
+    public XYSeries createCopy(int start, int end)
+        throws CloneNotSupportedException {
+        // the superclass copies the other attributes, its item list is empty
+        DoubleXYSeries copy = (DoubleXYSeries) super.createCopy(start, end);
+        int count = this.itemCount > 0 ? end - start + 1 : 0;
+        int capacity = Math.max(count, INITIAL_CAPACITY);
+        copy.xValues = new double[capacity];
+        copy.yValues = new double[capacity];
+        if (count > 0) {
+            System.arraycopy(this.xValues, this.first + start, copy.xValues, 0,
+                    count);
+            System.arraycopy(this.yValues, this.first + start, copy.yValues, 0,
+                    count);
+        }
+        copy.first = 0;
+        copy.itemCount = count;
+        return copy;
+    }
+
+    /**
+     * Tests this series for equality with an arbitrary object.
+     *
+     * @param obj  the object to test against for equality
+     *             (<code>null</code> permitted).
+     *
+     * @return A boolean.
+     */
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof DoubleXYSeries)) {
+            return false;
+        }
+        if (!super.equals(obj)) {
+            return false;
+        }
+        DoubleXYSeries that = (DoubleXYSeries) obj;
+        if (this.itemCount != that.itemCount) {
+            return false;
+        }
+        for (int i = 0; i < this.itemCount; i++) {
+            int p1 = this.first + i;
+            int p2 = that.first + i;
+            if (Double.doubleToLongBits(this.xValues[p1])
+                    != Double.doubleToLongBits(that.xValues[p2])) {
+                return false;
+            }
+            if (Double.doubleToLongBits(this.yValues[p1])
+                    != Double.doubleToLongBits(that.yValues[p2])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code.
+     *
+     * @return A hash code.
+     */
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 29 * result + this.itemCount;
+        if (this.itemCount > 0) {
+            long bits = Double.doubleToLongBits(this.xValues[this.first]);
+            result = 29 * result + (int) (bits ^ (bits >>> 32));
+            int last = this.first + this.itemCount - 1;
+            bits = Double.doubleToLongBits(this.yValues[last]);
+            result = 29 * result + (int) (bits ^ (bits >>> 32));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the index at which an item with the specified x-value should be
+     * inserted into a sorted series, after any items with the same x-value.
+     *
+     * @param x  the x-value.
+     *
+     * @return The index.
+     */
+    private int findInsertionIndex(double x) {
+        if (this.itemCount == 0
+                || this.xValues[this.first + this.itemCount - 1] <= x) {
+            return this.itemCount;  // the usual case, appending in order
+        }
+        int low = 0;
+        int high = this.itemCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (this.xValues[this.first + mid] <= x) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Inserts an item at the specified index.  When there is no room after
+     * the last item, the items are moved to the start of the arrays if at
+     * least half of the arrays is free, otherwise the arrays are doubled in
+     * size.  So, when the oldest items are removed as new items are added,
+     * each item is moved a constant number of times on average.
+     *
+     * @param index  the index.
+     * @param x  the x-value.
+     * @param y  the y-value.
+     */
+    private void insertItem(int index, double x, double y) {
+        if (this.first + this.itemCount == this.xValues.length) {
+            int capacity = this.xValues.length;
+            if (this.itemCount >= capacity / 2) {
+                capacity = Math.max(capacity * 2, INITIAL_CAPACITY);
+            }
+            double[] newX = new double[capacity];
+            double[] newY = new double[capacity];
+            System.arraycopy(this.xValues, this.first, newX, 0,
+                    this.itemCount);
+            System.arraycopy(this.yValues, this.first, newY, 0,
+                    this.itemCount);
+            this.xValues = newX;
+            this.yValues = newY;
+            this.first = 0;
+        }
+        int p = this.first + index;
+        if (index < this.itemCount) {
+            System.arraycopy(this.xValues, p, this.xValues, p + 1,
+                    this.itemCount - index);
+            System.arraycopy(this.yValues, p, this.yValues, p + 1,
+                    this.itemCount - index);
+        }
+        this.xValues[p] = x;
+        this.yValues[p] = y;
+        this.itemCount++;
+    }
+
+    /**
+     * Removes a range of items, without sending an event.  Removing items
+     * from the start of the series only advances the position of the first
+     * item, so the oldest item is removed in constant time.
+     *
+     * @param start  the index of the first item to remove.
+     * @param end  the index of the last item to remove.
+     */
+    private void removeItems(int start, int end) {
+        int count = end - start + 1;
+        if (count <= 0) {
+            return;
+        }
+        if (start == 0) {
+            this.first += count;
+        }
+        else {
+            int tail = this.itemCount - end - 1;
+            System.arraycopy(this.xValues, this.first + end + 1, this.xValues,
+                    this.first + start, tail);
+            System.arraycopy(this.yValues, this.first + end + 1, this.yValues,
+                    this.first + start, tail);
+        }
+        this.itemCount -= count;
+        if (this.itemCount == 0) {
+            this.first = 0;
+        }
+    }
+
+    /**
+     * Checks that an index refers to an item in the series.
+     *
+     * @param index  the index.
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.itemCount) {
+            throw new IndexOutOfBoundsException(
+                "Index: " + index + ", Size: " + this.itemCount
+            );
+        }
+    }
+
+    /**
+     * Converts a y-value to a double primitive.
+     *
+     * @param y  the y-value (<code>null</code> permitted).
+     *
+     * @return The value, or <code>Double.NaN</code> for <code>null</code>.
+     */
+    private static double toDouble(Number y) {
+        return y == null ? Double.NaN : y.doubleValue();
+    }
+
+}
@@ -66,6 +66,10 @@
  *               series (DG);
  * ------------- JFreeChart 1.0.0 ---------------------------------------------
  * 11-Jan-2005 : Renamed update(int, Number) --> updateByIndex() (DG);
+ * 18-Oct-2026 : Added getXValue(int) and getYValue(int) methods;
+ * 18-Oct-2026 : Store the data items in a CircularList, so that removing the
+ *               first item is a constant time operation;
+ * 18-Oct-2026 : Only equal to a series of the same class in equals();
  * 
  */
 
@@ -75,6 +79,7 @@ import java.io.Serializable;
 import java.util.Collections;
 import java.util.List;
 
+import org.jfree.data.general.CircularList;
 import org.jfree.data.general.Series;
 import org.jfree.data.general.SeriesChangeEvent;
 import org.jfree.data.general.SeriesException;
@@ -96,7 +101,10 @@ public class XYSeries extends Series implements Cloneable, Serializable {
     // the 'data' attribute from 'private' to 'protected', so that others can 
     // make subclasses that work directly with the underlying data structure.
 
-    /** Storage for the data items in the series. */
+    /**
+     * Storage for the data items in the series, a {@link CircularList} so
+     * that the oldest item can be removed without moving the others.
+     */
     protected List data;
 
     /** The maximum number of items for the series. */
@@ -145,7 +153,7 @@ public class XYSeries extends Series implements Cloneable, Serializable {
                     boolean autoSort, 
                     boolean allowDuplicateXValues) {
         super(key);
-        this.data = new java.util.ArrayList();
+        this.data = new CircularList();
         this.autoSort = autoSort;
         this.allowDuplicateXValues = allowDuplicateXValues;
     }
@@ -467,6 +475,34 @@ public class XYSeries extends Series implements Cloneable, Serializable {
     public Number getY(int index) {
         return getDataItem(index).getY();
     }
+
+    /**
+     * Returns the x-value (as a double primitive) at the specified index.
+     * Subclasses that store primitive values can override this method to
+     * avoid creating a {@link Number}.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The x-value.
+     */
+    public double getXValue(int index) {
+        return getX(index).doubleValue();
+    }
+
+    /**
+     * Returns the y-value (as a double primitive) at the specified index.
+     * Subclasses that store primitive values can override this method to
+     * avoid creating a {@link Number}.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The y-value (<code>Double.NaN</code> for a <code>null</code> 
+     *         y-value).
+     */
+    public double getYValue(int index) {
+        Number y = getY(index);
+        return y == null ? Double.NaN : y.doubleValue();
+    }
     
     /**
      * Updates the value of an item in the series and sends a 
@@ -616,7 +652,7 @@ public class XYSeries extends Series implements Cloneable, Serializable {
         throws CloneNotSupportedException {
 
         XYSeries copy = (XYSeries) super.clone();
-        copy.data = new java.util.ArrayList();
+        copy.data = new CircularList();
         if (this.data.size() > 0) {
             for (int index = start; index <= end; index++) {
                 XYDataItem item = (XYDataItem) this.data.get(index);
@@ -645,8 +681,8 @@ public class XYSeries extends Series implements Cloneable, Serializable {
         if (obj == this) {
             return true;
         }
-        if (!(obj instanceof XYSeries)) {
-            return false;
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;  // a subclass may not keep its items in the list
         }
         if (!super.equals(obj)) {
             return false;
@@ -49,6 +49,9 @@
  * 11-Jan-2005 : Removed deprecated code in preparation for 1.0.0 release (DG);
  * 28-Mar-2005 : Fixed bug in getSeries(int) method (1170825) (DG);
  * 05-Oct-2005 : Made the interval delegate a dataset listener (DG);
+ * 18-Oct-2026 : Override getDomainOrder() for auto-sorted series;
+ * 18-Oct-2026 : Read x and y values from the series without creating a data
+ *               item, and override getXValue() and getYValue();
  *
  */
 
@@ -59,6 +62,7 @@ import java.util.Collections;
 import java.util.List;
 
 import org.jfree.data.DomainInfo;
+import org.jfree.data.DomainOrder;
 import org.jfree.data.Range;
 import org.jfree.data.general.DatasetChangeEvent;
 import org.jfree.data.general.DatasetUtilities;
@@ -232,6 +236,24 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
         return getSeries(series).getItemCount();
     }
 
+    /**
+     * Returns the order of the domain (x) values.  If every series in the 
+     * collection sorts its items by x-value, this is 
+     * {@link DomainOrder#ASCENDING}, which allows a plot to search for the 
+     * items within the visible range instead of visiting every item.
+     *
+     * @return The domain order.
+     */
+    public DomainOrder getDomainOrder() {
+        for (int i = 0; i < this.data.size(); i++) {
+            XYSeries s = (XYSeries) this.data.get(i);
+            if (!s.getAutoSort()) {
+                return DomainOrder.NONE;
+            }
+        }
+        return DomainOrder.ASCENDING;
+    }
+
     /**
      * Returns the x-value for the specified series and item.
      *
@@ -242,8 +264,21 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
      */
     public Number getX(int series, int item) {
         XYSeries ts = (XYSeries) this.data.get(series);
-        XYDataItem xyItem = ts.getDataItem(item);
-        return xyItem.getX();
+        return ts.getX(item);
+    }
+
+    /**
+     * Returns the x-value (as a double primitive) for the specified series 
+     * and item.
+     *
+     * @param series  the series (zero-based index).
+     * @param item  the item (zero-based index).
+     *
+     * @return The value.
+     */
+    public double getXValue(int series, int item) {
+        XYSeries ts = (XYSeries) this.data.get(series);
+        return ts.getXValue(item);
     }
 
     /**
@@ -281,11 +316,25 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
     public Number getY(int series, int index) {
 
         XYSeries ts = (XYSeries) this.data.get(series);
-        XYDataItem xyItem = ts.getDataItem(index);
-        return xyItem.getY();
+        return ts.getY(index);
 
     }
 
+    /**
+     * Returns the y-value (as a double primitive) for the specified series 
+     * and item.
+     *
+     * @param series  the series (zero-based index).
+     * @param item  the item (zero-based index).
+     *
+     * @return The value (<code>Double.NaN</code> for a <code>null</code> 
+     *         y-value).
+     */
+    public double getYValue(int series, int item) {
+        XYSeries ts = (XYSeries) this.data.get(series);
+        return ts.getYValue(item);
+    }
+
     /**
      * Returns the starting Y value for the specified series and item.
      *
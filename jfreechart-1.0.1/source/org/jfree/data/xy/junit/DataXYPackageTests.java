@@ -41,6 +41,7 @@
  * 21-Jan-2005 : Added IntervalXYDelegateTests (DG);
  * 29-Apr-2005 : Added DefaultOHLCDatasetTests and OHLCDataItemTests (DG);
  * 06-Oct-2005 : Added CategoryTableXYDatasetTests (DG);
+ * 18-Oct-2026 : Added DoubleXYSeriesTests;
  *
  */
 
@@ -67,6 +68,7 @@ public class DataXYPackageTests extends TestCase {
         suite.addTestSuite(CategoryTableXYDatasetTests.class);
         suite.addTestSuite(DefaultOHLCDatasetTests.class);
         suite.addTestSuite(DefaultTableXYDatasetTests.class);
+        suite.addTestSuite(DoubleXYSeriesTests.class);
         suite.addTestSuite(IntervalXYDelegateTests.class);
         suite.addTestSuite(MatrixSeriesTests.class);
         suite.addTestSuite(OHLCDataItemTests.class);
@@ -0,0 +1,429 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2005, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Lesser General Public License as published by 
+ * the Free Software Foundation; either version 2.1 of the License, or 
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY 
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public 
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, 
+ * USA.  
+ *
+ * [Java is a trademark or registered trademark of Sun Microsystems, Inc. 
+ * in the United States and other countries.]
+ *
+ * ------------------------
+ * DoubleXYSeriesTests.java
+ * ------------------------
+ * Original Author:  Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ * 18-Oct-2026 : Added testRollingWindow();
+ * 18-Oct-2026 : Added testEqualsXYSeries();
+ *
+ */
+
+package org.jfree.data.xy.junit;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.jfree.data.DomainOrder;
+import org.jfree.data.general.SeriesException;
+import org.jfree.data.xy.DoubleXYSeries;
+import org.jfree.data.xy.XYDataItem;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+
+/**
+ * Tests for the {@link DoubleXYSeries} class.
+ */
+public class DoubleXYSeriesTests extends TestCase {
+
+    private static final double EPSILON = 0.0000000001;
+
+    /**
+     * Returns the tests as a test suite.
+     *
+     * @return The test suite.
+     */
+    public static Test suite() {
+        return new TestSuite(DoubleXYSeriesTests.class);
+    }
+
+    /**
+     * Constructs a new set of tests.
+     *
+     * @param name  the name of the tests.
+     */
+    public DoubleXYSeriesTests(String name) {
+        super(name);
+    }
+
+    /**
+     * Confirm that the equals method can distinguish all the required fields.
+     */
+    public void testEquals() {
+        DoubleXYSeries s1 = new DoubleXYSeries("Series");
+        s1.add(1.0, 1.1);
+        DoubleXYSeries s2 = new DoubleXYSeries("Series");
+        s2.add(1.0, 1.1);
+        assertTrue(s1.equals(s2));
+        assertTrue(s2.equals(s1));
+
+        s1.setKey("Series X");
+        assertFalse(s1.equals(s2));
+        s2.setKey("Series X");
+        assertTrue(s1.equals(s2));
+
+        s1.add(2.0, 2.2);
+        assertFalse(s1.equals(s2));
+        s2.add(2.0, 2.2);
+        assertTrue(s1.equals(s2));
+
+        s1.add(3.0, null);
+        assertFalse(s1.equals(s2));
+        s2.add(3.0, null);
+        assertTrue(s1.equals(s2));
+    }
+
+    /**
+     * A {@link DoubleXYSeries} is never equal to an {@link XYSeries}, the 
+     * items of the two are stored differently.
+     */
+    public void testEqualsXYSeries() {
+        XYSeries s1 = new XYSeries("Series");
+        DoubleXYSeries s2 = new DoubleXYSeries("Series");
+        s2.add(1.0, 1.1);
+        assertFalse(s1.equals(s2));
+        assertFalse(s2.equals(s1));
+    }
+
+    /**
+     * Two objects that are equal are required to return the same hashCode. 
+     */
+    public void testHashcode() {
+        DoubleXYSeries s1 = new DoubleXYSeries("Series");
+        s1.add(1.0, 1.1);
+        DoubleXYSeries s2 = new DoubleXYSeries("Series");
+        s2.add(1.0, 1.1);
+        assertTrue(s1.equals(s2));
+        assertEquals(s1.hashCode(), s2.hashCode());
+    }
+
+    /**
+     * Confirm that cloning works.
+     */
+    public void testCloning() {
+        DoubleXYSeries s1 = new DoubleXYSeries("Series");
+        s1.add(1.0, 1.1);
+        s1.add(2.0, 2.2);
+        DoubleXYSeries s2 = null;
+        try {
+            s2 = (DoubleXYSeries) s1.clone();
+        }
+        catch (CloneNotSupportedException e) {
+            System.err.println("Failed to clone.");
+        }
+        assertTrue(s1 != s2);
+        assertTrue(s1.getClass() == s2.getClass());
+        assertTrue(s1.equals(s2));
+
+        // check independence
+        s1.add(3.0, 3.3);
+        assertFalse(s1.equals(s2));
+        assertEquals(2, s2.getItemCount());
+    }
+
+    /**
+     * Some checks for the createCopy() method.
+     */
+    public void testCreateCopy() throws CloneNotSupportedException {
+        DoubleXYSeries s1 = new DoubleXYSeries("Series");
+        for (int i = 0; i < 10; i++) {
+            s1.add(i, i * 10.0);
+        }
+        DoubleXYSeries s2 = (DoubleXYSeries) s1.createCopy(3, 5);
+        assertEquals(3, s2.getItemCount());
+        assertEquals(3.0, s2.getXValue(0), EPSILON);
+        assertEquals(50.0, s2.getYValue(2), EPSILON);
+        s2.add(20.0, 200.0);
+        assertEquals(4, s2.getItemCount());
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    public void testSerialization() {
+        DoubleXYSeries s1 = new DoubleXYSeries("Series");
+        s1.add(1.0, 1.1);
+        s1.add(2.0, null);
+        DoubleXYSeries s2 = null;
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            ObjectOutput out = new ObjectOutputStream(buffer);
+            out.writeObject(s1);
+            out.close();
+
+            ObjectInput in = new ObjectInputStream(
+                new ByteArrayInputStream(buffer.toByteArray())
+            );
+            s2 = (DoubleXYSeries) in.readObject();
+            in.close();
+        }
+        catch (Exception e) {
+            System.out.println(e.toString());
+        }
+        assertEquals(s1, s2);
+    }
+
+    /**
+     * Items added out of order are sorted, and items with duplicate x-values
+     * remain in the order they were added.
+     */
+    public void testAddSorted() {
+        DoubleXYSeries s1 = new DoubleXYSeries("Series 1");
+        s1.add(3.0, 5.0);
+        s1.add(1.0, 1.0);
+        s1.add(2.0, 2.0);
+        s1.add(2.0, 3.0);
+        s1.add(2.0, 4.0);
+        assertEquals(5, s1.getItemCount());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i + 1.0, s1.getYValue(i), EPSILON);
+        }
+        assertEquals(1.0, s1.getXValue(0), EPSILON);
+        assertEquals(2.0, s1.getXValue(3), EPSILON);
+        assertEquals(3.0, s1.getXValue(4), EPSILON);
+    }
+
+    /**
+     * Some checks for the add() method for an UNSORTED series.
+     */
+    public void testAddUnsorted() {
+        DoubleXYSeries series = new DoubleXYSeries("Series", false, true);
+        series.add(5.0, 5.5);
+        series.add(6.0, 6.6);
+        series.add(3.0, 3.3);
+        assertEquals(5.5, series.getY(0).doubleValue(), EPSILON);
+        assertEquals(6.6, series.getY(1).doubleValue(), EPSILON);
+        assertEquals(3.3, series.getY(2).doubleValue(), EPSILON);
+    }
+
+    /**
+     * A duplicate x-value is rejected when duplicates are not allowed, for
+     * sorted and unsorted series.
+     */
+    public void testAddDuplicateNotAllowed() {
+        DoubleXYSeries s1 = new DoubleXYSeries("S1", true, false);
+        s1.add(1.0, 1.0);
+        s1.add(2.0, 2.0);
+        try {
+            s1.add(1.0, 3.0);
+            fail("Should have thrown a SeriesException.");
+        }
+        catch (SeriesException e) {
+            // got the required exception
+        }
+        assertEquals(2, s1.getItemCount());
+
+        DoubleXYSeries s2 = new DoubleXYSeries("S2", false, false);
+        s2.add(2.0, 2.0);
+        s2.add(1.0, 1.0);
+        try {
+            s2.add(2.0, 3.0);
+            fail("Should have thrown a SeriesException.");
+        }
+        catch (SeriesException e) {
+            // got the required exception
+        }
+        assertEquals(2, s2.getItemCount());
+    }
+
+    /**
+     * A null y-value is stored as NaN and returned as null.
+     */
+    public void testNullY() {
+        DoubleXYSeries s1 = new DoubleXYSeries("S1");
+        s1.add(new Double(1.0), null);
+        s1.add(new XYDataItem(2.0, 2.0));
+        assertNull(s1.getY(0));
+        assertTrue(Double.isNaN(s1.getYValue(0)));
+        assertEquals(new Double(2.0), s1.getY(1));
+        assertEquals(new XYDataItem(new Double(1.0), null), 
+                s1.getDataItem(0));
+    }
+
+    /**
+     * Some checks for the indexOf() method.
+     */
+    public void testIndexOf() {
+        DoubleXYSeries s1 = new DoubleXYSeries("Series 1");
+        s1.add(1.0, 1.0);
+        s1.add(2.0, 2.0);
+        s1.add(3.0, 3.0);
+        assertEquals(0, s1.indexOf(new Double(1.0)));
+        assertEquals(2, s1.indexOf(new Double(3.0)));
+        assertEquals(-1, s1.indexOf(new Double(0.5)));
+        assertEquals(-3, s1.indexOf(new Double(2.5)));
+        assertEquals(-4, s1.indexOf(new Double(4.0)));
+
+        DoubleXYSeries s2 = new DoubleXYSeries("Series 2", false, true);
+        s2.add(1.0, 1.0);
+        s2.add(3.0, 3.0);
+        s2.add(2.0, 2.0);
+        assertEquals(1, s2.indexOf(new Double(3.0)));
+        assertEquals(2, s2.indexOf(new Double(2.0)));
+        assertEquals(-1, s2.indexOf(new Double(4.0)));
+    }
+
+    /**
+     * Some checks for the remove() and delete() methods.
+     */
+    public void testRemove() {
+        DoubleXYSeries s1 = new DoubleXYSeries("Series 1");
+        for (int i = 0; i < 6; i++) {
+            s1.add(i, i);
+        }
+        XYDataItem item = s1.remove(new Double(2.0));
+        assertEquals(2.0, item.getX().doubleValue(), EPSILON);
+        assertEquals(3.0, s1.getXValue(2), EPSILON);
+        s1.delete(0, 1);
+        assertEquals(3, s1.getItemCount());
+        assertEquals(3.0, s1.getXValue(0), EPSILON);
+        assertEquals(3, s1.getItems().size());
+        s1.clear();
+        assertEquals(0, s1.getItemCount());
+    }
+
+    /**
+     * Some checks for the update() methods.
+     */
+    public void testUpdate() {
+        DoubleXYSeries series = new DoubleXYSeries("S1");
+        series.add(1.0, 2.0);
+        series.update(new Integer(1), new Integer(3));
+        assertEquals(3.0, series.getYValue(0), EPSILON);
+        series.updateByIndex(0, new Double(4.0));
+        assertEquals(4.0, series.getYValue(0), EPSILON);
+        try {
+            series.update(new Integer(2), new Integer(99));
+            fail("Should have thrown a SeriesException.");
+        }
+        catch (SeriesException e) {
+            // got the required exception
+        }
+    }
+
+    /**
+     * Some checks for the addOrUpdate() method.
+     */
+    public void testAddOrUpdate() {
+        DoubleXYSeries series = new DoubleXYSeries("S1");
+        XYDataItem old = series.addOrUpdate(new Double(2.0), new Double(3.0));
+        assertNull(old);
+        old = series.addOrUpdate(new Double(1.0), new Double(2.0));
+        assertNull(old);
+        assertEquals(1.0, series.getXValue(0), EPSILON);
+        old = series.addOrUpdate(new Double(1.0), new Double(99.0));
+        assertEquals(new XYDataItem(1.0, 2.0), old);
+        assertEquals(2, series.getItemCount());
+        assertEquals(99.0, series.getYValue(0), EPSILON);
+    }
+
+    /**
+     * Checks that the maximum item count removes the oldest items, both as
+     * items are added and when it is applied retrospectively.
+     */
+    public void testSetMaximumItemCount() {
+        DoubleXYSeries s1 = new DoubleXYSeries("S1");
+        s1.setMaximumItemCount(2);
+        s1.add(1.0, 1.1);
+        s1.add(2.0, 2.2);
+        s1.add(3.0, 3.3);
+        assertEquals(2, s1.getItemCount());
+        assertEquals(2.0, s1.getXValue(0), EPSILON);
+        assertEquals(3.0, s1.getXValue(1), EPSILON);
+
+        DoubleXYSeries s2 = new DoubleXYSeries("S2");
+        s2.add(1.0, 1.1);
+        s2.add(2.0, 2.2);
+        s2.add(3.0, 3.3);
+        s2.setMaximumItemCount(2);
+        assertEquals(2, s2.getItemCount());
+        assertEquals(2.0, s2.getXValue(0), EPSILON);
+        assertEquals(3.0, s2.getXValue(1), EPSILON);
+    }
+
+    /**
+     * A series with a maximum item count keeps the most recent items as the
+     * oldest are removed, including when items are inserted out of order.
+     */
+    public void testRollingWindow() {
+        DoubleXYSeries s1 = new DoubleXYSeries("S1");
+        s1.setMaximumItemCount(100);
+        for (int i = 0; i < 10000; i++) {
+            s1.add(i, -i);
+        }
+        assertEquals(100, s1.getItemCount());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(9900.0 + i, s1.getXValue(i), EPSILON);
+            assertEquals(-9900.0 - i, s1.getYValue(i), EPSILON);
+        }
+        assertEquals(50, s1.indexOf(new Double(9950.0)));
+        s1.add(9950.5, 1.0);
+        assertEquals(9901.0, s1.getXValue(0), EPSILON);
+        assertEquals(9950.5, s1.getXValue(50), EPSILON);
+        assertEquals(9999.0, s1.getXValue(99), EPSILON);
+    }
+
+    /**
+     * The series gives the same results as an {@link XYSeries} with the same
+     * items, when both are read through an {@link XYSeriesCollection}.
+     */
+    public void testCollection() {
+        XYSeries s1 = new XYSeries("S1");
+        DoubleXYSeries s2 = new DoubleXYSeries("S2");
+        for (int i = 0; i < 1000; i++) {
+            double x = (i * 37) % 1000;
+            double y = Math.sin(x);
+            s1.add(x, y);
+            s2.add(x, y);
+        }
+        XYSeriesCollection dataset = new XYSeriesCollection();
+        dataset.addSeries(s1);
+        dataset.addSeries(s2);
+        assertEquals(DomainOrder.ASCENDING, dataset.getDomainOrder());
+        assertEquals(1000, dataset.getItemCount(1));
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(dataset.getXValue(0, i), dataset.getXValue(1, i), 
+                    EPSILON);
+            assertEquals(dataset.getYValue(0, i), dataset.getYValue(1, i), 
+                    EPSILON);
+            assertEquals(dataset.getX(0, i), dataset.getX(1, i));
+        }
+    }
+
+}
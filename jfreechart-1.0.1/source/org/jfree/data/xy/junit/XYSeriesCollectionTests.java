@@ -37,6 +37,7 @@
  * Changes
  * -------
  * 18-May-2003 : Version 1 (DG);
+ * 18-Oct-2026 : Added test for getDomainOrder();
  *
  */
 
@@ -53,6 +54,7 @@ import junit.framework.Test;
 import junit.framework.TestCase;
 import junit.framework.TestSuite;
 
+import org.jfree.data.DomainOrder;
 import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
 
@@ -170,4 +172,16 @@ public class XYSeriesCollectionTests extends TestCase {
         }
     }
     
+    /**
+     * The domain order is ascending only while every series is auto-sorted.
+     */
+    public void testGetDomainOrder() {
+        XYSeriesCollection dataset = new XYSeriesCollection();
+        assertEquals(DomainOrder.ASCENDING, dataset.getDomainOrder());
+        dataset.addSeries(new XYSeries("S1"));
+        assertEquals(DomainOrder.ASCENDING, dataset.getDomainOrder());
+        dataset.addSeries(new XYSeries("S2", false));
+        assertEquals(DomainOrder.NONE, dataset.getDomainOrder());
+    }
+    
 }
@@ -1,4 +1,18 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class represents an analysis of the currently selected parameters
@@ -6,13 +20,41 @@ import java.util.Map;
  */
 public class Analysis {
 
+    private static final long REQUEST_TIMEOUT_MILLIS = 30000; // how long to wait for both datasets before giving up
+
+    private static final AtomicInteger requestThreadCount = new AtomicInteger(); // used to number the request threads
+    private static final ExecutorService requestExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "csas-request-" + requestThreadCount.incrementAndGet());
+        thread.setDaemon(true); // request threads should never keep the application alive
+        return thread;
+    }); // thread pool the dataset requests are issued on
+
+    private static final int COUNTRIES_PER_BATCH = 60; // countries per batch request, one API request per indicator
+    private static final int MAX_CONCURRENT_BATCHES = 4; // batch requests in flight at once, bounded so the API is not flooded
+    private static final AtomicInteger batchThreadCount = new AtomicInteger(); // used to number the batch threads
+    private static final ExecutorService batchExecutor = Executors.newFixedThreadPool(MAX_CONCURRENT_BATCHES, runnable -> {
+        Thread thread = new Thread(runnable, "csas-batch-" + batchThreadCount.incrementAndGet());
+        thread.setDaemon(true); // batch threads should never keep the application alive
+        return thread;
+    }); // thread pool the batch requests of many countries are issued on
+
+    private static final int STATISTICS_CACHE_SIZE = 4096; // statistics kept for reuse, enough for every country of a few analyses
+    private static final Map<String, SeriesStatistics> statisticsCache = Collections.synchronizedMap(
+            new LinkedHashMap<String, SeriesStatistics>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, SeriesStatistics> eldest) {
+                    return size() > STATISTICS_CACHE_SIZE; // forget the least recently used statistics
+                }
+            }); // statistics of complete analyses, by country, analysis type and range
+
     private int currentCountry; // the current country parameter
     private int currentAnalysis; // the current analysis type parameter
     private int currentStartYear; // the current start year parameter
     private int currentEndYear; // the current end year parameter
-    private Map<Integer, Object> mapForest; // data map of the Forest Area dataset, where the key is a year
-    private Map<Integer, Object> mapVar; // data map of the variable second dataset, where the key is a year
+    private YearSeries forestSeries; // data series of the first indicator of the analysis, forest area in the original analyses
+    private YearSeries varSeries; // data series of the second indicator, null if the analysis has only one
     private boolean validFlag = false;
+    private boolean requestFailed = false; // whether the data could not be requested from the api
 
     /**
      * Constructor for the analysis class, initializes instance variables, ie the chosen analysis parameters
@@ -37,15 +79,129 @@ public class Analysis {
         this.currentStartYear = currentStartYear;
         this.currentEndYear = currentEndYear;
 
+        IndicatorRegistry.AnalysisType analysisType = getAnalysisType();
         DatabaseAPIHandler apiHandler = new DatabaseAPIHandler(); // initialize a DatabaseApiHandler
-        String responseForest = apiHandler.requestData(currentCountry, 0, currentStartYear, currentEndYear); // request data for the forest area dataset
-        mapForest = apiHandler.formatData(responseForest); // format the api response into a map
-        if (mapVar != null) mapVar.clear(); // clear the variable map if it has been initialized
+        Future<YearSeries> forestRequest = requestSeries(apiHandler, currentCountry, analysisType.getPrimary().getIndex(), currentStartYear, currentEndYear); // request data for the first indicator
+        Future<YearSeries> varRequest = null;
+        if (analysisType.isPair()) { // if the chosen analysis type compares two indicators, then we need to get a second variable dataset
+            varRequest = requestSeries(apiHandler, currentCountry, analysisType.getSecondary().getIndex(), currentStartYear, currentEndYear); // request data for the variable dataset at the same time as the first
+        }
+        varSeries = null; // clear the variable series from any previous analysis
+
+        long deadline = System.currentTimeMillis() + REQUEST_TIMEOUT_MILLIS; // both requests share one deadline
+        try {
+            forestSeries = forestRequest.get(REQUEST_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS); // wait for the forest dataset
+            if (varRequest != null) {
+                varSeries = varRequest.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS); // wait for whatever time is left for the variable dataset
+            }
+            requestFailed = forestSeries == null || (varRequest != null && varSeries == null); // the api could not be accessed and there was no cached data
+        } catch (TimeoutException | ExecutionException e) { // a request took too long or failed, so the analysis has no data
+            cancelRequests(forestRequest, varRequest);
+            forestSeries = null;
+            requestFailed = true;
+        } catch (InterruptedException e) { // the recalculation itself was cancelled
+            cancelRequests(forestRequest, varRequest);
+            forestSeries = null;
+            Thread.currentThread().interrupt(); // preserve the interrupt for the caller
+        }
+    }
+
+    /**
+     * This method requests a dataset, reading it from the offline snapshot if the snapshot has the indicator. Otherwise only the years
+     * not already held in the session's series store are requested from the API on a request thread, and merged into the store.
+     * Several gaps, such as a range widened on both sides, are requested as the one range covering them, since each request gets its
+     * own retry deadline and requesting the gaps one after the other could outlast the deadline of the whole recalculation
+     * @param apiHandler the API handler to request with
+     * @param country index of the country
+     * @param indicator index of the indicator in the registry
+     * @param startYear the start year
+     * @param endYear the end year
+     * @return the pending dataset, which completes with null if the data could not be requested
+     */
+    private static Future<YearSeries> requestSeries(DatabaseAPIHandler apiHandler, int country, int indicator, int startYear, int endYear) {
+        SnapshotStore snapshot = SnapshotStore.getShared();
+        YearSeries series = snapshot == null ? null : snapshot.getSeries(country, indicator, startYear, endYear);
+        if (series != null) {
+            return CompletableFuture.completedFuture(series); // answered from the snapshot without touching the network
+        }
+        SeriesStore store = SeriesStore.getShared();
+        List<int[]> missingRanges = store.getMissingRanges(country, indicator, startYear, endYear);
+        if (missingRanges.isEmpty()) {
+            return CompletableFuture.completedFuture(store.getSeries(country, indicator, startYear, endYear)); // every year is already held
+        }
+        int fromYear = missingRanges.get(0)[0]; // request only the years we do not hold yet, in a single request
+        int toYear = missingRanges.get(missingRanges.size() - 1)[1];
+        return requestExecutor.submit(() -> {
+            YearSeries fetched = apiHandler.requestData(country, indicator, fromYear, toYear);
+            if (fetched == null) return null; // the api could not be accessed
+            store.merge(country, indicator, fromYear, toYear, fetched); // held years between the gaps are replaced with the newer data
+            return store.getSeries(country, indicator, startYear, endYear);
+        });
+    }
 
-        if (currentAnalysis != 0) { // if the chosen analysis type is not the first type, then we need to get a second variable dataset
-            String responseVar = apiHandler.requestData(currentCountry, currentAnalysis, currentStartYear, currentEndYear); // request data for the variable dataset of the chosen analysis type
-            mapVar = apiHandler.formatData(responseVar); // format api response into a map
+    /**
+     * This method gets the series of several indicators for many countries at once. Series are read from the snapshot if it has the
+     * indicator, otherwise from the series store, and the countries the store does not fully hold are requested in groups of countries,
+     * every group of every indicator in flight concurrently up to a bound, and merged into the store
+     * @param countries indexes of the countries
+     * @param indicators indexes of the indicators in the registry
+     * @param startYear the start year
+     * @param endYear the end year
+     * @return the series, where result[i][j] is the series of indicators[i] for countries[j]
+     * @throws IOException if the API could not be accessed
+     * @throws InterruptedException if the request was cancelled
+     */
+    public static YearSeries[][] requestCountries(int[] countries, int[] indicators, int startYear, int endYear) throws IOException, InterruptedException {
+        YearSeries[][] series = new YearSeries[indicators.length][countries.length];
+        SnapshotStore snapshot = SnapshotStore.getShared();
+        SeriesStore store = SeriesStore.getShared();
+        DatabaseAPIHandler apiHandler = new DatabaseAPIHandler();
+        List<Future<?>> batches = new ArrayList<>();
+        for (int i = 0; i < indicators.length; i++) {
+            int indicator = indicators[i];
+            int[] missing = new int[countries.length]; // the countries that have to be requested
+            int missingCount = 0;
+            for (int j = 0; j < countries.length; j++) {
+                series[i][j] = snapshot == null ? null : snapshot.getSeries(countries[j], indicator, startYear, endYear);
+                if (series[i][j] == null && !store.getMissingRanges(countries[j], indicator, startYear, endYear).isEmpty()) {
+                    missing[missingCount++] = countries[j];
+                }
+            }
+            for (int from = 0; from < missingCount; from += COUNTRIES_PER_BATCH) {
+                int[] batch = Arrays.copyOfRange(missing, from, Math.min(missingCount, from + COUNTRIES_PER_BATCH));
+                batches.add(batchExecutor.submit(() -> {
+                    YearSeries[] fetched = apiHandler.requestBatch(batch, new int[]{indicator}, startYear, endYear)[0];
+                    for (int k = 0; k < batch.length; k++) {
+                        store.merge(batch[k], indicator, startYear, endYear, fetched[k]); // later analyses of these countries need no request
+                    }
+                    return null;
+                }));
+            }
+        }
+        try {
+            for (Future<?> batch : batches) batch.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+        } finally {
+            for (Future<?> batch : batches) batch.cancel(true); // stop the rest if one failed or the request was cancelled
+        }
 
+        for (int i = 0; i < indicators.length; i++) {
+            for (int j = 0; j < countries.length; j++) {
+                if (series[i][j] == null) series[i][j] = store.getSeries(countries[j], indicators[i], startYear, endYear);
+            }
+        }
+        return series;
+    }
+
+    /**
+     * This method cancels any dataset requests that have not finished yet
+     * @param requests the requests to cancel, null requests are ignored
+     */
+    @SafeVarargs
+    private static void cancelRequests(Future<YearSeries>... requests) {
+        for (Future<YearSeries> request : requests) {
+            if (request != null) request.cancel(true); // interrupt the request thread if it is still running
         }
     }
 
@@ -60,12 +216,15 @@ public class Analysis {
             validFlag = false;
             return false;
         }
-        for (int i = currentStartYear; i <= currentEndYear; i++) { // loop through the range of years
-            if((mapForest == null || mapForest.get(i) == null || mapForest.get(i).equals("null"))||(currentAnalysis!=0 && (mapVar==null || mapVar.get(i) == null || mapVar.get(i).equals("null")))) {
-                MainUI.displayError("There is missing data for the chosen analysis type and country in the date range"); // display error if any data collected is null
-                validFlag = false;
-                return false;
-            }
+        if (requestFailed) { // check that the data could be requested at all
+            MainUI.displayError("Could not reach the World Bank API, please try again shortly");
+            validFlag = false;
+            return false;
+        }
+        if ((forestSeries == null || !forestSeries.isComplete(currentStartYear, currentEndYear)) || (getAnalysisType().isPair() && (varSeries == null || !varSeries.isComplete(currentStartYear, currentEndYear)))) { // check that every year in the range has data
+            MainUI.displayError("There is missing data for the chosen analysis type and country in the date range"); // display error if any data collected is null
+            validFlag = false;
+            return false;
         }
         validFlag = true;
         return true;
@@ -79,6 +238,14 @@ public class Analysis {
         return currentAnalysis;
     }
 
+    /**
+     * This method gets the current analysis type from the indicator registry
+     * @return the current analysis type
+     */
+    public IndicatorRegistry.AnalysisType getAnalysisType() {
+        return IndicatorRegistry.getShared().getAnalysis(currentAnalysis);
+    }
+
     /**
      * This method gets the current start year
      * @return the current start year
@@ -96,19 +263,44 @@ public class Analysis {
     }
 
     /**
-     * This method gets the current forest area data map
-     * @return the current forest data map
+     * This method gets the current forest area data series
+     * @return the current forest data series
+     */
+    public YearSeries getForestSeries() {
+        return forestSeries;
+    }
+
+    /**
+     * This method gets the current variable area data series
+     * @return the current variable data series
      */
-    public Map<Integer, Object> getMapForest() {
-        return mapForest;
+    public YearSeries getVarSeries() {
+        return varSeries;
     }
 
     /**
-     * This method gets the current variable area data map
-     * @return the current variable data map
+     * This method gets the current data series, one per indicator of the analysis type
+     * @return the first series, followed by the variable series if the analysis compares two indicators
      */
-    public Map<Integer, Object> getMapVar() {
-        return mapVar;
+    public YearSeries[] getSeries() {
+        return getAnalysisType().isPair() ? new YearSeries[]{forestSeries, varSeries} : new YearSeries[]{forestSeries};
+    }
+
+    /**
+     * This method gets the statistics of the current series, computing them on first use. Statistics of an analysis whose
+     * series are complete are cached by country, analysis type and range, since the same data always gives the same statistics
+     * @return the statistics, or null if the series have not been requested
+     */
+    public SeriesStatistics getStatistics() {
+        YearSeries[] series = getSeries();
+        for (YearSeries s : series) {
+            if (s == null) return null;
+        }
+        for (YearSeries s : series) {
+            if (!s.isComplete(currentStartYear, currentEndYear)) return new SeriesStatistics(series, currentStartYear, currentEndYear); // may still fill in, do not cache
+        }
+        String key = currentCountry + "_" + currentAnalysis + "_" + currentStartYear + "_" + currentEndYear;
+        return statisticsCache.computeIfAbsent(key, k -> new SeriesStatistics(series, currentStartYear, currentEndYear));
     }
 
     /**
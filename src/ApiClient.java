@@ -0,0 +1,197 @@
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * This class represents the HTTP layer used to talk to the World Bank API. A single shared client keeps connections alive
+ * and reuses them across requests, responses are requested gzip compressed, and requests can be made conditional on
+ * the validators of a cached response so that unchanged data costs a 304 instead of a full body.
+ * The API location defaults to the World Bank and can be pointed at a local stub server with -Dcsas.api.url
+ * @author Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie
+ */
+public class ApiClient {
+
+    public static final int NOT_MODIFIED = 304; // status of a conditional request whose cached data is still current
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10); // how long to wait for a connection to the api
+
+    private static final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(CONNECT_TIMEOUT)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build(); // shared client, it pools and reuses connections
+
+    private static volatile String baseUrl = System.getProperty("csas.api.url", "https://api.worldbank.org/v2/"); // the url every request path is relative to
+
+    /**
+     * This method gets the url every request path is relative to
+     * @return the base url, ending in a slash
+     */
+    public static String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * This method sets the url every request path is relative to, for example to point the application at a local stub server
+     * @param url the base url, ending in a slash
+     */
+    public static void setBaseUrl(String url) {
+        baseUrl = url;
+    }
+
+    /**
+     * This method sends a GET request, conditional on the validators of a cached response if any are given
+     * @param path the path and query of the request, relative to the base url
+     * @param etag the ETag of the cached response, or null
+     * @param lastModified the Last-Modified date of the cached response, or null
+     * @param timeout how long to wait for the whole response, body included, before the exchange is cancelled
+     * @return the response, which must be closed. Its status is NOT_MODIFIED if the cached response is still current
+     * @throws IOException if the request failed, or a StatusException if the API returned an error status
+     */
+    public static Response get(String path, String etag, String lastModified, Duration timeout) throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Accept", "application/json") // we are receiving JSON
+                .header("Accept-Encoding", "gzip") // ask for a compressed body
+                .header("Accept-Language", "en-US") // in US english
+                .GET();
+        if (etag != null) request.header("If-None-Match", etag); // only send the body if it changed
+        if (lastModified != null) request.header("If-Modified-Since", lastModified);
+        // the request timeout only covers the response headers, so the body is read in full within the same timeout
+        // and the exchange is cancelled if it has not finished, otherwise a stalled body would block the reader forever
+        CompletableFuture<HttpResponse<byte[]>> exchange = httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        HttpResponse<byte[]> response;
+        try {
+            response = exchange.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            exchange.cancel(true);
+            throw new HttpTimeoutException("API did not respond within " + timeout.toMillis() + "ms");
+        } catch (InterruptedException e) { // the request was cancelled
+            exchange.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Request cancelled");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+            throw new IOException(e.getCause());
+        }
+        int status = response.statusCode();
+        if (status == NOT_MODIFIED) {
+            return new Response(status, null, etag, lastModified); // a 304 has no body
+        }
+        if (status < 200 || status >= 300) {
+            throw new StatusException(status);
+        }
+        InputStream body = new ByteArrayInputStream(response.body());
+        if (response.headers().firstValue("Content-Encoding").orElse("").equalsIgnoreCase("gzip")) {
+            body = new GZIPInputStream(body, 8192); // decompress as the body is read
+        }
+        return new Response(status, body,
+                response.headers().firstValue("ETag").orElse(null),
+                response.headers().firstValue("Last-Modified").orElse(null));
+    }
+
+    /**
+     * This class represents an error status returned by the API
+     */
+    public static class StatusException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int status; // the HTTP status
+
+        /**
+         * Constructor for the exception
+         * @param status the HTTP status
+         */
+        StatusException(int status) {
+            super("API returned HTTP " + status);
+            this.status = status;
+        }
+
+        /**
+         * This method gets the HTTP status the API returned
+         * @return the status
+         */
+        public int getStatus() {
+            return status;
+        }
+    }
+
+    /**
+     * This class represents a response from the API
+     */
+    public static class Response implements Closeable {
+
+        private final int status; // the HTTP status
+        private final InputStream body; // the decompressed body, null for a 304
+        private final String etag; // validators of the response, null if the API did not send them
+        private final String lastModified;
+
+        /**
+         * Constructor for a response
+         * @param status the HTTP status
+         * @param body the decompressed body, or null
+         * @param etag the ETag of the response, or null
+         * @param lastModified the Last-Modified date of the response, or null
+         */
+        Response(int status, InputStream body, String etag, String lastModified) {
+            this.status = status;
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * This method gets the HTTP status of the response
+         * @return the status
+         */
+        public int getStatus() {
+            return status;
+        }
+
+        /**
+         * This method gets the body of the response, already decompressed
+         * @return the body, or null if the status is NOT_MODIFIED
+         */
+        public InputStream getBody() {
+            return body;
+        }
+
+        /**
+         * This method gets the ETag of the response
+         * @return the ETag, or null if the API did not send one
+         */
+        public String getETag() {
+            return etag;
+        }
+
+        /**
+         * This method gets the Last-Modified date of the response
+         * @return the date, or null if the API did not send one
+         */
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * This method closes the body
+         * @throws IOException if the body could not be closed
+         */
+        @Override
+        public void close() throws IOException {
+            if (body != null) body.close();
+        }
+    }
+}
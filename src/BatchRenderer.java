@@ -0,0 +1,262 @@
+import org.jfree.chart.ChartUtilities;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class represents the headless batch mode of the application, which renders the views of many analyses to files without a login or window.
+ * Usage: java BatchRenderer jobs.txt [-out directory] [-width pixels] [-height pixels] [-threads count]
+ * Each line of the job file is country,analysis,startYear,endYear,views where country is an ISO3 code or a name without commas, analysis is the index of the
+ * analysis type, and views is a semicolon separated list of report, bar, line and scatter. Blank lines and lines starting with # are ignored.
+ * Data for the jobs is fetched on a separate pool so waiting on the API never holds up rendering, and the charts are rendered on one thread per core
+ * @author Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie
+ */
+public class BatchRenderer {
+
+    private static final String[] VIEW_NAMES = {"report", "bar", "line", "scatter"}; // the job file name of each view type, by index
+    private static final int FETCH_THREADS = 8; // analyses fetched at once, bounded so the API is not flooded
+
+    private final File outputDirectory; // where the rendered files are written
+    private final int width; // size of the rendered charts
+    private final int height;
+    private final AtomicInteger rendered = new AtomicInteger(); // number of files written
+    private final AtomicInteger failed = new AtomicInteger(); // number of jobs or views that could not be rendered
+
+    /**
+     * Constructor for the batch renderer
+     * @param outputDirectory where the rendered files are written
+     * @param width the width of the rendered charts
+     * @param height the height of the rendered charts
+     */
+    public BatchRenderer(File outputDirectory, int width, int height) {
+        this.outputDirectory = outputDirectory;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * The main method of the batch renderer
+     * @param args command line args
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true"); // render without a display, before any AWT class is loaded
+        File jobFile = null;
+        File outputDirectory = new File(".");
+        int width = 560; // the size of the charts in the GraphViewer by default
+        int height = 367;
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 0; i < args.length; i++) { // parse the command line args
+            if (args[i].equals("-out") && i + 1 < args.length) {
+                outputDirectory = new File(args[++i]);
+            } else if (args[i].equals("-width") && i + 1 < args.length) {
+                width = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("-height") && i + 1 < args.length) {
+                height = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("-threads") && i + 1 < args.length) {
+                threads = Integer.parseInt(args[++i]);
+            } else {
+                jobFile = new File(args[i]);
+            }
+        }
+        if (jobFile == null) {
+            System.err.println("Usage: java BatchRenderer jobs.txt [-out directory] [-width pixels] [-height pixels] [-threads count]");
+            System.exit(2);
+        }
+        try {
+            List<Job> jobs = readJobs(jobFile);
+            outputDirectory.mkdirs();
+            BatchRenderer renderer = new BatchRenderer(outputDirectory, width, height);
+            renderer.run(jobs, threads);
+            System.out.println("Rendered " + renderer.rendered.get() + " files, " + renderer.failed.get() + " failed");
+            System.exit(renderer.failed.get() == 0 ? 0 : 1);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Batch rendering failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * This method runs every job, fetching their data on a bounded pool and rendering their views on a pool of the given size
+     * @param jobs the jobs to run
+     * @param threads the number of rendering threads
+     */
+    public void run(List<Job> jobs, int threads) {
+        ExecutorService fetchPool = Executors.newFixedThreadPool(FETCH_THREADS);
+        ExecutorService renderPool = Executors.newFixedThreadPool(threads);
+        try {
+            List<CompletableFuture<Void>> pending = new ArrayList<>();
+            for (Job job : jobs) {
+                CompletableFuture<Analysis> fetched = CompletableFuture.supplyAsync(() -> fetch(job), fetchPool);
+                for (int viewType : job.viewTypes) { // each view of a job renders on its own once the data is there
+                    pending.add(fetched.thenAcceptAsync(analysis -> {
+                        if (analysis != null) render(job, analysis, viewType);
+                    }, renderPool));
+                }
+            }
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).join(); // wait for every view
+        } finally {
+            fetchPool.shutdown();
+            renderPool.shutdown();
+        }
+    }
+
+    /**
+     * This method fetches the data of a job into an analysis
+     * @param job the job
+     * @return the analysis, or null if its data is invalid or could not be fetched
+     */
+    private Analysis fetch(Job job) {
+        Analysis analysis = new Analysis();
+        analysis.recalculate(job.country, job.analysisType, job.startYear, job.endYear);
+        if (!analysis.validateAnalysis()) { // the reason has been reported by the analysis
+            System.err.println("Skipping " + job);
+            failed.addAndGet(job.viewTypes.length);
+            return null;
+        }
+        return analysis;
+    }
+
+    /**
+     * This method renders one view of a job to a file, a PNG for charts and a text file for the report
+     * @param job the job
+     * @param analysis the analysis of the job
+     * @param viewType the view type to render, as an index
+     */
+    private void render(Job job, Analysis analysis, int viewType) {
+        String name = Util.COUNTRY_CODES[job.country] + "_" + job.analysisType + "_" + job.startYear + "-" + job.endYear + "_" + VIEW_NAMES[viewType];
+        try {
+            if (viewType == 0) { // the report has no chart
+                File file = new File(outputDirectory, name + "." + ReportWriter.StandardFormat.TEXT.getExtension());
+                try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+                    new ReportWriter(ReportWriter.StandardFormat.TEXT, out).write(analysis);
+                }
+            } else {
+                ChartBuilder builder = new ChartBuilder(viewType, analysis.getAnalysisType().getName(), analysis);
+                ChartUtilities.saveChartAsPNG(new File(outputDirectory, name + ".png"), builder.getChart(), width, height);
+            }
+            rendered.incrementAndGet();
+        } catch (IOException | RuntimeException e) { // one broken view should not stop the batch
+            System.err.println("Could not render " + name + ": " + e.getMessage());
+            failed.incrementAndGet();
+        }
+    }
+
+    /**
+     * This method reads the jobs of a job file
+     * @param file the job file
+     * @return the jobs, in file order
+     * @throws IOException if the file could not be read
+     * @throws IllegalArgumentException if a line is not a valid job
+     */
+    private static List<Job> readJobs(File file) throws IOException {
+        List<Job> jobs = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                jobs.add(Job.parse(line, lineNumber));
+            }
+        }
+        return jobs;
+    }
+
+    /**
+     * This class represents one line of the job file
+     */
+    public static class Job {
+
+        private final int country; // index of the country in Util
+        private final int analysisType; // index of the analysis type in Util
+        private final int startYear; // the range of years
+        private final int endYear;
+        private final int[] viewTypes; // the view types to render, as indexes
+
+        /**
+         * Constructor for a job
+         * @param country index of the country in Util
+         * @param analysisType index of the analysis type in Util
+         * @param startYear the start year
+         * @param endYear the end year
+         * @param viewTypes the view types to render, as indexes
+         */
+        public Job(int country, int analysisType, int startYear, int endYear, int[] viewTypes) {
+            this.country = country;
+            this.analysisType = analysisType;
+            this.startYear = startYear;
+            this.endYear = endYear;
+            this.viewTypes = viewTypes;
+        }
+
+        /**
+         * This method parses a line of the job file
+         * @param line the line, country,analysis,startYear,endYear,views
+         * @param lineNumber the number of the line, for error messages
+         * @return the job
+         * @throws IllegalArgumentException if the line is not a valid job
+         */
+        static Job parse(String line, int lineNumber) {
+            String[] fields = line.split(",");
+            if (fields.length != 5) throw new IllegalArgumentException("Line " + lineNumber + ": expected country,analysis,startYear,endYear,views");
+            try {
+                int country = CountryCatalog.getShared().find(fields[0].trim()); // an ISO3 code, or a name or alias
+                int analysisType = Integer.parseInt(fields[1].trim());
+                if (country < 0 || analysisType < 0 || analysisType >= IndicatorRegistry.getShared().getAnalysisCount()) {
+                    throw new IllegalArgumentException("Line " + lineNumber + ": unknown country or analysis type");
+                }
+                int startYear = Integer.parseInt(fields[2].trim());
+                int endYear = Integer.parseInt(fields[3].trim());
+                if (startYear < Util.MIN_YEAR || endYear > Util.MAX_YEAR || endYear < startYear) {
+                    throw new IllegalArgumentException("Line " + lineNumber + ": years must be within " + Util.MIN_YEAR + "-" + Util.MAX_YEAR + " and the end year no earlier than the start year");
+                }
+                String[] views = fields[4].split(";");
+                int[] viewTypes = new int[views.length];
+                for (int i = 0; i < views.length; i++) {
+                    viewTypes[i] = indexOf(VIEW_NAMES, views[i].trim().toLowerCase());
+                    if (viewTypes[i] < 0) throw new IllegalArgumentException("Line " + lineNumber + ": unknown view " + views[i].trim());
+                }
+                return new Job(country, analysisType, startYear, endYear, viewTypes);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage());
+            }
+        }
+
+        /**
+         * This method describes the job for messages
+         * @return the country, analysis type and years of the job
+         */
+        @Override
+        public String toString() {
+            return Util.COUNTRY_CODES[country] + " " + IndicatorRegistry.getShared().getAnalysis(analysisType).getName() + " " + startYear + "-" + endYear;
+        }
+
+        /**
+         * This method finds a string in an array
+         * @param values the array
+         * @param value the string to find
+         * @return the index of the string, or -1 if it is not in the array
+         */
+        private static int indexOf(String[] values, String value) {
+            for (int i = 0; i < values.length; i++) {
+                if (values[i].equals(value)) return i;
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,388 @@
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.data.category.DefaultCategoryDataset;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+
+import java.awt.BasicStroke;
+import java.awt.Paint;
+import java.util.Arrays;
+
+/**
+ * This class represents the construction of the chart of one view type from an analysis. It does not use any Swing components,
+ * so the same charts are shown by the GraphViewer and rendered by the headless BatchRenderer.
+ * The builder keeps the dataset of its chart so the chart can be updated in place when the analysis changes
+ * @author Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie
+ */
+public class ChartBuilder {
+
+    private final int viewType; // the view type of the chart, as an index
+    private final JFreeChart chart; // the chart
+    private XYSeriesCollection xyDataset; // the dataset of the line chart or scatter plot, if the chart is one
+    private BatchedCategoryDataset categoryDataset; // the dataset of the bar chart, if the chart is one
+    private XYSeriesCollection trendDataset; // the trend lines of the scatter plot, if the chart is one
+    private CountryOverlayDataset overlayDataset; // other countries overlaid on the line chart or scatter plot, if the chart is one
+    private XYLineAndShapeRenderer overlayRenderer; // draws the overlaid countries, and hides the ones toggled off
+
+    private static final int OVERLAY_DATASET_INDEX = 2; // plot index of the overlay, after the analysis and the trend lines
+
+    /**
+     * Constructor for the chart builder, creates the chart of an analysis
+     * @param viewType the view type of the chart, as an index. The report view type has no chart
+     * @param title the title of the chart
+     * @param analysis the analysis to chart
+     * @throws IllegalArgumentException if the view type is not a chart
+     */
+    public ChartBuilder(int viewType, String title, Analysis analysis) {
+        this.viewType = viewType;
+        switch (viewType) { // switch for the different view types
+            case 1: // BAR CHART
+                chart = createBarChart(title, analysis);
+                break;
+            case 2: // LINE CHART
+                chart = createLineChart(title, analysis);
+                addOverlay(true, false); // overlaid countries are lines too
+                break;
+            case 3: // SCATTER PLOT
+                chart = createScatterPlot(title, analysis);
+                addOverlay(false, true); // overlaid countries are points too
+                break;
+            default:
+                throw new IllegalArgumentException("GRAPH TYPE ERROR"); // the view type does not have a chart
+        }
+    }
+
+    /**
+     * This method gets the chart
+     * @return the chart
+     */
+    public JFreeChart getChart() {
+        return chart;
+    }
+
+    /**
+     * This method updates the chart to an analysis. Only the changed points are updated, with chart notifications held back
+     * so a single change event follows
+     * @param analysis the analysis to chart
+     */
+    public void update(Analysis analysis) {
+        chart.setNotify(false); // batch every change into one chart change event
+        if (viewType == 1) { // if the view type requires a categorical dataset
+            updateCategoricalDataset(analysis);
+        } else { // otherwise it requires an XY dataset
+            updateXYDataset(analysis);
+        }
+        if (trendDataset != null) updateTrendDataset(analysis); // the scatter plot also shows the trends
+        chart.setNotify(true); // redraw the chart once
+    }
+
+    /**
+     * This method adds the empty overlay dataset to the XY plot of the chart
+     * @param lines whether the overlaid countries are drawn as lines
+     * @param shapes whether the overlaid countries are drawn as points
+     */
+    private void addOverlay(boolean lines, boolean shapes) {
+        overlayDataset = new CountryOverlayDataset();
+        overlayRenderer = new XYLineAndShapeRenderer(lines, shapes);
+        overlayRenderer.setBaseSeriesVisibleInLegend(false); // dozens of countries would crowd out the chart, the viewer lists them instead
+        XYPlot plot = chart.getXYPlot();
+        plot.setDataset(OVERLAY_DATASET_INDEX, overlayDataset);
+        plot.setRenderer(OVERLAY_DATASET_INDEX, overlayRenderer);
+    }
+
+    /**
+     * This method checks whether the chart can overlay other countries
+     * @return true for the line chart and scatter plot
+     */
+    public boolean hasOverlay() {
+        return overlayDataset != null;
+    }
+
+    /**
+     * This method replaces the countries overlaid on the chart, every series is visible afterwards
+     * @param keys the name of each series
+     * @param series the data of each series, in the same order
+     * @param startYear the first year of the range
+     * @param endYear the last year of the range
+     */
+    public void setOverlay(String[] keys, YearSeries[] series, int startYear, int endYear) {
+        chart.setNotify(false); // one redraw for the new series and their visibility
+        for (int i = 0; i < Math.max(keys.length, overlayDataset.getSeriesCount()); i++) {
+            overlayRenderer.setSeriesVisible(i, null, false); // forget the toggles of the previous series
+        }
+        overlayDataset.setSeries(keys, series, startYear, endYear);
+        chart.setNotify(true);
+    }
+
+    /**
+     * This method shows or hides one overlaid series, the dataset is left as it is
+     * @param series index of the series
+     * @param visible whether the series is drawn
+     */
+    public void setOverlaySeriesVisible(int series, boolean visible) {
+        overlayRenderer.setSeriesVisible(series, Boolean.valueOf(visible)); // only the renderer changes, so the plot just redraws
+    }
+
+    /**
+     * This method gets the colour an overlaid series is drawn in, so the viewer can label it
+     * @param series index of the series
+     * @return the paint of the series
+     */
+    public Paint getOverlaySeriesPaint(int series) {
+        return overlayRenderer.getSeriesPaint(series);
+    }
+
+    /**
+     * This method creates a horizontal bar chart of the top of a ranking screen
+     * @param title the title of the chart
+     * @param screen the ranking screen
+     * @param top the number of countries to show
+     * @return the chart
+     */
+    public static JFreeChart createRankingChart(String title, RankingScreen screen, int top) {
+        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+        for (int rank = 0; rank < Math.min(top, screen.size()); rank++) {
+            dataset.addValue(screen.getValue(rank), screen.getValueLabel(), Util.COUNTRIES[screen.getCountry(rank)]); // one bar per country, highest first
+        }
+        return ChartFactory.createBarChart(
+                title,
+                "Country",
+                screen.getValueLabel(),
+                dataset,
+                PlotOrientation.HORIZONTAL, // leaves room for the country names
+                false, true, false);
+    }
+
+    /**
+     * This method creates a JFreeChart bar chart
+     * @param title the title of the chart
+     * @param analysis the analysis to chart
+     * @return the chart
+     */
+    private JFreeChart createBarChart(String title, Analysis analysis) {
+        categoryDataset = new BatchedCategoryDataset();
+        updateCategoricalDataset(analysis); // fill the empty dataset
+        JFreeChart barChart = ChartFactory.createBarChart(
+                title,
+                "Year",
+                valueAxisLabel(analysis), // get the chart label based on analysis type
+                categoryDataset,
+                PlotOrientation.VERTICAL,
+                true, true, false);
+
+        if (analysis.getAnalysisType().isPair()) {
+            barChart.getCategoryPlot().getRenderer().setSeriesVisibleInLegend(true); // add legend if more than one dataset displayed
+        }
+        return barChart;
+    }
+
+    /**
+     * This method creates a JFreeChart line chart
+     * @param title the title of the chart
+     * @param analysis the analysis to chart
+     * @return the chart
+     */
+    private JFreeChart createLineChart(String title, Analysis analysis) {
+        xyDataset = new XYSeriesCollection();
+        updateXYDataset(analysis); // fill the empty dataset
+        return ChartFactory.createXYLineChart(
+                title,
+                "Year", valueAxisLabel(analysis),
+                xyDataset,
+                PlotOrientation.VERTICAL,
+                true, true, false);
+    }
+
+    /**
+     * This method creates a JFreeChart scatter plot
+     * @param title the title of the chart
+     * @param analysis the analysis to chart
+     * @return the chart
+     */
+    private JFreeChart createScatterPlot(String title, Analysis analysis) {
+        xyDataset = new XYSeriesCollection();
+        updateXYDataset(analysis); // fill the empty dataset
+        JFreeChart scatterPlot = ChartFactory.createScatterPlot(title, "Year", valueAxisLabel(analysis),
+                xyDataset, PlotOrientation.VERTICAL, true, true, false);
+        XYLineAndShapeRenderer renderer = (XYLineAndShapeRenderer) scatterPlot.getXYPlot().getRenderer(); // render XY Line and shape
+        renderer.setSeriesLinesVisible(0, false);
+        renderer.setSeriesShapesVisible(0, true);
+        renderer.setSeriesLinesVisible(1, false);
+        renderer.setSeriesShapesVisible(1, true);
+
+        trendDataset = new XYSeriesCollection();
+        updateTrendDataset(analysis);
+        XYPlot plot = scatterPlot.getXYPlot();
+        plot.setDataset(1, trendDataset); // draw the trend lines over the points
+        XYLineAndShapeRenderer trendRenderer = new XYLineAndShapeRenderer(true, false); // lines without shapes
+        trendRenderer.setStroke(new BasicStroke(1.5f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10f, new float[]{6f, 4f}, 0f)); // dashed, to tell them from data
+        plot.setRenderer(1, trendRenderer);
+        return scatterPlot;
+    }
+
+    /**
+     * This method gets the value axis label of an analysis, the label of its last indicator
+     * @param analysis the analysis to chart
+     * @return the label
+     */
+    private static String valueAxisLabel(Analysis analysis) {
+        IndicatorRegistry.AnalysisType analysisType = analysis.getAnalysisType();
+        return (analysisType.isPair() ? analysisType.getSecondary() : analysisType.getPrimary()).getLabel();
+    }
+
+    /**
+     * This method updates the trend lines of the scatter plot to the ordinary least squares trend of each series of an analysis
+     * @param analysis the analysis to chart
+     */
+    private void updateTrendDataset(Analysis analysis) {
+        SeriesStatistics statistics = analysis.getStatistics();
+        int seriesCount = statistics == null ? 0 : statistics.getSeriesCount();
+        int startYear = analysis.getCurrentStartYear();
+        int endYear = analysis.getCurrentEndYear();
+        while (trendDataset.getSeriesCount() > seriesCount) {
+            trendDataset.removeSeries(trendDataset.getSeriesCount() - 1);
+        }
+        for (int i = 0; i < seriesCount; i++) {
+            String key = xyDataset.getSeriesKey(i) + " trend";
+            if (i == trendDataset.getSeriesCount()) trendDataset.addSeries(new XYSeries(key));
+            XYSeries series = trendDataset.getSeries(i);
+            if (!series.getKey().equals(key)) series.setKey(key);
+            series.setNotify(false); // a trend line is two points, replace them with a single change event
+            series.clear();
+            if (!Double.isNaN(statistics.getTrendSlope(i))) {
+                series.add(startYear, statistics.getTrendValue(i, startYear), false);
+                series.add(endYear, statistics.getTrendValue(i, endYear), false);
+            }
+            series.setNotify(true);
+        }
+    }
+
+    /**
+     * This method updates the XY dataset to an analysis, only touching the points that changed
+     * @param analysis the analysis to chart
+     */
+    private void updateXYDataset(Analysis analysis) {
+        IndicatorRegistry.AnalysisType analysisType = analysis.getAnalysisType();
+        int seriesCount = analysisType.isPair() ? 2 : 1; // an analysis of one indicator only has one dataset
+        while (xyDataset.getSeriesCount() > seriesCount) {
+            xyDataset.removeSeries(xyDataset.getSeriesCount() - 1); // remove the second series if the analysis type no longer has one
+        }
+        updateXYSeries(0, analysisType.getPrimary().getLabel(), analysis.getForestSeries(), analysis);
+        if (seriesCount == 2) {
+            updateXYSeries(1, analysisType.getSecondary().getLabel(), analysis.getVarSeries(), analysis); // second series
+        }
+    }
+
+    /**
+     * This method updates one series of the XY dataset, creating it if needed. Change events are held back until
+     * every point has been updated so the plot only recalculates once
+     * @param index the index of the series in the dataset
+     * @param key the name of the series
+     * @param data the data of the series
+     * @param analysis the analysis to chart
+     */
+    private void updateXYSeries(int index, String key, YearSeries data, Analysis analysis) {
+        if (index == xyDataset.getSeriesCount()) {
+            xyDataset.addSeries(new XYSeries(key));
+        }
+        XYSeries series = xyDataset.getSeries(index);
+        if (!series.getKey().equals(key)) series.setKey(key);
+        series.setNotify(false); // batch the changes to this series
+        int startYear = analysis.getCurrentStartYear();
+        int endYear = analysis.getCurrentEndYear();
+        while (series.getItemCount() > 0 && series.getX(0).intValue() < startYear) {
+            series.remove(0); // drop years before the range
+        }
+        while (series.getItemCount() > 0 && series.getX(series.getItemCount() - 1).intValue() > endYear) {
+            series.remove(series.getItemCount() - 1); // drop years after the range
+        }
+        for (int year = startYear; year <= endYear; year++) { // the remaining items are consecutive years, so the item of a year is at year - startYear once earlier years are added
+            int item = year - startYear;
+            double value = data.get(year);
+            if (item < series.getItemCount() && series.getX(item).intValue() == year) {
+                if (Double.compare(series.getY(item).doubleValue(), value) != 0) {
+                    series.updateByIndex(item, Double.valueOf(value)); // only update points whose value changed
+                }
+            } else {
+                series.add(year, value, false); // a year new to the range, the series keeps itself sorted
+            }
+        }
+        series.setNotify(true); // send a single change event for the whole series
+    }
+
+    /**
+     * This method updates the categorical dataset to an analysis, only touching the values that changed
+     * @param analysis the analysis to chart
+     */
+    private void updateCategoricalDataset(Analysis analysis) {
+        IndicatorRegistry.AnalysisType analysisType = analysis.getAnalysisType();
+        String[] rowKeys = analysisType.isPair()
+                ? new String[]{analysisType.getPrimary().getLabel(), analysisType.getSecondary().getLabel()} // one row per indicator
+                : new String[]{Util.COUNTRIES[analysis.getCurrentCountry()]}; // otherwise one row named after the country
+        YearSeries[] rows = analysis.getSeries();
+        int startYear = analysis.getCurrentStartYear();
+        int endYear = analysis.getCurrentEndYear();
+
+        categoryDataset.beginBatch(); // hold back change events until every value is updated
+        for (int i = categoryDataset.getRowCount() - 1; i >= 0; i--) {
+            if (!Arrays.asList(rowKeys).contains(categoryDataset.getRowKey(i))) categoryDataset.removeRow(i); // remove rows of a previous analysis type or country
+        }
+        if (categoryDataset.getColumnCount() > 0 && Integer.parseInt(categoryDataset.getColumnKey(0).toString()) > startYear) {
+            categoryDataset.clear(); // new columns are added at the end, so a range that starts earlier has to be rebuilt to keep the years in order
+        }
+        for (int i = categoryDataset.getColumnCount() - 1; i >= 0; i--) {
+            int year = Integer.parseInt(categoryDataset.getColumnKey(i).toString());
+            if (year < startYear || year > endYear) categoryDataset.removeColumn(i); // remove years outside the range
+        }
+        for (int row = 0; row < rowKeys.length; row++) {
+            for (int year = startYear; year <= endYear; year++) {
+                String column = Integer.toString(year);
+                double value = rows[row].get(year);
+                int rowIndex = categoryDataset.getRowIndex(rowKeys[row]);
+                int columnIndex = categoryDataset.getColumnIndex(column);
+                Number current = rowIndex < 0 || columnIndex < 0
+                        ? null : categoryDataset.getValue(rowIndex, columnIndex); // null if the row has no value for the year yet
+                if (current == null || Double.compare(current.doubleValue(), value) != 0) {
+                    categoryDataset.setValue(value, rowKeys[row], column); // only set values that changed
+                }
+            }
+        }
+        categoryDataset.endBatch(); // send a single change event for the whole dataset
+    }
+
+    /**
+     * This class represents a category dataset that can hold back its change events while a batch of values is updated
+     */
+    private static class BatchedCategoryDataset extends DefaultCategoryDataset {
+
+        private static final long serialVersionUID = 1L;
+
+        private boolean batching; // whether change events are being held back
+
+        /**
+         * This method starts holding back change events
+         */
+        void beginBatch() {
+            batching = true;
+        }
+
+        /**
+         * This method stops holding back change events and sends a single event for the batch
+         */
+        void endBatch() {
+            batching = false;
+            fireDatasetChanged();
+        }
+
+        /**
+         * This method sends a change event unless a batch is in progress
+         */
+        @Override
+        protected void fireDatasetChanged() {
+            if (!batching) super.fireDatasetChanged();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * This class represents a circuit breaker guarding calls to the API. After a number of consecutive failures the breaker opens
+ * and calls are refused straight away, so a dead network does not cost a full timeout per request. Once the open period has
+ * passed a single trial call is let through, and the breaker closes again if it succeeds
+ * @author Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie
+ */
+public class CircuitBreaker {
+
+    private final int failureThreshold; // consecutive failures that open the breaker
+    private final long openMillis; // how long the breaker stays open before a trial call
+    private int failures; // current number of consecutive failures
+    private long openedAt = -1; // when the breaker opened, -1 while closed
+    private boolean trialInProgress; // whether the single trial call of a half open breaker is running
+
+    /**
+     * Constructor for the circuit breaker
+     * @param failureThreshold consecutive failures that open the breaker
+     * @param openMillis how long the breaker stays open before a trial call is allowed
+     */
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * This method checks whether a call may be made, every call that is allowed must be followed by recordSuccess or recordFailure
+     * @return true if the breaker is closed, or it is half open and this is the trial call
+     */
+    public synchronized boolean allowRequest() {
+        if (openedAt < 0) return true; // closed
+        if (trialInProgress || System.currentTimeMillis() - openedAt < openMillis) return false; // open
+        trialInProgress = true; // half open, let one call through
+        return true;
+    }
+
+    /**
+     * This method records a successful call, closing the breaker
+     */
+    public synchronized void recordSuccess() {
+        failures = 0;
+        openedAt = -1;
+        trialInProgress = false;
+    }
+
+    /**
+     * This method records a failed call, opening the breaker if there have been too many in a row
+     */
+    public synchronized void recordFailure() {
+        failures++;
+        if (trialInProgress || failures >= failureThreshold) {
+            openedAt = System.currentTimeMillis(); // open, or re-open after a failed trial
+        }
+        trialInProgress = false;
+    }
+
+    /**
+     * This method records a call that ended without an outcome, for example because it was cancelled,
+     * so that a half open breaker can let another trial call through
+     */
+    public synchronized void recordAbandoned() {
+        trialInProgress = false;
+    }
+
+    /**
+     * This method checks whether the breaker is refusing calls
+     * @return true if the breaker is open or half open
+     */
+    public synchronized boolean isOpen() {
+        return openedAt >= 0;
+    }
+}
@@ -0,0 +1,300 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * This class represents the countries of Util indexed for lookup: a hash map by ISO3 code, a hash map by name and alias, and a
+ * prefix trie over every word of every name, alias and code for type-ahead search. Searching costs the length of the query plus
+ * the number of matches, however many countries, regions and aggregates the catalog holds.
+ * Countries keep their index in Util. Aliases are read from ALIAS_FILE in the working directory if there is one, otherwise the
+ * copy on the classpath, unless overridden with -Dcsas.countries
+ * @author Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie
+ */
+public class CountryCatalog {
+
+    public static final String ALIAS_FILE = "countries.cfg"; // alias file name, in the working directory or on the classpath
+
+    private static CountryCatalog sharedCatalog; // the catalog used by the application, built on first use
+
+    private final String[] names; // the name of each country, by index in Util
+    private final String[] codes; // the ISO3 code of each country, by index in Util
+    private final Map<String, Integer> countriesByCode = new HashMap<>(); // every country, by ISO3 code
+    private final Map<String, Integer> countriesByName = new HashMap<>(); // every country, by normalized name and alias
+    private final List<List<String>> searchNames = new ArrayList<>(); // the normalized name and aliases of each country, by index
+    private final TrieNode root = new TrieNode(); // prefix trie over the words of every name, alias and code
+
+    /**
+     * This class represents a node of the prefix trie, holding every country with a word starting with the prefix leading to it
+     */
+    private static class TrieNode {
+
+        private final Map<Character, TrieNode> children = new HashMap<>(); // the next character of each longer prefix
+        private int[] countries = new int[4]; // the countries with a word starting with this prefix, in ascending order
+        private int countryCount = 0;
+
+        /**
+         * This method adds a country to the node, countries are added in ascending order so a repeat is always the last one
+         * @param country index of the country
+         */
+        private void add(int country) {
+            if (countryCount > 0 && countries[countryCount - 1] == country) return; // another word of the same country
+            if (countryCount == countries.length) countries = Arrays.copyOf(countries, countryCount * 2);
+            countries[countryCount++] = country;
+        }
+    }
+
+    /**
+     * Constructor for a catalog, indexes every country and alias
+     * @param names the name of each country
+     * @param codes the ISO3 code of each country, in the same order
+     * @param aliases the alternative names of each country, by ISO3 code
+     */
+    CountryCatalog(String[] names, String[] codes, Map<String, List<String>> aliases) {
+        this.names = names;
+        this.codes = codes;
+        for (int country = 0; country < names.length; country++) { // ascending order keeps every trie node sorted
+            countriesByCode.put(codes[country], country);
+            List<String> searchable = new ArrayList<>();
+            searchable.add(normalize(names[country]));
+            for (String alias : aliases.getOrDefault(codes[country], new ArrayList<>())) searchable.add(normalize(alias));
+            searchNames.add(searchable);
+            for (String name : searchable) {
+                countriesByName.putIfAbsent(name, country);
+                for (String word : words(name)) addWord(word, country);
+            }
+            addWord(codes[country].toLowerCase(Locale.ROOT), country);
+        }
+    }
+
+    /**
+     * This method gets the catalog used by the application, building it on first use
+     * @return the catalog
+     * @throws UncheckedIOException if the alias file could not be read or is invalid
+     */
+    public static synchronized CountryCatalog getShared() {
+        if (sharedCatalog == null) {
+            try {
+                sharedCatalog = new CountryCatalog(Util.COUNTRIES, Util.COUNTRY_CODES, loadAliases());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not load the country aliases", e);
+            }
+        }
+        return sharedCatalog;
+    }
+
+    /**
+     * This method loads the aliases from -Dcsas.countries, ALIAS_FILE in the working directory, or the classpath, in that order.
+     * Blank lines and lines starting with # are ignored, the rest are alias|code|name
+     * @return the aliases of each country, by ISO3 code, empty if there is no alias file
+     * @throws IOException if the alias file could not be read or is invalid
+     */
+    private static Map<String, List<String>> loadAliases() throws IOException {
+        Map<String, List<String>> aliases = new HashMap<>();
+        File file = new File(System.getProperty("csas.countries", ALIAS_FILE));
+        InputStream in = file.isFile() ? new FileInputStream(file) : CountryCatalog.class.getResourceAsStream("/" + ALIAS_FILE);
+        if (in == null) return aliases; // aliases are optional
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                String[] fields = line.split("\\|");
+                if (fields.length != 3 || !fields[0].equals("alias")) throw new IOException("Line " + lineNumber + ": expected alias|code|name");
+                aliases.computeIfAbsent(fields[1].trim(), code -> new ArrayList<>()).add(fields[2].trim());
+            }
+        }
+        return aliases;
+    }
+
+    /**
+     * This method adds every prefix of a word to the trie
+     * @param word the word
+     * @param country index of the country the word belongs to
+     */
+    private void addWord(String word, int country) {
+        TrieNode node = root;
+        for (int i = 0; i < word.length(); i++) {
+            node = node.children.computeIfAbsent(word.charAt(i), c -> new TrieNode());
+            node.add(country);
+        }
+    }
+
+    /**
+     * This method normalizes a name for matching, removing accents and case so "cote" matches "Côte d'Ivoire"
+     * @param name the name
+     * @return the normalized name
+     */
+    private static String normalize(String name) {
+        return Normalizer.normalize(name, Normalizer.Form.NFD).replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT).trim();
+    }
+
+    /**
+     * This method splits a normalized name into words
+     * @param name the normalized name
+     * @return the words, without empty ones
+     */
+    private static List<String> words(String name) {
+        List<String> words = new ArrayList<>();
+        for (String word : name.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) words.add(word);
+        }
+        return words;
+    }
+
+    /**
+     * This method gets the number of countries
+     * @return the number of countries
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * This method gets the name of a country
+     * @param country index of the country in Util
+     * @return the name
+     */
+    public String getName(int country) {
+        return names[country];
+    }
+
+    /**
+     * This method gets the ISO3 code of a country
+     * @param country index of the country in Util
+     * @return the code
+     */
+    public String getCode(int country) {
+        return codes[country];
+    }
+
+    /**
+     * This method looks up a country by ISO3 code
+     * @param code the code, in any case
+     * @return index of the country in Util, or -1 if there is no country with the code
+     */
+    public int indexOf(String code) {
+        Integer country = countriesByCode.get(code.trim().toUpperCase(Locale.ROOT));
+        return country == null ? -1 : country;
+    }
+
+    /**
+     * This method looks up a country by ISO3 code, name or alias
+     * @param text the code, name or alias, in any case and with or without accents
+     * @return index of the country in Util, or -1 if nothing matches exactly
+     */
+    public int find(String text) {
+        int country = indexOf(text);
+        if (country >= 0) return country;
+        Integer named = countriesByName.get(normalize(text));
+        return named == null ? -1 : named;
+    }
+
+    /**
+     * This method searches the countries for type-ahead. Every word of the query has to be the start of a word of the country's name,
+     * one of its aliases or its code, so "uni sta" finds United States. Exact matches come first, then names starting with the query,
+     * then the rest, each in Util order. If no word prefix matches, countries whose name or alias contains the query are returned
+     * @param query the text typed so far
+     * @return the matching countries, as indexes in Util, or every country if the query is empty
+     */
+    public int[] search(String query) {
+        String normalized = normalize(query);
+        List<String> queryWords = words(normalized);
+        if (queryWords.isEmpty()) {
+            int[] all = new int[names.length];
+            for (int i = 0; i < all.length; i++) all[i] = i;
+            return all;
+        }
+
+        int[] matches = null;
+        for (String word : queryWords) {
+            TrieNode node = root;
+            for (int i = 0; i < word.length() && node != null; i++) node = node.children.get(word.charAt(i));
+            if (node == null) {
+                matches = new int[0];
+                break;
+            }
+            matches = matches == null ? Arrays.copyOf(node.countries, node.countryCount) : intersect(matches, node.countries, node.countryCount);
+        }
+        if (matches.length == 0) return containing(normalized);
+
+        int[] ranked = new int[matches.length]; // exact matches, then names starting with the query, then the rest
+        int count = 0;
+        for (int rank = 0; rank < 3; rank++) {
+            for (int country : matches) {
+                if (matchRank(country, normalized) == rank) ranked[count++] = country;
+            }
+        }
+        return ranked;
+    }
+
+    /**
+     * This method ranks how well a country matches a query
+     * @param country index of the country
+     * @param normalized the normalized query
+     * @return 0 for an exact code, name or alias, 1 for a name or alias starting with the query, otherwise 2
+     */
+    private int matchRank(int country, String normalized) {
+        if (codes[country].equalsIgnoreCase(normalized)) return 0;
+        int rank = 2;
+        for (String name : searchNames.get(country)) {
+            if (name.equals(normalized)) return 0;
+            if (name.startsWith(normalized)) rank = 1;
+        }
+        return rank;
+    }
+
+    /**
+     * This method finds the countries whose name or alias contains a query, the fallback when no word prefix matches
+     * @param normalized the normalized query
+     * @return the matching countries, in Util order
+     */
+    private int[] containing(String normalized) {
+        int[] matches = new int[names.length];
+        int count = 0;
+        for (int country = 0; country < names.length; country++) {
+            for (String name : searchNames.get(country)) {
+                if (name.contains(normalized)) {
+                    matches[count++] = country;
+                    break;
+                }
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /**
+     * This method intersects two ascending lists of countries
+     * @param a the first list
+     * @param b the second list
+     * @param bCount the number of countries used from the second list
+     * @return the countries in both, in ascending order
+     */
+    private static int[] intersect(int[] a, int[] b, int bCount) {
+        int[] result = new int[Math.min(a.length, bCount)];
+        int count = 0;
+        for (int i = 0, j = 0; i < a.length && j < bCount; ) { // merge walk of the two sorted lists
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else {
+                result[count++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+}
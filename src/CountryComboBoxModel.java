@@ -0,0 +1,102 @@
+import javax.swing.AbstractListModel;
+import javax.swing.ComboBoxModel;
+
+/**
+ * This class represents the model of the country combo box, listing the countries of the catalog that match a filter.
+ * The selected country is tracked by its index in Util, so it stays selected while the filter hides it
+ * @author Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie
+ */
+public class CountryComboBoxModel extends AbstractListModel<String> implements ComboBoxModel<String> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final CountryCatalog catalog; // the countries to list
+    private int[] visible; // the countries matching the filter, as indexes in Util, in display order
+    private int selectedCountry = -1; // index in Util of the selected country, -1 if none
+
+    /**
+     * Constructor for the model, lists every country of a catalog
+     * @param catalog the catalog
+     */
+    public CountryComboBoxModel(CountryCatalog catalog) {
+        this.catalog = catalog;
+        visible = catalog.search("");
+    }
+
+    /**
+     * This method filters the listed countries to the ones matching a query, see CountryCatalog.search
+     * @param query the text typed so far, empty to list every country
+     * @return the number of countries listed
+     */
+    public int setFilter(String query) {
+        int oldSize = visible.length;
+        visible = catalog.search(query);
+        if (oldSize > 0) fireIntervalRemoved(this, 0, oldSize - 1); // the list is replaced as a whole
+        if (visible.length > 0) fireIntervalAdded(this, 0, visible.length - 1);
+        return visible.length;
+    }
+
+    /**
+     * This method gets a listed country
+     * @param index the position in the list
+     * @return index of the country in Util
+     */
+    public int getCountryAt(int index) {
+        return visible[index];
+    }
+
+    /**
+     * This method gets the selected country
+     * @return index of the country in Util, or -1 if none is selected
+     */
+    public int getSelectedCountry() {
+        return selectedCountry;
+    }
+
+    /**
+     * This method selects a country, whether or not the filter lists it
+     * @param country index of the country in Util, or -1 to select none
+     */
+    public void setSelectedCountry(int country) {
+        if (country == selectedCountry) return;
+        selectedCountry = country;
+        fireContentsChanged(this, -1, -1); // the combo box contract for a selection change
+    }
+
+    /**
+     * This method gets the number of listed countries
+     * @return the number of countries matching the filter
+     */
+    @Override
+    public int getSize() {
+        return visible.length;
+    }
+
+    /**
+     * This method gets the name of a listed country
+     * @param index the position in the list
+     * @return the name of the country
+     */
+    @Override
+    public String getElementAt(int index) {
+        return catalog.getName(visible[index]);
+    }
+
+    /**
+     * This method selects the country with a name, alias or code
+     * @param item the name, alias or code, or null to select none
+     */
+    @Override
+    public void setSelectedItem(Object item) {
+        setSelectedCountry(item == null ? -1 : catalog.find(item.toString()));
+    }
+
+    /**
+     * This method gets the name of the selected country
+     * @return the name, or null if none is selected
+     */
+    @Override
+    public Object getSelectedItem() {
+        return selectedCountry < 0 ? null : catalog.getName(selectedCountry);
+    }
+}
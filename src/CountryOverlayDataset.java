@@ -0,0 +1,127 @@
+import org.jfree.data.DomainOrder;
+import org.jfree.data.xy.AbstractXYDataset;
+
+/**
+ * This class represents the overlay of other countries on a line chart or scatter plot, one series per country and indicator.
+ * Every series covers the same consecutive years, so the values are kept in primitive arrays indexed by year - startYear and the
+ * renderer reads them through getXValue and getYValue without boxing a Number per point.
+ * The series are replaced as a whole with a single change event, and hiding a series is left to the renderer so the dataset is not rebuilt
+ * @author Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie
+ */
+public class CountryOverlayDataset extends AbstractXYDataset {
+
+    private static final long serialVersionUID = 1L;
+
+    private String[] keys = new String[0]; // the name of each series
+    private double[][] values = new double[0][]; // the values of each series, by year - startYear, NaN where missing
+    private int startYear; // the first year of every series
+
+    /**
+     * This method replaces every series and sends one change event
+     * @param keys the name of each series
+     * @param series the data of each series, in the same order
+     * @param startYear the first year of the range
+     * @param endYear the last year of the range
+     */
+    public void setSeries(String[] keys, YearSeries[] series, int startYear, int endYear) {
+        double[][] values = new double[series.length][endYear + 1 - startYear];
+        for (int s = 0; s < series.length; s++) {
+            for (int year = startYear; year <= endYear; year++) values[s][year - startYear] = series[s].get(year);
+        }
+        this.keys = keys;
+        this.values = values;
+        this.startYear = startYear;
+        fireDatasetChanged(); // a single event for every series
+    }
+
+    /**
+     * This method removes every series
+     */
+    public void clear() {
+        keys = new String[0];
+        values = new double[0][];
+        fireDatasetChanged();
+    }
+
+    /**
+     * This method gets the number of series
+     * @return the number of series
+     */
+    @Override
+    public int getSeriesCount() {
+        return keys.length;
+    }
+
+    /**
+     * This method gets the name of a series
+     * @param series index of the series
+     * @return the name
+     */
+    @Override
+    public String getSeriesKey(int series) {
+        return keys[series];
+    }
+
+    /**
+     * This method gets the number of years of a series
+     * @param series index of the series
+     * @return the number of items
+     */
+    @Override
+    public int getItemCount(int series) {
+        return values[series].length;
+    }
+
+    /**
+     * This method tells the renderer the years of every series are in ascending order
+     * @return ascending domain order
+     */
+    @Override
+    public DomainOrder getDomainOrder() {
+        return DomainOrder.ASCENDING;
+    }
+
+    /**
+     * This method gets the year of an item without boxing
+     * @param series index of the series
+     * @param item index of the item
+     * @return the year
+     */
+    @Override
+    public double getXValue(int series, int item) {
+        return startYear + item;
+    }
+
+    /**
+     * This method gets the value of an item without boxing
+     * @param series index of the series
+     * @param item index of the item
+     * @return the value, NaN if it is missing
+     */
+    @Override
+    public double getYValue(int series, int item) {
+        return values[series][item];
+    }
+
+    /**
+     * This method gets the year of an item, boxed only for callers that need a Number
+     * @param series index of the series
+     * @param item index of the item
+     * @return the year
+     */
+    @Override
+    public Number getX(int series, int item) {
+        return Double.valueOf(getXValue(series, item));
+    }
+
+    /**
+     * This method gets the value of an item, boxed only for callers that need a Number
+     * @param series index of the series
+     * @param item index of the item
+     * @return the value, NaN if it is missing
+     */
+    @Override
+    public Number getY(int series, int item) {
+        return Double.valueOf(getYValue(series, item));
+    }
+}
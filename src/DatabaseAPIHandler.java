@@ -1,9 +1,12 @@
-import java.io.BufferedReader;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.util.HashMap;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -12,71 +15,219 @@ import java.util.Map;
  */
 public class DatabaseAPIHandler {
 
+    private static final long READ_TIMEOUT_MILLIS = 20000; // how long to wait for the api to respond to one attempt
+    private static final long REQUEST_DEADLINE_MILLIS = 25000; // how long one request may take across all of its attempts
+    private static final int PER_PAGE = 20000; // records per page, large enough that most requests fit on one page
+    private static final int MAX_COUNTRIES_PER_REQUEST = 60; // countries per request, keeps the url well under length limits
+    private static final byte CACHE_FORMAT = 2; // format of the data stored in the response cache, cached raw responses were format 1
+
+    private static final RetryPolicy retryPolicy = new RetryPolicy(4, 200, 2000); // up to 4 attempts, backing off from about 200ms
+    private static final CircuitBreaker circuitBreaker = new CircuitBreaker(3, 30000); // stop calling the api for 30s after 3 failed requests in a row
+
+    private final ResponseCache cache = ResponseCache.getSharedCache(); // on-disk cache of previous responses
+
     /**
-     * This method requests data from the api based on the parameters and returns it
+     * This method requests data from the api based on the parameters and returns it, reading it from the response cache if it was requested recently
      * @param country the selected country
-     * @param analysisType the selected analysis type, ie the repository indicator
+     * @param indicator index of the repository indicator in the registry
      * @param startYear the selected start year
      * @param endYear the selected end year
-     * @return a string representation of the json returned from the API
+     * @return a series of the data returned from the API, expired cached data if the API could not be accessed, or null if there is neither
      */
-    public String requestData(int country, int analysisType, int startYear, int endYear) {
-        HttpURLConnection connection; // declare an http connection
+    public YearSeries requestData(int country, int indicator, int startYear, int endYear) {
+        String code = IndicatorRegistry.getShared().getIndicator(indicator).getCode();
+        String key = ResponseCache.createKey(Util.COUNTRY_CODES[country], code, startYear, endYear);
+        ResponseCache.Entry entry = cache.getEntry(key); // check for a cached response first
+        YearSeries cached = entry == null ? null : decodeEntry(entry);
+        if (cached != null && entry.isFresh()) {
+            return cached;
+        }
         try {
-            URL url = new URL(
-                    "http://api.worldbank.org/v2/country/" + Util.COUNTRY_CODES[country] +
-                            "/indicator/" + Util.INDICATORS[analysisType] +
-                            "?date=" + startYear +
-                            ":" + endYear +
-                            "&format=json"); // initialize a url to access the api with the parameters concatenated within appropriately
-            connection = (HttpURLConnection) url.openConnection(); // try to open a connection to the url
-            connection.setRequestMethod("GET"); // set the request method to get since we are getting data
-            connection.setRequestProperty("Content-Type", "application/json"); // set the content type we are receiving to JSON
-
-            connection.setRequestProperty("Content-Language", "en-US"); //  set the content language to US english
+            YearSeries series = new YearSeries(); // initialize a series with every year missing
+            ApiClient.Response response = fetchWithRetry(Util.COUNTRY_CODES[country], code, startYear, endYear,
+                    (countryCode, year, value) -> series.set(year, value), // place each record into the series at its year
+                    cached == null ? null : entry); // revalidate an expired entry instead of downloading it again
+            if (response.getStatus() == ApiClient.NOT_MODIFIED) {
+                cache.renew(key); // the cached data is still current
+                return cached;
+            }
+            cache.put(key, encodeData(series), response.getETag(), response.getLastModified()); // store the data for later requests of the same range
+            return series;
+        } catch (IOException e) { // the api could not be accessed, even after retrying
+            return cached; // fall back to the expired cached data if there is any, otherwise null tells the caller the request failed
+        }
+    }
 
-            InputStream is = connection.getInputStream(); // initialize an input stream
-            BufferedReader rd = new BufferedReader(new InputStreamReader(is)); // initialize a buffered reader of the input stream
-            StringBuilder response = new StringBuilder(); // initialize a string builder
-            String line;
-            while ((line = rd.readLine()) != null) { // loop until the end of the input stream
-                response.append(line); // append line to response
-                response.append('\n'); // append new line
+    /**
+     * This method requests data for several countries and indicators at once. Countries are requested together using the API's
+     * semicolon separated country syntax, so each indicator costs one paged request per group of countries rather than one request per country.
+     * Countries with a fresh cached response are not requested again, and every fetched series is cached individually
+     * @param countries the indexes of the countries to request
+     * @param indicators the indexes of the indicators to request, in the registry
+     * @param startYear the start year
+     * @param endYear the end year
+     * @return the series for each indicator and country, where result[i][j] is the series of indicators[i] for countries[j]
+     * @throws IOException if the API could not be accessed
+     */
+    public YearSeries[][] requestBatch(int[] countries, int[] indicators, int startYear, int endYear) throws IOException {
+        YearSeries[][] result = new YearSeries[indicators.length][countries.length];
+        for (int i = 0; i < indicators.length; i++) { // the API only accepts several indicators in one request for a single source, so each indicator is requested separately
+            String indicator = IndicatorRegistry.getShared().getIndicator(indicators[i]).getCode();
+            Map<String, YearSeries> pending = new LinkedHashMap<>(); // series of the countries that need to be fetched, by country code
+            for (int j = 0; j < countries.length; j++) {
+                String code = Util.COUNTRY_CODES[countries[j]];
+                result[i][j] = readCache(ResponseCache.createKey(code, indicator, startYear, endYear));
+                if (result[i][j] == null) {
+                    result[i][j] = pending.computeIfAbsent(code, c -> new YearSeries()); // a country listed twice shares one series
+                }
+            }
+            List<String> codes = new ArrayList<>(pending.keySet());
+            for (int from = 0; from < codes.size(); from += MAX_COUNTRIES_PER_REQUEST) {
+                fetchGroup(codes.subList(from, Math.min(codes.size(), from + MAX_COUNTRIES_PER_REQUEST)), indicator, startYear, endYear, pending);
+            }
+            for (Map.Entry<String, YearSeries> entry : pending.entrySet()) {
+                cache.put(ResponseCache.createKey(entry.getKey(), indicator, startYear, endYear), encodeData(entry.getValue())); // cache per country so single requests hit it too
             }
-            rd.close(); // close the reader
-            return response.toString(); // return the string builder as a string
-        } catch (Exception e) { // catch any exceptions thrown while trying to access the api
-            MainUI.displayError("ERROR READING API"); // display error to main UI
-            try{
-                Thread.sleep(1000); // sleep for 1 second so user can see the error
-            } catch (InterruptedException i) {}
-            System.exit(0); // terminate the program since api could not be accessed (if api returns null data that is not an exception, system only exits when calls can not be made to the api)
-            return null; // this shouldn't ever run but it is required for compilation
         }
+        return result;
     }
 
     /**
-     * This method formats a string of data into a map of Integer keys (years) and object values
-     * @param data the data string, passed from the api response
-     * @return a map of the data
+     * This method fetches a group of countries in one paged request, demultiplexing the records into each country's series.
+     * If the API rejects the request, which happens when one of the codes is not a World Bank country, the group is split in half and each half retried
+     * @param codes the country codes of the group
+     * @param indicator the repository indicator
+     * @param startYear the start year
+     * @param endYear the end year
+     * @param series the series to fill, by country code
+     * @throws IOException if the API could not be accessed
      */
-    public Map<Integer, Object> formatData(String data) {
-        Map<Integer, Object> returnMap = new HashMap<Integer, Object>(); // initialize empty map
-        String[] dateSplit = data.split("date\":\""); // split data string at [date":"]
-        for (int i = 1; i < dateSplit.length; i++) { // loop though the returned string array
+    private void fetchGroup(List<String> codes, String indicator, int startYear, int endYear, Map<String, YearSeries> series) throws IOException {
+        int[] records = new int[1]; // number of records in the response
+        fetchWithRetry(String.join(";", codes), indicator, startYear, endYear, (countryCode, year, value) -> {
+            records[0]++;
+            YearSeries countrySeries = series.get(countryCode);
+            if (countrySeries != null) countrySeries.set(year, value); // place the record into its country's series
+        }, null);
+        if (records[0] == 0 && codes.size() > 1) { // an error message instead of data, find the valid countries by splitting the group
+            int middle = codes.size() / 2;
+            fetchGroup(codes.subList(0, middle), indicator, startYear, endYear, series);
+            fetchGroup(codes.subList(middle, codes.size()), indicator, startYear, endYear, series);
+        }
+    }
 
-            if (dateSplit[i].split("value\":")[1].split(",")[0].startsWith("\"")) { // split the line at [value":], get the second string returned, split it at [,], take the first string returned and check if it starts with a ["] (ie check if the data is a string)
-                String value = dateSplit[i].split("value\":")[1].split(",")[0].split("\"")[0]; // continue to split the json into further substrings to extract the necessary data
-                returnMap.put(Integer.parseInt(dateSplit[i].split("\"")[0]), value); // parse the year into an int and place the string data into the map at key year
+    /**
+     * This method requests every page of an indicator through the circuit breaker, retrying transient failures with backoff until the request deadline.
+     * Records parsed by a failed attempt are the same records the retry parses again, so the handler simply receives them twice
+     * @param countryCodes the country code, or several codes separated by semicolons
+     * @param indicator the repository indicator
+     * @param startYear the start year
+     * @param endYear the end year
+     * @param handler the receiver of the records
+     * @param cached a cached entry whose validators make the first page conditional, or null
+     * @return the response of the first page, its status is NOT_MODIFIED if the cached entry is still current and nothing was parsed
+     * @throws IOException if the circuit breaker is open or every attempt failed
+     */
+    private ApiClient.Response fetchWithRetry(String countryCodes, String indicator, int startYear, int endYear,
+                                              IndicatorParser.RecordHandler handler, ResponseCache.Entry cached) throws IOException {
+        if (!circuitBreaker.allowRequest()) throw new IOException("API unavailable, not retrying until the circuit breaker closes");
+        try {
+            ApiClient.Response response = retryPolicy.call(timeoutMillis ->
+                    fetch(countryCodes, indicator, startYear, endYear, handler, cached, Duration.ofMillis(Math.min(READ_TIMEOUT_MILLIS, timeoutMillis))),
+                    System.currentTimeMillis() + REQUEST_DEADLINE_MILLIS);
+            circuitBreaker.recordSuccess();
+            return response;
+        } catch (IOException e) {
+            if (Thread.currentThread().isInterrupted() || e instanceof ApiClient.StatusException && ((ApiClient.StatusException) e).getStatus() < 500) {
+                circuitBreaker.recordAbandoned(); // cancelled, or the API answered, so this says nothing about whether it is reachable
             } else {
-                try {
-                    Double value = Double.parseDouble(dateSplit[i].split("value\":")[1].split(",")[0]); // try to parse the data into a double
-                    returnMap.put(Integer.parseInt(dateSplit[i].split("\"")[0]), value); // parse the year into an int and place the double data into the map at key year
-                } catch (NumberFormatException e) { // catch exception thrown when parsing double
-                    returnMap.put(Integer.parseInt(dateSplit[i].split("\"")[0]), dateSplit[i].split("value\":")[1].split(",")[0]); // parse the year into an int and place the data into the map at key year as a string (any data that is not a number will therefore be returned as a string)
-                }
+                circuitBreaker.recordFailure();
             }
+            throw e;
         }
-        return returnMap;
+    }
+
+    /**
+     * This method requests every page of an indicator for one or more countries, passing each record to the handler as it is parsed
+     * @param countryCodes the country code, or several codes separated by semicolons
+     * @param indicator the repository indicator
+     * @param startYear the start year
+     * @param endYear the end year
+     * @param handler the receiver of the records
+     * @param cached a cached entry whose validators make the first page conditional, or null
+     * @param timeout how long to wait for each page
+     * @return the response of the first page, its status is NOT_MODIFIED if the cached entry is still current and nothing was parsed
+     * @throws IOException if the API could not be accessed
+     */
+    private ApiClient.Response fetch(String countryCodes, String indicator, int startYear, int endYear,
+                                     IndicatorParser.RecordHandler handler, ResponseCache.Entry cached, Duration timeout) throws IOException {
+        ApiClient.Response first = null;
+        int pages = 1;
+        for (int page = 1; page <= pages; page++) { // the first response tells us how many pages there are
+            String path = "country/" + countryCodes +
+                    "/indicator/" + indicator +
+                    "?date=" + startYear +
+                    ":" + endYear +
+                    "&format=json" +
+                    "&per_page=" + PER_PAGE +
+                    "&page=" + page; // the parameters concatenated within appropriately
+            try (ApiClient.Response response = page == 1 && cached != null
+                    ? ApiClient.get(path, cached.getETag(), cached.getLastModified(), timeout)
+                    : ApiClient.get(path, null, null, timeout)) {
+                if (page == 1) first = response;
+                if (response.getStatus() == ApiClient.NOT_MODIFIED) break; // nothing changed, keep the cached data
+                pages = IndicatorParser.parse(response.getBody(), handler); // parse the records of the page
+            }
+        }
+        return first;
+    }
+
+    /**
+     * This method reads a series from the response cache
+     * @param key the cache key
+     * @return the cached series, or null if there is no fresh entry in the current format
+     */
+    private YearSeries readCache(String key) {
+        ResponseCache.Entry entry = cache.getEntry(key);
+        return entry != null && entry.isFresh() ? decodeEntry(entry) : null;
+    }
+
+    /**
+     * This method decodes the series stored in a cache entry
+     * @param entry the cache entry
+     * @return the series, or null if the entry is in an older format
+     */
+    private static YearSeries decodeEntry(ResponseCache.Entry entry) {
+        try {
+            return decodeData(entry.getData());
+        } catch (IOException e) { // the entry is in an older format, request the data again
+            return null;
+        }
+    }
+
+    /**
+     * This method encodes a series as (year, value) pairs for the response cache
+     * @param data the series
+     * @return the encoded data
+     * @throws IOException if the data could not be encoded
+     */
+    private static byte[] encodeData(YearSeries data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(5 + YearSeries.SIZE * 10);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(CACHE_FORMAT);
+        data.writeTo(out);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * This method decodes data encoded by encodeData back into a series
+     * @param encoded the encoded data
+     * @return the series
+     * @throws IOException if the data is not in the expected format
+     */
+    private static YearSeries decodeData(byte[] encoded) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded));
+        if (in.readByte() != CACHE_FORMAT) throw new IOException("Unknown cache format");
+        return YearSeries.readFrom(in);
     }
 }
@@ -1,22 +1,22 @@
 import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import javax.swing.table.DefaultTableModel;
 
-import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartPanel;
-import org.jfree.chart.JFreeChart;
-import org.jfree.chart.plot.CategoryPlot;
-import org.jfree.chart.plot.PlotOrientation;
-import org.jfree.chart.plot.XYPlot;
-import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
-import org.jfree.data.category.CategoryDataset;
-import org.jfree.data.category.DefaultCategoryDataset;
-import org.jfree.data.general.DatasetUtilities;
-import org.jfree.data.statistics.HistogramDataset;
-import org.jfree.data.xy.XYDataset;
-import org.jfree.data.xy.XYSeries;
-import org.jfree.data.xy.XYSeriesCollection;
-
 
 import java.awt.*;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
 
 /**
  * This class represents the Graph Viewer panels in the MainUI. This class inherits from JPanel
@@ -28,6 +28,20 @@ public class GraphViewer extends JPanel {
     private String title; // the title of the graph
     private ChartPanel chartPanel; // the ChartPanel representing the graph, if one exists
     private JTextArea reportTextArea; // the text area for the report text, if one exists
+    private final StringBuilder reportBuffer = new StringBuilder(); // reused to build the report text
+    private ChartBuilder chartBuilder; // builds and updates the chart, if one exists
+    private DefaultTableModel rankingModel; // the rows of the ranking table, if this is a ranking
+    private JTable rankingTable; // the ranking table, if this is a ranking
+    private RankingScreen rankingScreen; // the ranking being shown, null until the first screen has finished
+    private RankingWorker rankingWorker; // the screen running in the background, if any
+    private final Set<Integer> overlayCountries = new LinkedHashSet<>(); // countries overlaid on the line chart or scatter plot, in the order added
+    private final Set<String> hiddenOverlaySeries = new LinkedHashSet<>(); // overlaid series toggled off, by name
+    private JPanel overlayTogglePanel; // a check box per overlaid series, if the chart has an overlay
+    private JScrollPane overlayToggleScroll;
+    private OverlayWorker overlayWorker; // the overlay request running in the background, if any
+    private String overlayParameters = ""; // the analysis type and range the overlay was requested for
+
+    private static final int RANKING_CHART_SIZE = 20; // countries shown in the ranking chart
 
     /**
      * The GraphViewer constructor, initializes the GraphViewer as one of the view types based on a switch statement
@@ -43,15 +57,38 @@ public class GraphViewer extends JPanel {
                 reportTextArea = new JTextArea(createReport());
                 reportTextArea.setEditable(false); // users can not edit report text
                 add(reportTextArea); // add the text area to the panel
+                JButton exportButton = new JButton("Export");
+                exportButton.addActionListener(e -> exportReport()); // save the report as a file
+                add(exportButton);
                 break;
             case 1: // BAR CHART
-                createBarChart();
-                break;
             case 2: // LINE CHART
-                createLineChart();
-                break;
             case 3: // SCATTER PLOT
-                  createScatterPlot();
+                chartBuilder = new ChartBuilder(viewType, title, MainUI.getAnalysis()); // build the chart of the current analysis
+                chartPanel = new ChartPanel(chartBuilder.getChart()); // initialize chart panel with the chart
+                if (viewType != 3) chartPanel.setPreferredSize(new java.awt.Dimension( 560 , 367 ) );
+                if (chartBuilder.hasOverlay()) {
+                    createOverlayControls();
+                } else {
+                    add(chartPanel);
+                }
+                break;
+            case 4: // COUNTRY RANKING
+                setLayout(new BorderLayout());
+                rankingModel = new DefaultTableModel(new Object[]{"Rank", "Country", ""}, 0) {
+                    @Override
+                    public boolean isCellEditable(int row, int column) {
+                        return false; // users can not edit the ranking
+                    }
+                };
+                rankingTable = new JTable(rankingModel);
+                JScrollPane tableScroll = new JScrollPane(rankingTable);
+                tableScroll.setPreferredSize(new java.awt.Dimension( 260 , 367 ) );
+                add(tableScroll, BorderLayout.WEST);
+                chartPanel = new ChartPanel(null); // the chart is shown once the screen has finished
+                chartPanel.setPreferredSize(new java.awt.Dimension( 360 , 367 ) );
+                add(chartPanel, BorderLayout.CENTER);
+                display(); // start the first screen
                 break;
             default:
                 MainUI.displayError("GRAPH TYPE ERROR"); // display error if incorrect view type was passed
@@ -59,147 +96,227 @@ public class GraphViewer extends JPanel {
     }
 
     /**
-     * This method creates a JFreeChart bar chart and adds it to the chartPanel
+     * This method updates the contents of the GraphViewer based on the view type. Charts keep their datasets and only the changed points are updated,
+     * with chart notifications held back so a single repaint follows
+     */
+    public void display() {
+        if (viewType == 0) { // if the view type is report
+            reportTextArea.setText(createReport()); // create a new report and set the text to it
+        } else if (chartBuilder != null) {
+            chartBuilder.update(MainUI.getAnalysis()); // update the chart to the current analysis
+            if (!overlayCountries.isEmpty() && !overlayParameters.equals(currentOverlayParameters())) requestOverlay(); // the overlay is for an old analysis
+        } else if (viewType == 4) {
+            updateRanking();
+        }
+    }
+
+    /**
+     * This method lays out the chart with the controls for overlaying other countries: a field for the countries to add, separated by
+     * semicolons, and a check box per overlaid series to show or hide it without rebuilding the chart
      */
-    private void createBarChart() {
+    private void createOverlayControls() {
+        setLayout(new BorderLayout());
+        add(chartPanel, BorderLayout.CENTER);
+
+        JPanel overlayPanel = new JPanel();
+        overlayPanel.setBackground(Color.white);
+        JTextField overlayField = new JTextField(14);
+        overlayField.setToolTipText("Countries to overlay by name, alias or code, separated by ;");
+        JButton overlayButton = new JButton("Overlay");
+        JButton clearButton = new JButton("Clear");
+        overlayPanel.add(new JLabel("Compare with:"));
+        overlayPanel.add(overlayField);
+        overlayPanel.add(overlayButton);
+        overlayPanel.add(clearButton);
+        add(overlayPanel, BorderLayout.SOUTH);
 
-            JFreeChart barChart = ChartFactory.createBarChart(
-                    title,
-                    "Year",
-                    Util.CHART_LABELS[MainUI.getAnalysisType()], // get the chart label based on analysis type
-                    createCategoricalDataset(), // create a categorical dataset
-                    PlotOrientation.VERTICAL,
-                    true, true, false);
+        overlayTogglePanel = new JPanel();
+        overlayTogglePanel.setLayout(new BoxLayout(overlayTogglePanel, BoxLayout.Y_AXIS));
+        overlayTogglePanel.setBackground(Color.white);
+        overlayToggleScroll = new JScrollPane(overlayTogglePanel);
+        overlayToggleScroll.setPreferredSize(new java.awt.Dimension( 170 , 367 ) );
+        overlayToggleScroll.setVisible(false); // shown once a country is overlaid
+        add(overlayToggleScroll, BorderLayout.EAST);
 
-           if (MainUI.getAnalysisType() != 0) {
-        	   CategoryPlot plot = barChart.getCategoryPlot();
-        	   plot.getRenderer().setSeriesVisibleInLegend(true); // add legend if more than one dataset displayed
-            } 
-            chartPanel = new ChartPanel( barChart ); // initialize chart panel with bar chart
-            chartPanel.setPreferredSize(new java.awt.Dimension( 560 , 367 ) );
-            add(chartPanel);
+        overlayField.addActionListener(e -> addOverlayCountries(overlayField)); // enter adds the countries too
+        overlayButton.addActionListener(e -> addOverlayCountries(overlayField));
+        clearButton.addActionListener(e -> clearOverlay());
     }
 
     /**
-     * This method creates a JFreeChart line chart and adds it to the chartPanel
+     * This method adds the countries typed into the overlay field to the overlay and requests their data
+     * @param overlayField the overlay field, cleared once its countries are added
      */
-    private void createLineChart() {
-            JFreeChart lineChart = ChartFactory.createXYLineChart(
-                    title,
-                    "Year",Util.CHART_LABELS[MainUI.getAnalysisType()],
-                    createXYDataset(),
-                    PlotOrientation.VERTICAL,
-                    true,true,false);
+    private void addOverlayCountries(JTextField overlayField) {
+        MainUI.removeError();
+        CountryCatalog catalog = CountryCatalog.getShared();
+        int added = 0;
+        for (String text : overlayField.getText().split(";")) {
+            if (text.trim().isEmpty()) continue;
+            int country = catalog.find(text);
+            if (country < 0) {
+                int[] matches = catalog.search(text);
+                if (matches.length == 0) {
+                    MainUI.displayError("No country matches \"" + text.trim() + "\"");
+                    continue;
+                }
+                country = matches[0]; // the best match
+            }
+            if (overlayCountries.add(country)) added++;
+        }
+        overlayField.setText("");
+        if (added > 0) requestOverlay();
+    }
 
-            chartPanel = new ChartPanel( lineChart );
-            chartPanel.setPreferredSize( new java.awt.Dimension( 560 , 367 ) );
-            add(chartPanel);
+    /**
+     * This method gets the countries overlaid on the chart
+     * @return indexes of the countries in Util, in the order they were added, empty if the chart has no overlay
+     */
+    public int[] getOverlayCountries() {
+        int[] countries = new int[overlayCountries.size()];
+        int i = 0;
+        for (int country : overlayCountries) countries[i++] = country;
+        return countries;
     }
 
     /**
-     * This method creates a JFreeChart scatter plot and adds it to the chartPanel
+     * This method overlays countries on the chart and requests their data, used to restore a saved workspace
+     * @param countries indexes of the countries in Util
      */
-    private void createScatterPlot()
-    {
-    		JFreeChart scatterPlot = ChartFactory.createScatterPlot(title, "Year", Util.CHART_LABELS[MainUI.getAnalysisType()], 
-    				createXYDataset(), PlotOrientation.VERTICAL, true, true, false);
-    		chartPanel = new ChartPanel( scatterPlot);
-    		//chartPanel.setPreferredSize(new java.awt.Dimension(560, 367));
-    		XYPlot plot = scatterPlot.getXYPlot();
-    		XYLineAndShapeRenderer renderer = (XYLineAndShapeRenderer) plot.getRenderer(); // render XY Line and shape
-    		renderer.setSeriesLinesVisible(0,false);
-    		renderer.setSeriesShapesVisible(0,true);
-    		renderer.setSeriesLinesVisible(1,false);
-    		renderer.setSeriesShapesVisible(1,true);
-    		plot.setRenderer(renderer);
-    		add(chartPanel);
+    public void setOverlayCountries(int[] countries) {
+        if (chartBuilder == null || !chartBuilder.hasOverlay() || countries.length == 0) return; // only line charts and scatter plots overlay countries
+        for (int country : countries) overlayCountries.add(country);
+        requestOverlay();
     }
 
+    /**
+     * This method removes every overlaid country from the chart
+     */
+    private void clearOverlay() {
+        if (overlayWorker != null) overlayWorker.cancel(true);
+        overlayWorker = null;
+        overlayCountries.clear();
+        hiddenOverlaySeries.clear();
+        overlayParameters = "";
+        chartBuilder.setOverlay(new String[0], new YearSeries[0], MainUI.getStartYear(), MainUI.getEndYear());
+        showOverlayToggles(new String[0]);
+    }
 
     /**
-     * This method creates an XY dataset
-     * @return a XYDataset object from the JFreeChart library
+     * This method describes the current analysis type and range, to tell whether the overlay is up to date
+     * @return the analysis type and range
      */
-    private XYDataset createXYDataset() {
-    	XYSeriesCollection dataset = new XYSeriesCollection();
-    	XYSeries series1 = new XYSeries("Forest Area");//make multiple series if needed
-        for (int i = MainUI.getStartYear(); i <= MainUI.getEndYear(); i++) {
-            try {
-            	series1.add(i, Double.parseDouble(MainUI.getMapForest().get(i).toString()));  // add data to series
-            } catch (Exception e) {
-                MainUI.displayError("Unhandled error occured while rendering dataset");
-                MainUI.displayError(e.getStackTrace().toString());
-            }
-        }
-    	dataset.addSeries(series1); // add series to dataset
-    	if (MainUI.getAnalysisType()==0)
-    	{
-    		return dataset; // return dataset if the first analysis type
-    	}
-    	//if more variables are needed then -
-    	XYSeries series2 = new XYSeries(Util.CHART_LABELS[MainUI.getAnalysisType()]); //second series
-        for (int i = MainUI.getStartYear(); i <= MainUI.getEndYear(); i++) {
-            try {
-            	series2.add(i, Double.parseDouble(MainUI.getMapVar().get(i).toString())); // add data to second dataset
-            } catch (Exception e) {
-                MainUI.displayError("Unhandled error occured while rendering dataset");
-                MainUI.displayError(e.getStackTrace().toString());
-            }
-        }
-        dataset.addSeries(series2); // add second dataset
-    	return dataset;
+    private static String currentOverlayParameters() {
+        return MainUI.getAnalysisType() + "_" + MainUI.getStartYear() + "_" + MainUI.getEndYear();
     }
 
     /**
-     * This method creates a categorical dataset
-     * @return a CategoryDataset object from the JFreeChart library
+     * This method requests the data of every overlaid country for the current analysis, replacing any request still running
      */
-    private CategoryDataset createCategoricalDataset() {
-        if (MainUI.getAnalysisType() == 0) {
-            final DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+    private void requestOverlay() {
+        if (overlayWorker != null) overlayWorker.cancel(true); // the latest request wins
+        overlayWorker = new OverlayWorker(getOverlayCountries(), MainUI.getAnalysisType(), MainUI.getStartYear(), MainUI.getEndYear());
+        overlayWorker.execute();
+    }
 
-            for (int i = MainUI.getStartYear(); i <= MainUI.getEndYear(); i++) {
-                try {
-                    dataset.addValue(Double.parseDouble(MainUI.getMapForest().get(i).toString()), Util.COUNTRIES[MainUI.getCountry()], Integer.toString(i)); // add value at year
-                } catch (Exception e) {
-                    MainUI.displayError("Unhandled error occured while rendering dataset");
-                }
+    /**
+     * This method shows requested overlay data on the chart, one series per country and indicator
+     * @param worker the finished request
+     * @param series the series of each indicator for each country, as returned by Analysis.requestCountries
+     */
+    private void showOverlay(OverlayWorker worker, YearSeries[][] series) {
+        IndicatorRegistry.AnalysisType analysisType = IndicatorRegistry.getShared().getAnalysis(worker.analysisType);
+        List<String> keys = new ArrayList<>();
+        List<YearSeries> data = new ArrayList<>();
+        for (int j = 0; j < worker.countries.length; j++) {
+            for (int i = 0; i < series.length; i++) {
+                keys.add(analysisType.isPair()
+                        ? Util.COUNTRIES[worker.countries[j]] + " - " + (i == 0 ? analysisType.getPrimary() : analysisType.getSecondary()).getLabel()
+                        : Util.COUNTRIES[worker.countries[j]]); // one indicator, so the country names the series
+                data.add(series[i][j]);
             }
+        }
+        String[] keyArray = keys.toArray(new String[0]);
+        chartBuilder.setOverlay(keyArray, data.toArray(new YearSeries[0]), worker.startYear, worker.endYear);
+        overlayParameters = worker.analysisType + "_" + worker.startYear + "_" + worker.endYear;
+        showOverlayToggles(keyArray);
+    }
 
-            return dataset;
-        } else { // if two datasets
-        	int size = (MainUI.getEndYear()+1) - MainUI.getStartYear();
-            double data[][] = new double[2][size];
-            for (int i = 0; i < size ; i++) {
-                try {
-                    data[0][i]=Double.parseDouble(MainUI.getMapForest().get(MainUI.getStartYear() + i).toString()); // add first dataset
-                } catch (Exception e) {
-                    MainUI.displayError("Unhandled error occured while rendering dataset");
-                }
-            }
-            for (int i = 0; i < size ; i++) {
-                try {
-                    data[1][i]=Double.parseDouble(MainUI.getMapVar().get(MainUI.getStartYear() + i).toString()); // add second dataset
-                } catch (Exception e) {
-                    MainUI.displayError("Unhandled error occured while rendering dataset");
-                }
-            }
-            return DatasetUtilities.createCategoryDataset(Util.getAnalysisList(), Util.getYearsInRange(MainUI.getStartYear(), MainUI.getEndYear()), data);
+    /**
+     * This method replaces the check boxes of the overlaid series, keeping series that were toggled off hidden
+     * @param keys the name of each overlaid series
+     */
+    private void showOverlayToggles(String[] keys) {
+        overlayTogglePanel.removeAll();
+        for (int i = 0; i < keys.length; i++) {
+            int series = i;
+            JCheckBox toggle = new JCheckBox(keys[i], !hiddenOverlaySeries.contains(keys[i]));
+            toggle.setBackground(Color.white);
+            Paint paint = chartBuilder.getOverlaySeriesPaint(i);
+            if (paint instanceof Color) toggle.setForeground((Color) paint); // label the check box in the colour of its series
+            toggle.addItemListener(e -> {
+                if (toggle.isSelected()) hiddenOverlaySeries.remove(toggle.getText());
+                else hiddenOverlaySeries.add(toggle.getText());
+                chartBuilder.setOverlaySeriesVisible(series, toggle.isSelected()); // a redraw, the chart is not rebuilt
+            });
+            if (!toggle.isSelected()) chartBuilder.setOverlaySeriesVisible(i, false);
+            overlayTogglePanel.add(toggle);
         }
+        overlayToggleScroll.setVisible(keys.length > 0);
+        revalidate();
+        repaint();
     }
 
     /**
-     * This method updates the contents of the GraphViewer based on the view type
+     * This method updates the ranking to the current analysis. A new screen of every country is only started when the analysis type
+     * or range changed, otherwise the row of the selected country is selected
      */
-    public void display() {
-        if (viewType == 1) { // if the view type requires a categorical dataset
-            chartPanel.getChart().getCategoryPlot().setDataset(createCategoricalDataset()); // create a new dataset and set the chart to it
-        } else if (viewType == 2 || viewType == 3) { // if the view type requires an XY dataset
-            chartPanel.getChart().getXYPlot().setDataset(createXYDataset()); // create a new dataset and set the chart to it
-        } else if (viewType == 0) { // if the view type is report
-            reportTextArea.setText(createReport()); // create a new report and set the text to it
+    private void updateRanking() {
+        int analysisType = MainUI.getAnalysisType();
+        int startYear = MainUI.getStartYear();
+        int endYear = MainUI.getEndYear();
+        if (rankingScreen != null && rankingScreen.getAnalysisType() == analysisType
+                && rankingScreen.getStartYear() == startYear && rankingScreen.getEndYear() == endYear) {
+            selectRankedCountry();
+            return;
+        }
+        if (rankingWorker != null && !rankingWorker.isDone()) {
+            if (rankingWorker.isFor(analysisType, startYear, endYear)) return; // already screening these parameters
+            rankingWorker.cancel(true); // the latest screen wins
         }
+        rankingModel.setRowCount(0);
+        rankingModel.addRow(new Object[]{"", "Ranking every country...", ""});
+        rankingWorker = new RankingWorker(analysisType, startYear, endYear);
+        rankingWorker.execute();
+    }
 
+    /**
+     * This method shows a finished ranking screen in the table and chart
+     * @param screen the ranking screen
+     */
+    private void showRanking(RankingScreen screen) {
+        rankingScreen = screen;
+        rankingModel.setColumnIdentifiers(new Object[]{"Rank", "Country", screen.getValueLabel()});
+        rankingModel.setRowCount(0);
+        for (int rank = 0; rank < screen.size(); rank++) {
+            rankingModel.addRow(new Object[]{rank + 1, Util.COUNTRIES[screen.getCountry(rank)], screen.getValue(rank)});
+        }
+        chartPanel.setChart(ChartBuilder.createRankingChart(title, screen, RANKING_CHART_SIZE)); // chart the top of the ranking
+        selectRankedCountry();
+    }
+
+    /**
+     * This method selects the row of the currently selected country in the ranking table, if it was ranked
+     */
+    private void selectRankedCountry() {
+        rankingTable.clearSelection();
+        for (int rank = 0; rank < rankingScreen.size(); rank++) {
+            if (rankingScreen.getCountry(rank) == MainUI.getCountry()) {
+                rankingTable.setRowSelectionInterval(rank, rank);
+                rankingTable.scrollRectToVisible(rankingTable.getCellRect(rank, 0, true)); // bring the country into view
+                return;
+            }
+        }
     }
 
     /**
@@ -215,21 +332,139 @@ public class GraphViewer extends JPanel {
      * @return the report text as a string
      */
     public String createReport() {
-        String report = Util.ANALYSIS_TYPES[MainUI.getAnalysisType()] + "\n======================================\n"; // report title is analysis type
-
-        for (int i = MainUI.getStartYear(); i <= MainUI.getEndYear(); i++) { // loop through selected years
-            report += "Year " + i + ":\n"; // append the year name
-            if (MainUI.getAnalysisType() == 0) { // if analysis type is 0 there is only one set of data and its handled separately
-                report += "\t\t" + Util.CHART_LABELS[0] + " => " + MainUI.getMapForest().get(i) + "\n"; // append data from forest map
-            } else {
-                report += "\t\t" + Util.CHART_LABELS[0] + " => " + MainUI.getMapForest().get(i) + "\n"; // append data from forest map
-                report += "\t\t" + Util.CHART_LABELS[MainUI.getAnalysisType()] + " => " + MainUI.getMapVar().get(i) + "\n"; // append data from second variable map
-            }
+        reportBuffer.setLength(0); // reuse the buffer of the previous report
+        try {
+            new ReportWriter(ReportWriter.StandardFormat.TEXT, reportBuffer).write(MainUI.getAnalysis());
+        } catch (IOException e) {
+            // appending to a StringBuilder does not throw
         }
-        return report; // return the concatenated report text
+        return reportBuffer.toString(); // return the report text
+    }
 
+    /**
+     * This method asks for a file and exports the report to it, as CSV, TSV or plain text depending on the chosen file type
+     */
+    private void exportReport() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setAcceptAllFileFilterUsed(false);
+        for (ReportWriter.StandardFormat format : ReportWriter.StandardFormat.values()) {
+            chooser.addChoosableFileFilter(new FileNameExtensionFilter(format.name() + " (*." + format.getExtension() + ")", format.getExtension()));
+        }
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return; // the export was cancelled
+        String extension = ((FileNameExtensionFilter) chooser.getFileFilter()).getExtensions()[0];
+        ReportWriter.StandardFormat format = ReportWriter.StandardFormat.forExtension(extension);
+        File file = chooser.getSelectedFile();
+        if (!file.getName().contains(".")) file = new File(file.getPath() + "." + extension); // add the extension of the chosen file type
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            new ReportWriter(format, out).write(MainUI.getAnalysis()); // stream the report straight to the file
+        } catch (IOException e) {
+            MainUI.displayError("Could not export the report to " + file.getName());
+        }
     }
 
-}
+    /**
+     * This class represents a request for the data of the overlaid countries running off the Event Dispatch Thread
+     */
+    private class OverlayWorker extends SwingWorker<YearSeries[][], Void> {
 
+        private final int[] countries; // the parameters of the request
+        private final int analysisType;
+        private final int startYear;
+        private final int endYear;
 
+        /**
+         * Constructor for the worker
+         * @param countries indexes of the overlaid countries
+         * @param analysisType index of the analysis type
+         * @param startYear the start year
+         * @param endYear the end year
+         */
+        OverlayWorker(int[] countries, int analysisType, int startYear, int endYear) {
+            this.countries = countries;
+            this.analysisType = analysisType;
+            this.startYear = startYear;
+            this.endYear = endYear;
+        }
+
+        /**
+         * This method requests every overlaid country at once, called on a worker thread
+         * @return the series of each indicator for each country
+         * @throws Exception if the API could not be accessed or the request was cancelled
+         */
+        @Override
+        protected YearSeries[][] doInBackground() throws Exception {
+            int[] indicators = IndicatorRegistry.getShared().getAnalysis(analysisType).getIndicatorIndexes();
+            return Analysis.requestCountries(countries, indicators, startYear, endYear);
+        }
+
+        /**
+         * This method shows the overlay, called on the Event Dispatch Thread
+         */
+        @Override
+        protected void done() {
+            if (isCancelled() || overlayWorker != this) return; // a newer request replaced this one
+            try {
+                showOverlay(this, get());
+            } catch (InterruptedException | ExecutionException e) {
+                MainUI.displayError("Could not get the data of the overlaid countries, please try again shortly");
+            }
+        }
+    }
+
+    /**
+     * This class represents a ranking screen running off the Event Dispatch Thread
+     */
+    private class RankingWorker extends SwingWorker<RankingScreen, Void> {
+
+        private final int analysisType; // the parameters of the screen
+        private final int startYear;
+        private final int endYear;
+
+        /**
+         * Constructor for the worker
+         * @param analysisType index of the analysis type to screen
+         * @param startYear the start year
+         * @param endYear the end year
+         */
+        RankingWorker(int analysisType, int startYear, int endYear) {
+            this.analysisType = analysisType;
+            this.startYear = startYear;
+            this.endYear = endYear;
+        }
+
+        /**
+         * This method checks whether the worker screens the given parameters
+         * @param analysisType index of the analysis type
+         * @param startYear the start year
+         * @param endYear the end year
+         * @return true if the parameters are the worker's
+         */
+        boolean isFor(int analysisType, int startYear, int endYear) {
+            return this.analysisType == analysisType && this.startYear == startYear && this.endYear == endYear;
+        }
+
+        /**
+         * This method screens every country, called on a worker thread
+         * @return the ranking screen
+         * @throws Exception if the API could not be accessed or the screen was cancelled
+         */
+        @Override
+        protected RankingScreen doInBackground() throws Exception {
+            return RankingScreen.screen(analysisType, startYear, endYear);
+        }
+
+        /**
+         * This method shows the ranking, called on the Event Dispatch Thread
+         */
+        @Override
+        protected void done() {
+            if (isCancelled() || rankingWorker != this) return; // a newer screen replaced this one
+            try {
+                showRanking(get());
+            } catch (InterruptedException | ExecutionException e) {
+                rankingModel.setRowCount(0);
+                MainUI.displayError("Could not rank the countries, please try again shortly");
+            }
+        }
+    }
+}
@@ -0,0 +1,367 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class represents a single pass streaming parser for the JSON returned by the World Bank indicator API.
+ * It reads the response bytes directly and reports each data record as a (country, year, value) triple without
+ * building strings for the keys, years or values
+ * @author Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie
+ */
+public class IndicatorParser {
+
+    /**
+     * This interface represents a receiver of the data records found by the parser
+     */
+    public interface RecordHandler {
+
+        /**
+         * This method is called once for every data record in the response
+         * @param countryCode the ISO3 code of the country the record is for
+         * @param year the year of the record
+         * @param value the value of the record, or NaN if the API has no value for the year
+         */
+        void record(String countryCode, int year, double value);
+    }
+
+    private static final byte[] KEY_DATE = "date".getBytes(StandardCharsets.US_ASCII); // the keys of interest in a record
+    private static final byte[] KEY_VALUE = "value".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] KEY_COUNTRY = "countryiso3code".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] KEY_PAGES = "pages".getBytes(StandardCharsets.US_ASCII); // the key of the page count in the response metadata
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    }; // every power of ten that is exactly representable as a double
+
+    private final InputStream in; // the stream being parsed
+    private final RecordHandler handler; // the receiver of the records
+    private final byte[] buffer = new byte[8192]; // read buffer
+    private int position; // position of the next unread byte in the buffer
+    private int limit; // number of valid bytes in the buffer
+    private byte[] token = new byte[64]; // holds the contents of the current key, string or number
+    private int tokenLength; // number of valid bytes in token
+    private String lastCountryCode = ""; // the last country code seen, reused while records are for the same country
+    private int pages; // the number of pages reported in the response metadata, stays 0 if there is none
+
+    /**
+     * Constructor for the parser
+     * @param in the stream to parse
+     * @param handler the receiver of the records
+     */
+    private IndicatorParser(InputStream in, RecordHandler handler) {
+        this.in = in;
+        this.handler = handler;
+    }
+
+    /**
+     * This method parses an API response, passing every data record to the handler
+     * @param in the stream of the response, it is read to the end but not closed
+     * @param handler the receiver of the records
+     * @return the number of pages the API reported for the request, or 0 if the response has no page metadata (the API returned an error message)
+     * @throws IOException if the stream could not be read or is not valid JSON
+     */
+    public static int parse(InputStream in, RecordHandler handler) throws IOException {
+        IndicatorParser parser = new IndicatorParser(in, handler);
+        if (parser.skipWhitespace() != -1) parser.parseValue(); // an empty response has no records
+        return parser.pages;
+    }
+
+    /**
+     * This method parses the value starting at the next non-whitespace byte, skipping it unless it is an object or array
+     * @throws IOException if the stream could not be read or is not valid JSON
+     */
+    private void parseValue() throws IOException {
+        int c = skipWhitespace();
+        if (c == '{') {
+            parseObject();
+        } else if (c == '[') {
+            parseArray();
+        } else if (c == '"') {
+            position++;
+            readString();
+        } else {
+            readLiteral(); // a number, true, false or null
+        }
+    }
+
+    /**
+     * This method parses an array, the opening bracket is the next byte
+     * @throws IOException if the stream could not be read or is not valid JSON
+     */
+    private void parseArray() throws IOException {
+        position++; // consume [
+        if (skipWhitespace() == ']') {
+            position++;
+            return;
+        }
+        while (true) {
+            parseValue();
+            int c = next();
+            if (c == ']') return;
+            if (c != ',') throw error("Expected , or ] in array");
+        }
+    }
+
+    /**
+     * This method parses an object, the opening brace is the next byte. If the object is a data record it is passed to the handler,
+     * each object keeps its own fields so the values of nested objects (country, indicator) are not mistaken for the record value
+     * @throws IOException if the stream could not be read or is not valid JSON
+     */
+    private void parseObject() throws IOException {
+        position++; // consume {
+        int year = Integer.MIN_VALUE; // the fields of a record, year stays MIN_VALUE if the object is not a record
+        double value = Double.NaN;
+        String countryCode = "";
+        if (skipWhitespace() == '}') {
+            position++;
+            return;
+        }
+        while (true) {
+            if (skipWhitespace() != '"') throw error("Expected a key in object");
+            position++;
+            readString(); // the key is now in token
+            if (skipWhitespace() != ':') throw error("Expected : in object");
+            position++;
+            int c = skipWhitespace();
+            if (tokenEquals(KEY_DATE) && c == '"') {
+                position++;
+                readString();
+                year = parseYear();
+            } else if (tokenEquals(KEY_VALUE) && c != '{' && c != '[') {
+                value = readNumber(c);
+            } else if (tokenEquals(KEY_COUNTRY) && c == '"') {
+                position++;
+                readString();
+                countryCode = toCountryCode();
+            } else if (tokenEquals(KEY_PAGES) && c != '{' && c != '[') {
+                double pageCount = readNumber(c);
+                if (!Double.isNaN(pageCount)) pages = (int) pageCount;
+            } else {
+                parseValue(); // a field we do not need
+            }
+            c = next();
+            if (c == '}') break;
+            if (c != ',') throw error("Expected , or } in object");
+        }
+        if (year != Integer.MIN_VALUE) handler.record(countryCode, year, value); // only records have a date
+    }
+
+    /**
+     * This method reads a number, null, or a string containing a number
+     * @param c the first byte of the value
+     * @return the value, or NaN if it is null or not a number
+     * @throws IOException if the stream could not be read
+     */
+    private double readNumber(int c) throws IOException {
+        if (c == '"') { // the API occasionally returns numbers as strings
+            position++;
+            readString();
+        } else {
+            readLiteral();
+        }
+        return parseToken();
+    }
+
+    /**
+     * This method reads the contents of a string into token, the opening quote has already been consumed.
+     * Escapes are kept as is since none of the values of interest contain them
+     * @throws IOException if the stream ends inside the string
+     */
+    private void readString() throws IOException {
+        tokenLength = 0;
+        while (true) {
+            int c = read();
+            if (c == -1) throw error("Unterminated string");
+            if (c == '"') return;
+            if (c == '\\') { // keep the escaped byte so an escaped quote does not end the string
+                append(c);
+                c = read();
+                if (c == -1) throw error("Unterminated string");
+            }
+            append(c);
+        }
+    }
+
+    /**
+     * This method reads a number or literal (true, false, null) into token
+     * @throws IOException if the stream could not be read
+     */
+    private void readLiteral() throws IOException {
+        tokenLength = 0;
+        while (true) {
+            int c = peek();
+            if (c == -1 || c == ',' || c == '}' || c == ']' || c <= ' ') return;
+            position++;
+            append(c);
+        }
+    }
+
+    /**
+     * This method parses the leading digits of token as a year, so dates such as 2005Q1 are treated as 2005
+     * @return the year, or Integer.MIN_VALUE if token does not start with a digit
+     */
+    private int parseYear() {
+        int year = 0;
+        int i = 0;
+        while (i < tokenLength && token[i] >= '0' && token[i] <= '9') {
+            year = year * 10 + (token[i] - '0');
+            i++;
+        }
+        return i == 0 ? Integer.MIN_VALUE : year;
+    }
+
+    /**
+     * This method parses token as a double. Numbers with at most 15 significant digits and 22 decimal places are converted
+     * exactly without allocating, anything else falls back to Double.parseDouble
+     * @return the value, or NaN if token is not a number
+     */
+    private double parseToken() {
+        int i = 0;
+        boolean negative = false;
+        if (i < tokenLength && (token[i] == '-' || token[i] == '+')) {
+            negative = token[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int exponent = 0;
+        int significantDigits = 0;
+        boolean sawDigit = false;
+        boolean fraction = false;
+        for (; i < tokenLength; i++) {
+            byte b = token[i];
+            if (b >= '0' && b <= '9') {
+                sawDigit = true;
+                mantissa = mantissa * 10 + (b - '0');
+                if (fraction) exponent--;
+                if (mantissa != 0 && ++significantDigits > 15) return parseTokenSlowly(); // too many digits to convert exactly
+            } else if (b == '.' && !fraction) {
+                fraction = true;
+            } else {
+                return parseTokenSlowly(); // an exponent, null, or a string that is not a plain number
+            }
+        }
+        if (!sawDigit) return Double.NaN;
+        if (-exponent >= POWERS_OF_TEN.length) return parseTokenSlowly();
+        double value = exponent == 0 ? mantissa : mantissa / POWERS_OF_TEN[-exponent]; // exact since both operands are exact doubles
+        return negative ? -value : value;
+    }
+
+    /**
+     * This method parses token as a double using Double.parseDouble
+     * @return the value, or NaN if token is not a number
+     */
+    private double parseTokenSlowly() {
+        try {
+            return Double.parseDouble(new String(token, 0, tokenLength, StandardCharsets.US_ASCII));
+        } catch (NumberFormatException e) { // null, or any other value that is not a number
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * This method converts token to a country code string, reusing the previous string if the code is unchanged
+     * @return the country code
+     */
+    private String toCountryCode() {
+        if (lastCountryCode.length() != tokenLength) {
+            lastCountryCode = new String(token, 0, tokenLength, StandardCharsets.UTF_8);
+            return lastCountryCode;
+        }
+        for (int i = 0; i < tokenLength; i++) {
+            if (lastCountryCode.charAt(i) != token[i]) {
+                lastCountryCode = new String(token, 0, tokenLength, StandardCharsets.UTF_8);
+                break;
+            }
+        }
+        return lastCountryCode;
+    }
+
+    /**
+     * This method checks whether token holds the given key
+     * @param key the key to compare with
+     * @return true if token equals the key
+     */
+    private boolean tokenEquals(byte[] key) {
+        if (tokenLength != key.length) return false;
+        for (int i = 0; i < tokenLength; i++) {
+            if (token[i] != key[i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * This method appends a byte to token, growing it if necessary
+     * @param c the byte to append
+     */
+    private void append(int c) {
+        if (tokenLength == token.length) {
+            byte[] grown = new byte[token.length * 2];
+            System.arraycopy(token, 0, grown, 0, tokenLength);
+            token = grown;
+        }
+        token[tokenLength++] = (byte) c;
+    }
+
+    /**
+     * This method skips whitespace
+     * @return the next non-whitespace byte without consuming it, or -1 at the end of the stream
+     * @throws IOException if the stream could not be read
+     */
+    private int skipWhitespace() throws IOException {
+        int c = peek();
+        while (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+            position++;
+            c = peek();
+        }
+        return c;
+    }
+
+    /**
+     * This method consumes the next non-whitespace byte
+     * @return the byte, or -1 at the end of the stream
+     * @throws IOException if the stream could not be read
+     */
+    private int next() throws IOException {
+        int c = skipWhitespace();
+        if (c != -1) position++;
+        return c;
+    }
+
+    /**
+     * This method consumes the next byte, including whitespace
+     * @return the byte, or -1 at the end of the stream
+     * @throws IOException if the stream could not be read
+     */
+    private int read() throws IOException {
+        int c = peek();
+        if (c != -1) position++;
+        return c;
+    }
+
+    /**
+     * This method gets the next byte without consuming it, refilling the buffer if necessary
+     * @return the byte, or -1 at the end of the stream
+     * @throws IOException if the stream could not be read
+     */
+    private int peek() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position] & 0xff;
+    }
+
+    /**
+     * This method creates an exception for malformed JSON
+     * @param message description of the problem
+     * @return the exception
+     */
+    private IOException error(String message) {
+        return new IOException("Malformed API response: " + message);
+    }
+}
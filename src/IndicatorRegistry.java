@@ -0,0 +1,279 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class represents the indicators and analysis types the application offers, loaded from a config file instead of being hardcoded.
+ * Indicators are World Bank indicator codes with a label, and an analysis type is one indicator or any pair of indicators.
+ * Indicators and analysis types are numbered in file order, and indicators can also be looked up by code in constant time.
+ * The file is DEFAULT_FILE in the working directory if there is one, otherwise the copy on the classpath, unless overridden with -Dcsas.indicators
+ * @author Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie
+ */
+public class IndicatorRegistry {
+
+    public static final String DEFAULT_FILE = "indicators.cfg"; // config file name, in the working directory or on the classpath
+
+    private static IndicatorRegistry sharedRegistry; // the registry used by the application, loaded on first use
+
+    private final List<Indicator> indicators = new ArrayList<>(); // every indicator, by index
+    private final Map<String, Indicator> indicatorsByCode = new HashMap<>(); // every indicator, by code
+    private final List<AnalysisType> analysisTypes = new ArrayList<>(); // every analysis type, by index
+
+    /**
+     * This class represents an indicator of the World Bank API
+     */
+    public static class Indicator {
+
+        private final int index; // position of the indicator in the registry
+        private final String code; // the World Bank indicator code
+        private final String label; // the label shown on charts and reports
+
+        /**
+         * Constructor for an indicator
+         * @param index position of the indicator in the registry
+         * @param code the World Bank indicator code
+         * @param label the label shown on charts and reports
+         */
+        Indicator(int index, String code, String label) {
+            this.index = index;
+            this.code = code;
+            this.label = label;
+        }
+
+        /**
+         * This method gets the position of the indicator in the registry
+         * @return the index of the indicator
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * This method gets the World Bank indicator code
+         * @return the code
+         */
+        public String getCode() {
+            return code;
+        }
+
+        /**
+         * This method gets the label shown on charts and reports
+         * @return the label
+         */
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /**
+     * This class represents an analysis type, one indicator on its own or two indicators compared
+     */
+    public static class AnalysisType {
+
+        private final String name; // the name shown in the analysis menu
+        private final Indicator[] indicators; // the one or two indicators of the analysis
+
+        /**
+         * Constructor for an analysis type
+         * @param name the name shown in the analysis menu
+         * @param indicators the one or two indicators of the analysis
+         */
+        AnalysisType(String name, Indicator[] indicators) {
+            this.name = name;
+            this.indicators = indicators;
+        }
+
+        /**
+         * This method gets the name shown in the analysis menu
+         * @return the name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * This method checks whether the analysis compares two indicators
+         * @return true if the analysis has a second indicator
+         */
+        public boolean isPair() {
+            return indicators.length == 2;
+        }
+
+        /**
+         * This method gets the first indicator of the analysis
+         * @return the indicator
+         */
+        public Indicator getPrimary() {
+            return indicators[0];
+        }
+
+        /**
+         * This method gets the indexes of the indicators of the analysis, for requesting their series
+         * @return the index of the first indicator, followed by the second if the analysis has one
+         */
+        public int[] getIndicatorIndexes() {
+            int[] indexes = new int[indicators.length];
+            for (int i = 0; i < indexes.length; i++) indexes[i] = indicators[i].getIndex();
+            return indexes;
+        }
+
+        /**
+         * This method gets the second indicator of the analysis
+         * @return the indicator, or null if the analysis has only one
+         */
+        public Indicator getSecondary() {
+            return isPair() ? indicators[1] : null;
+        }
+    }
+
+    /**
+     * This method gets the registry used by the application, loading it on first use
+     * @return the registry
+     * @throws UncheckedIOException if the config file could not be read or is invalid, the application can not run without it
+     */
+    public static synchronized IndicatorRegistry getShared() {
+        if (sharedRegistry == null) {
+            try {
+                sharedRegistry = loadDefault();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not load the indicator registry", e);
+            }
+        }
+        return sharedRegistry;
+    }
+
+    /**
+     * This method loads the registry from -Dcsas.indicators, DEFAULT_FILE in the working directory, or the classpath, in that order
+     * @return the registry
+     * @throws IOException if no config file was found or it could not be read
+     */
+    private static IndicatorRegistry loadDefault() throws IOException {
+        File file = new File(System.getProperty("csas.indicators", DEFAULT_FILE));
+        InputStream in = file.isFile() ? new FileInputStream(file) : IndicatorRegistry.class.getResourceAsStream("/" + DEFAULT_FILE);
+        if (in == null) throw new IOException("No " + DEFAULT_FILE + " found");
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return load(reader);
+        }
+    }
+
+    /**
+     * This method loads a registry from config lines. Blank lines and lines starting with # are ignored, the rest are either
+     * indicator|code|label or analysis|name|code[|code], and an analysis can only use indicators listed before it
+     * @param reader the config
+     * @return the registry
+     * @throws IOException if the config could not be read or is invalid
+     */
+    public static IndicatorRegistry load(Reader reader) throws IOException {
+        IndicatorRegistry registry = new IndicatorRegistry();
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            String[] fields = line.split("\\|");
+            if (fields[0].equals("indicator") && fields.length == 3) {
+                registry.addIndicator(fields[1].trim(), fields[2].trim());
+            } else if (fields[0].equals("analysis") && (fields.length == 3 || fields.length == 4)) {
+                Indicator[] indicators = new Indicator[fields.length - 2];
+                for (int i = 0; i < indicators.length; i++) {
+                    indicators[i] = registry.getIndicator(fields[i + 2].trim());
+                    if (indicators[i] == null) throw new IOException("Line " + lineNumber + ": unknown indicator " + fields[i + 2].trim());
+                }
+                registry.analysisTypes.add(new AnalysisType(fields[1].trim(), indicators));
+            } else {
+                throw new IOException("Line " + lineNumber + ": expected indicator|code|label or analysis|name|code[|code]");
+            }
+        }
+        if (registry.analysisTypes.isEmpty()) throw new IOException("No analysis types configured");
+        return registry;
+    }
+
+    /**
+     * This method adds an indicator, an indicator that is already registered keeps its index and label
+     * @param code the World Bank indicator code
+     * @param label the label shown on charts and reports
+     * @return the indicator
+     */
+    private Indicator addIndicator(String code, String label) {
+        return indicatorsByCode.computeIfAbsent(code, c -> {
+            Indicator indicator = new Indicator(indicators.size(), c, label);
+            indicators.add(indicator);
+            return indicator;
+        });
+    }
+
+    /**
+     * This method gets the number of indicators
+     * @return the number of indicators
+     */
+    public int getIndicatorCount() {
+        return indicators.size();
+    }
+
+    /**
+     * This method gets an indicator by index
+     * @param index the index of the indicator
+     * @return the indicator
+     */
+    public Indicator getIndicator(int index) {
+        return indicators.get(index);
+    }
+
+    /**
+     * This method looks up an indicator by code
+     * @param code the World Bank indicator code
+     * @return the indicator, or null if it is not registered
+     */
+    public Indicator getIndicator(String code) {
+        return indicatorsByCode.get(code);
+    }
+
+    /**
+     * This method gets the codes of every indicator, in index order
+     * @return the codes
+     */
+    public String[] getIndicatorCodes() {
+        String[] codes = new String[indicators.size()];
+        for (int i = 0; i < codes.length; i++) codes[i] = indicators.get(i).getCode();
+        return codes;
+    }
+
+    /**
+     * This method gets the number of analysis types
+     * @return the number of analysis types
+     */
+    public int getAnalysisCount() {
+        return analysisTypes.size();
+    }
+
+    /**
+     * This method gets an analysis type by index
+     * @param index the index of the analysis type
+     * @return the analysis type
+     */
+    public AnalysisType getAnalysis(int index) {
+        return analysisTypes.get(index);
+    }
+
+    /**
+     * This method gets the names of every analysis type, in index order, for the analysis menu
+     * @return the names
+     */
+    public String[] getAnalysisNames() {
+        String[] names = new String[analysisTypes.size()];
+        for (int i = 0; i < names.length; i++) names[i] = analysisTypes.get(i).getName();
+        return names;
+    }
+}
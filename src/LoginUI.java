@@ -2,9 +2,11 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This class represents the Login UI for the application, it inherits from JFrame
@@ -20,11 +22,20 @@ public class LoginUI extends JFrame {
     private JLabel validateText; // label to display whether credentials were valid
 
     private boolean isLogin = false; // flag for whether the user was successfully logged in
+    private final CompletableFuture<String> loginFuture = new CompletableFuture<>(); // completed with the username once the user has logged in
+    private final CompletableFuture<UserStore> userStore; // the user database, read in the background while the window is shown
 
     /**
      * The LoginUI constructor, initializes the window and instance variables
      */
     public LoginUI() {
+        userStore = CompletableFuture.supplyAsync(() -> {
+            try {
+                return UserStore.load(new File(UserStore.DEFAULT_FILE)); // read the user database (local text file) once
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
         setTitle(title); // set the title of the window, called from superclass
         setPreferredSize(new Dimension(450, 280)); // set the preferred window size, called from superclass
         setDefaultCloseOperation(EXIT_ON_CLOSE); // terminate program on window close, called from superclass
@@ -88,18 +99,31 @@ public class LoginUI extends JFrame {
     }
 
     /**
-     * This method handles the login procedure for a user
+     * This method handles the login procedure for a user. The credentials are checked off the Event Dispatch Thread,
+     * since hashing the password takes a moment, and the login future completes as soon as they are valid
      */
     private void login() {
-        validateText.setVisible(true); // show validation text
-        if (validate(usernameText.getText(), passwordText.getPassword())) { // check if a valid username and password combo
-            validateText.setForeground(Color.green); // set text color to green, indicating success
-            validateText.setText("Login Successful"); // set text as login successful
-            isLogin = true; // set login flag to true
-        } else {
-            validateText.setForeground(Color.red); // set the text to red, indicating unsuccessful login
-            validateText.setText("Invalid Credentials"); // set text to invalid credentials
-        }
+        String username = usernameText.getText();
+        char[] password = passwordText.getPassword();
+        submitButton.setEnabled(false); // one attempt at a time
+        userStore.thenApplyAsync(store -> store.verify(username, password)) // check if a valid username and password combo
+                .whenComplete((valid, error) -> SwingUtilities.invokeLater(() -> {
+                    Arrays.fill(password, '\0'); // do not keep the password in memory
+                    submitButton.setEnabled(true);
+                    validateText.setVisible(true); // show validation text
+                    if (error != null) { // the user database could not be read
+                        validateText.setForeground(Color.red); // set the text to red, indicating an error
+                        validateText.setText("Can not read user database file"); // set the validate text to alert that the user database file couldn't be read
+                    } else if (valid) {
+                        validateText.setForeground(Color.green); // set text color to green, indicating success
+                        validateText.setText("Login Successful"); // set text as login successful
+                        isLogin = true; // set login flag to true
+                        loginFuture.complete(username); // hand over to whoever is waiting for the login
+                    } else {
+                        validateText.setForeground(Color.red); // set the text to red, indicating unsuccessful login
+                        validateText.setText("Invalid Credentials"); // set text to invalid credentials
+                    }
+                }));
     }
 
     /**
@@ -111,27 +135,11 @@ public class LoginUI extends JFrame {
     }
 
     /**
-     * This method handles the validation of user credentials
-     * @param username the username entered by the user
-     * @param password the password entered by the user
-     * @return true if valid credentials and false if not
+     * This method gets the login of the user as a future, which completes on the Event Dispatch Thread when the user has logged in
+     * @return the future, completed with the username
      */
-    private boolean validate(String username, char[] password) {
-        BufferedReader reader; // declare a buffered reader
-        try {
-            reader = new BufferedReader(new FileReader("userDB.txt")); // try to read user database (local text file)
-            String line = reader.readLine(); // read the first line
-            while (line != null) { // continue until no more next line
-                if (line.split(",")[0].equals(username) && line.split(",")[1].equals(new String(password))) { // check if any lines equal the given credentials, after formatting
-                    return true;
-                }
-                line = reader.readLine(); // read next line
-            }
-        } catch (IOException e) { // catch IOException from trying to read the file
-            validateText.setForeground(Color.red); // set the text to red, indicating an error
-            validateText.setText("Can not read user database file"); // set the validate text to alert that the user database file couldn't be read
-        }
-        return false;
+    public CompletableFuture<String> getLogin() {
+        return loginFuture;
     }
 
 }
@@ -1,9 +1,17 @@
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 /**
  * This class represents the Main UI of the application
@@ -20,11 +28,14 @@ public class MainUI {
     private static JComboBox endYearCombo;
     private static JComboBox viewsCombo;
     private static JComboBox analysisCombo;
+    private static CountryComboBoxModel countryModel; // the countries listed by the country combo box, filtered by the search field
+    private static JTextField countrySearch; // type-ahead search field for the country combo box
 
     private static JLabel errorLabel;   // JLabel for the error message under the recalculate button
     private static JPanel chartsPanel;  // JPanel for holding the JFreeChart objects
 
     private static Analysis analysis;   // the analysis object
+    private static RecalculationWorker recalculationWorker; // the recalculation running in the background, if any
 
     private static GridBagConstraints c; // constraint variable for GridBagLayouts
 
@@ -34,25 +45,37 @@ public class MainUI {
 
     private static GridLayout gl = new GridLayout(2,3);
 
+    private static CompletableFuture<Workspace> workspaceLoad; // the saved workspace, loaded in the background while the user logs in
+    private static Workspace pendingWorkspace; // a restored workspace whose viewers are added once its analysis has been recalculated
+
     /**
      * The main method of the program
      * @param args command line args
      */
     public static void main(String[] args) {
+        workspaceLoad = CompletableFuture.supplyAsync(MainUI::loadWorkspace); // read the saved series while the user logs in
         LoginUI loginUI = new LoginUI(); // initialize a login window on start-up
-        while(!loginUI.isLogin()) {
-            try {
-                Thread.sleep(500); // wait and sleep in intervals of 500ms until user has logged in
-            } catch (InterruptedException e){}
-        }
-        loginUI.setVisible(false);
-        loginUI.dispose(); // after the user is logged in, dispose of the loginUI
-
+        loginUI.getLogin().thenRun(() -> { // runs on the Event Dispatch Thread as soon as the user has logged in
+            loginUI.setVisible(false);
+            loginUI.dispose(); // after the user is logged in, dispose of the loginUI
+            createMainWindow();
+        });
+    }
 
+    /**
+     * This method creates the main window of the program and its components
+     */
+    private static void createMainWindow() {
         analysis = new Analysis(); // initialize the analysis object
         mainFrame = new JFrame(windowTitle); // initialize the window
         mainFrame.setPreferredSize(new Dimension(windowWidth, windowHeight));
         mainFrame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE); // terminate program on window close
+        mainFrame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent windowEvent) { // called before the program terminates on window close
+                saveWorkspace();
+            }
+        });
         mainFrame.setVisible(true);
         mainFrame.setLocationRelativeTo(null); // place in middle of the screen
         mainFrame.setLayout(new BorderLayout()); // set layout to a border layout
@@ -67,10 +90,14 @@ public class MainUI {
 
         JLabel chooseCountry = new JLabel("Choose a country:    ");
 
-        countryCombo = new JComboBox(Util.COUNTRIES); // load country array into country combo box
-        countryCombo.setSelectedIndex(0); // set to display first index by default
+        countryModel = new CountryComboBoxModel(CountryCatalog.getShared()); // list every country of the catalog
+        countryModel.setSelectedCountry(0); // set to display first country by default
+        countryCombo = new JComboBox(countryModel);
         countryCombo.setBounds(0,0,50, 30);
 
+        countrySearch = new JTextField(8); // typing filters the country combo box
+        countrySearch.setToolTipText("Search countries by name, alias or code");
+
         JLabel startLabel = new JLabel("    From:    ");
 
         startYearCombo = new JComboBox(Util.getYearsInRange(Util.MIN_YEAR,Util.MAX_YEAR)); // call getYears to get an array of years
@@ -84,6 +111,7 @@ public class MainUI {
         endYearCombo.setBounds(0,0,50, 30);
 
         topPanel.add(chooseCountry); // add components to top panel
+        topPanel.add(countrySearch);
         topPanel.add(countryCombo);
         topPanel.add(startLabel);
         topPanel.add(startYearCombo);
@@ -101,7 +129,7 @@ public class MainUI {
 
         JLabel analysisLabel = new JLabel("         Choose analysis type:  ");
 
-        analysisCombo = new JComboBox(Util.ANALYSIS_TYPES); // put the analysis types into the anaylsis combo box
+        analysisCombo = new JComboBox(IndicatorRegistry.getShared().getAnalysisNames()); // put the analysis types into the anaylsis combo box
         analysisCombo.setSelectedIndex(0);
         analysisCombo.setBounds(0,0,50,30);
 
@@ -151,23 +179,42 @@ public class MainUI {
         recalculateButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent actionEvent) { // called on recalculate button pressed
-                removeError(); // remove whatever is displayed in the error label
-                int prevCountry = analysis.getCurrentCountry(); // remember the previous year
-                analysis.recalculate(
-                        countryCombo.getSelectedIndex(),
-                        analysisCombo.getSelectedIndex(),
-                        Util.getYearsInRange(Util.MIN_YEAR,Util.MAX_YEAR)[startYearCombo.getSelectedIndex()],
-                        Util.getYearsInRange(Util.MIN_YEAR,Util.MAX_YEAR)[endYearCombo.getSelectedIndex()]
-                ); // call recalculate with the selected indexes of the combo boxes
-                if (prevCountry != analysis.getCurrentCountry()) {
-                    removeAllViewers(); // remove all the viewers being displayed if the chosen country changed
-                }
-                if (analysis.validateAnalysis()) {
-                    updateViewers(); // otherwise update the viewers
-                }
+                startRecalculation(); // recalculate in the background with the selected indexes of the combo boxes
             }
         });
 
+        ActionListener selectionListener = new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent actionEvent) { // called when any of the analysis parameters change
+                cancelRecalculation(); // a running recalculation is for the old parameters, so it is no longer wanted
+            }
+        };
+        countryCombo.addActionListener(selectionListener);
+        countrySearch.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent documentEvent) { // called when text is typed into the search field
+                filterCountries();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent documentEvent) { // called when text is deleted from the search field
+                filterCountries();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent documentEvent) { // attribute changes, the text is the same
+            }
+        });
+        countrySearch.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent actionEvent) { // called on enter in the search field
+                startRecalculation(); // recalculate for the best match
+            }
+        });
+        startYearCombo.addActionListener(selectionListener);
+        endYearCombo.addActionListener(selectionListener);
+        analysisCombo.addActionListener(selectionListener);
+
         addView.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent actionEvent) { // called on add viewer button pressed
@@ -180,13 +227,15 @@ public class MainUI {
                         flag = true;
                     }
                 }
-                if (!flag && analysis.isValid()) addViewer(new GraphViewer(viewType, Util.ANALYSIS_TYPES[getAnalysisType()])); // if the flag was never set true then add the viewer
+                if (!flag && analysis.isValid()) addViewer(new GraphViewer(viewType, analysis.getAnalysisType().getName())); // if the flag was never set true then add the viewer
                 else if (!analysis.isValid()){
                     displayError("Invalid analysis, have you run the analysis at least once before trying to display?");
                 }
             }
         });
 
+        workspaceLoad.thenAccept(workspace -> SwingUtilities.invokeLater(() -> restoreWorkspace(workspace))); // restore once the file has been read
+
         removeView.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent actionEvent) { // called on remove viewer button pressed
@@ -207,6 +256,107 @@ public class MainUI {
 
     }
 
+    /**
+     * This method starts recalculating the analysis in the background with the currently selected parameters,
+     * cancelling any recalculation that is still running
+     */
+    private static void startRecalculation() {
+        cancelRecalculation(); // the latest recalculation wins
+        removeError(); // remove whatever is displayed in the error label
+        recalculationWorker = new RecalculationWorker(
+                countryModel.getSelectedCountry(),
+                analysisCombo.getSelectedIndex(),
+                Util.getYearsInRange(Util.MIN_YEAR,Util.MAX_YEAR)[startYearCombo.getSelectedIndex()],
+                Util.getYearsInRange(Util.MIN_YEAR,Util.MAX_YEAR)[endYearCombo.getSelectedIndex()]
+        );
+        recalculationWorker.execute(); // run the recalculation on a worker thread
+    }
+
+    /**
+     * This method filters the country combo box to the text of the search field and selects the best match
+     */
+    private static void filterCountries() {
+        int matches = countryModel.setFilter(countrySearch.getText());
+        if (matches > 0) {
+            removeError();
+            countryModel.setSelectedCountry(countryModel.getCountryAt(0)); // the best match, so typing a name and recalculating works
+            if (countryCombo.isShowing()) countryCombo.showPopup(); // show the other matches
+        } else {
+            displayError("No country matches \"" + countrySearch.getText() + "\"");
+        }
+    }
+
+    /**
+     * This method loads the saved workspace and its series, called on a background thread
+     * @return the workspace, or null if there is none or it could not be read
+     */
+    private static Workspace loadWorkspace() {
+        try {
+            return Workspace.load(Workspace.getFile(), SeriesStore.getShared());
+        } catch (IOException e) {
+            System.err.println("Could not restore the workspace: " + e.getMessage()); // start with an empty workspace instead
+            return null;
+        }
+    }
+
+    /**
+     * This method restores the selections of a saved workspace and recalculates its analysis, which is answered from the restored
+     * series without a request while they are fresh. The viewers are added once the recalculation has finished
+     * @param workspace the saved workspace, or null if there is none
+     */
+    private static void restoreWorkspace(Workspace workspace) {
+        if (workspace == null) return;
+        countryModel.setSelectedCountry(workspace.getCountry());
+        analysisCombo.setSelectedIndex(workspace.getAnalysisType());
+        startYearCombo.setSelectedIndex(workspace.getStartYear() - Util.MIN_YEAR);
+        endYearCombo.setSelectedIndex(workspace.getEndYear() - Util.MIN_YEAR);
+        pendingWorkspace = workspace;
+        startRecalculation();
+    }
+
+    /**
+     * This method adds the viewers of the restored workspace, called once its analysis has been recalculated
+     */
+    private static void restoreViewers() {
+        Workspace workspace = pendingWorkspace;
+        pendingWorkspace = null; // restore only once
+        if (!analysis.isValid()) return;
+        for (int i = 0; i < workspace.getViewerCount(); i++) {
+            GraphViewer viewer = new GraphViewer(workspace.getViewType(i), analysis.getAnalysisType().getName());
+            viewer.setOverlayCountries(workspace.getOverlayCountries(i));
+            viewers.add(viewer);
+        }
+        updateViewers(); // lay out every restored viewer at once
+    }
+
+    /**
+     * This method saves the selections, the open viewers and the series held in the series store to the workspace file
+     */
+    private static void saveWorkspace() {
+        Workspace workspace = new Workspace(
+                Math.max(0, countryModel.getSelectedCountry()), // no country may be selected, the first one is restored then
+                analysisCombo.getSelectedIndex(),
+                Util.getYearsInRange(Util.MIN_YEAR,Util.MAX_YEAR)[startYearCombo.getSelectedIndex()],
+                Util.getYearsInRange(Util.MIN_YEAR,Util.MAX_YEAR)[endYearCombo.getSelectedIndex()]);
+        for (GraphViewer viewer : viewers) workspace.addViewer(viewer.getViewType(), viewer.getOverlayCountries());
+        try {
+            workspace.save(Workspace.getFile(), SeriesStore.getShared());
+        } catch (IOException e) {
+            System.err.println("Could not save the workspace: " + e.getMessage()); // the window is closing, so there is nowhere else to report it
+        }
+    }
+
+    /**
+     * This method cancels the recalculation running in the background, if there is one
+     */
+    private static void cancelRecalculation() {
+        if (recalculationWorker != null && !recalculationWorker.isDone()) {
+            recalculationWorker.cancel(true); // interrupt the worker so its requests are cancelled too
+            displayStatus("Recalculation cancelled");
+        }
+        recalculationWorker = null;
+    }
+
     /**
      * This method gets the start year from the analysis object
      * @return the current start year from analysis
@@ -236,6 +386,14 @@ public class MainUI {
      * @param error string message defining the error
      */
     public static void displayError(String error) {
+        if (errorLabel == null) { // there is no window when running headless
+            System.err.println(error);
+            return;
+        }
+        if (!SwingUtilities.isEventDispatchThread()) { // errors can be reported from worker threads
+            SwingUtilities.invokeLater(() -> displayError(error));
+            return;
+        }
         errorLabel.setForeground(Color.red);
         errorLabel.setText(error); // set the text of errorLabel to error
     }
@@ -244,11 +402,26 @@ public class MainUI {
      * This method removes any error being displayed in errorLabel
      */
     public static void removeError() {
+        if (errorLabel == null) return; // there is no window when running headless
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(MainUI::removeError);
+            return;
+        }
         errorLabel.setText(""); // set the text to empty
     }
 
     /**
-     * This method updates the viewers in the viewer array list
+     * This method displays the progress of a background task to the user through the errorLabel
+     * @param status string message describing the progress
+     */
+    private static void displayStatus(String status) {
+        errorLabel.setForeground(Color.darkGray);
+        errorLabel.setText(status); // set the text of errorLabel to the status
+    }
+
+    /**
+     * This method updates the viewers in the viewer array list. Each viewer updates its own data in place, and the
+     * charts panel is only re-laid out when viewers were added or removed
      */
     private static void updateViewers() {
         removeError();
@@ -256,25 +429,22 @@ public class MainUI {
             displayError("Invalid data in analysis, graphs can not be updated");
             return;
         }
-      try{
-          if(viewers.size() == 0) {
-              removeAllViewers();
-          }
-          chartsPanel.removeAll();
-          mainFrame.pack();
-          chartsPanel.revalidate();
-          chartsPanel.repaint();
-          for (int i = 0; i < viewers.size(); i++) { // loop through the arraylist
-              viewers.get(i).display(); // update what the viewer displays
-              chartsPanel.add(viewers.get(i)); // re-add the viewer to the chartsPanel
-          }
-      	}
-      catch(Exception e){
-        	displayError("Cannot update viewer before calculated at first time");
-      }
-      mainFrame.pack();
-      chartsPanel.revalidate();
-      chartsPanel.repaint();
+        try {
+            for (int i = 0; i < viewers.size(); i++) { // loop through the arraylist
+                viewers.get(i).display(); // update what the viewer displays
+            }
+        } catch (Exception e) {
+            displayError("Cannot update viewer before calculated at first time");
+        }
+        if (!Arrays.asList(chartsPanel.getComponents()).equals(viewers)) { // viewers were added or removed
+            chartsPanel.removeAll();
+            for (int i = 0; i < viewers.size(); i++) {
+                chartsPanel.add(viewers.get(i)); // add the viewers back in order
+            }
+            mainFrame.pack(); // lay out once for the new set of viewers
+            chartsPanel.revalidate();
+            chartsPanel.repaint();
+        }
     }
 
     /**
@@ -290,27 +460,35 @@ public class MainUI {
      * This method removes all the viewers in the arraylist
      */
     private static void removeAllViewers() {
-        chartsPanel.removeAll();
         viewers.clear(); // clear the arraylist
-        mainFrame.pack();
+        chartsPanel.removeAll();
+        mainFrame.pack(); // lay out once without the viewers
         chartsPanel.revalidate();
         chartsPanel.repaint();
     }
 
     /**
-     * This method returns the map of data for the Forest area (% of land area) dataset from the analysis object
-     * @return a map of type <Integer, Object> storing the data for Forest area
+     * This method gets the analysis being displayed
+     * @return the analysis object
+     */
+    public static Analysis getAnalysis() {
+        return analysis;
+    }
+
+    /**
+     * This method returns the series of data for the Forest area (% of land area) dataset from the analysis object
+     * @return a series storing the data for Forest area
      */
-    public static Map<Integer, Object> getMapForest() {
-        return analysis.getMapForest(); // call getMapForest() and return result
+    public static YearSeries getForestSeries() {
+        return analysis.getForestSeries(); // call getForestSeries() and return result
     }
 
     /**
-     * This method returns the map of data for the second (that is the variable) dataset from the analysis object
-     * @return a map of type <Integer, Object> storing the data for the second dataset
+     * This method returns the series of data for the second (that is the variable) dataset from the analysis object
+     * @return a series storing the data for the second dataset
      */
-    public static Map<Integer, Object> getMapVar() {
-        return analysis.getMapVar(); // call getMapVar() and return result
+    public static YearSeries getVarSeries() {
+        return analysis.getVarSeries(); // call getVarSeries() and return result
     }
 
     /**
@@ -320,4 +498,76 @@ public class MainUI {
     public static int getCountry() {
         return analysis.getCurrentCountry(); // call getCurrentCountry() and return the result
     }
+
+    /**
+     * This class represents a recalculation of the analysis running off the Event Dispatch Thread.
+     * It fetches the data into a new Analysis object and only replaces the displayed analysis if it was not cancelled
+     */
+    private static class RecalculationWorker extends SwingWorker<Analysis, String> {
+
+        private final int country; // the parameters of the recalculation
+        private final int analysisType;
+        private final int startYear;
+        private final int endYear;
+
+        /**
+         * Constructor for the worker, stores the parameters to recalculate with
+         * @param country index of the selected country
+         * @param analysisType index of the selected analysis type
+         * @param startYear the selected start year
+         * @param endYear the selected end year
+         */
+        RecalculationWorker(int country, int analysisType, int startYear, int endYear) {
+            this.country = country;
+            this.analysisType = analysisType;
+            this.startYear = startYear;
+            this.endYear = endYear;
+        }
+
+        /**
+         * This method fetches and formats the data on a worker thread
+         * @return the recalculated analysis
+         */
+        @Override
+        protected Analysis doInBackground() {
+            publish("Fetching data for " + Util.COUNTRIES[country] + "..."); // report progress to the user
+            Analysis result = new Analysis();
+            result.recalculate(country, analysisType, startYear, endYear);
+            return result;
+        }
+
+        /**
+         * This method displays the latest progress message, called on the Event Dispatch Thread
+         * @param chunks the progress messages published since the last call
+         */
+        @Override
+        protected void process(List<String> chunks) {
+            if (recalculationWorker == this) displayStatus(chunks.get(chunks.size() - 1)); // a stale worker should not overwrite the status
+        }
+
+        /**
+         * This method swaps in the recalculated analysis and updates the viewers, called on the Event Dispatch Thread
+         */
+        @Override
+        protected void done() {
+            if (isCancelled() || recalculationWorker != this) return; // a newer recalculation replaced this one
+            recalculationWorker = null;
+            Analysis result;
+            try {
+                result = get();
+            } catch (InterruptedException | ExecutionException e) {
+                displayError("Unhandled error occured while recalculating");
+                return;
+            }
+            int prevCountry = analysis.getCurrentCountry(); // remember the previous country
+            analysis = result;
+            if (prevCountry != analysis.getCurrentCountry()) {
+                removeAllViewers(); // remove all the viewers being displayed if the chosen country changed
+            }
+            if (analysis.validateAnalysis()) {
+                updateViewers(); // otherwise update the viewers
+            }
+            if (pendingWorkspace != null) restoreViewers(); // the first recalculation after start-up brings back the saved viewers
+        }
+    }
 }
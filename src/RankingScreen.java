@@ -0,0 +1,140 @@
+import java.io.IOException;
+import java.util.stream.IntStream;
+
+/**
+ * This class represents a screen of every country in Util for one analysis type over a range of years, ranked from highest to lowest.
+ * An analysis of one indicator ranks countries by its value in the last year of the range with a value, and an analysis of two
+ * indicators ranks them by the Pearson correlation between the two.
+ * Series come from the offline snapshot or the session's series store where possible and the rest are requested in concurrent groups
+ * of countries, see Analysis.requestCountries, and the ranking values are computed in a parallel fork-join pass
+ * @author Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie
+ */
+public class RankingScreen {
+
+    private final int analysisType; // the analysis type that was screened
+    private final int startYear; // the range of years that was screened
+    private final int endYear;
+    private final int[] countries; // the countries with a ranking value, from highest to lowest
+    private final double[] values; // the ranking value of each country, in the same order
+
+    /**
+     * Constructor for a screen, takes the ranked results
+     * @param analysisType the analysis type that was screened
+     * @param startYear the start year
+     * @param endYear the end year
+     * @param countries the ranked countries
+     * @param values the ranking value of each country
+     */
+    private RankingScreen(int analysisType, int startYear, int endYear, int[] countries, double[] values) {
+        this.analysisType = analysisType;
+        this.startYear = startYear;
+        this.endYear = endYear;
+        this.countries = countries;
+        this.values = values;
+    }
+
+    /**
+     * This method screens every country for an analysis type over a range of years
+     * @param analysisType index of the analysis type
+     * @param startYear the start year
+     * @param endYear the end year
+     * @return the ranked countries, countries without enough data are left out
+     * @throws IOException if the API could not be accessed
+     * @throws InterruptedException if the screen was cancelled
+     */
+    public static RankingScreen screen(int analysisType, int startYear, int endYear) throws IOException, InterruptedException {
+        IndicatorRegistry.AnalysisType analysis = IndicatorRegistry.getShared().getAnalysis(analysisType);
+        int[] allCountries = IntStream.range(0, Util.COUNTRY_CODES.length).toArray();
+        YearSeries[][] series = Analysis.requestCountries(allCountries, analysis.getIndicatorIndexes(), startYear, endYear); // both indicators are requested at once
+        YearSeries[] primary = series[0];
+        YearSeries[] secondary = analysis.isPair() ? series[1] : null;
+
+        double[] values = new double[Util.COUNTRY_CODES.length];
+        IntStream.range(0, values.length).parallel().forEach(country -> values[country] = secondary == null // one fork-join task per slice of countries
+                ? latestValue(primary[country], startYear, endYear)
+                : new SeriesStatistics(new YearSeries[]{primary[country], secondary[country]}, startYear, endYear).getPearson());
+
+        int[] ranked = IntStream.range(0, values.length)
+                .filter(country -> !Double.isNaN(values[country])) // leave out countries without enough data
+                .boxed()
+                .sorted((a, b) -> Double.compare(values[b], values[a])) // highest first
+                .mapToInt(Integer::intValue)
+                .toArray();
+        double[] rankedValues = new double[ranked.length];
+        for (int i = 0; i < ranked.length; i++) rankedValues[i] = values[ranked[i]];
+        return new RankingScreen(analysisType, startYear, endYear, ranked, rankedValues);
+    }
+
+    /**
+     * This method finds the value of the last year in a range that has one
+     * @param series the series
+     * @param startYear the start year
+     * @param endYear the end year
+     * @return the value, or NaN if no year in the range has one
+     */
+    private static double latestValue(YearSeries series, int startYear, int endYear) {
+        for (int year = endYear; year >= startYear; year--) {
+            if (!series.isMissing(year)) return series.get(year);
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * This method gets the analysis type that was screened
+     * @return index of the analysis type
+     */
+    public int getAnalysisType() {
+        return analysisType;
+    }
+
+    /**
+     * This method gets the first year that was screened
+     * @return the start year
+     */
+    public int getStartYear() {
+        return startYear;
+    }
+
+    /**
+     * This method gets the last year that was screened
+     * @return the end year
+     */
+    public int getEndYear() {
+        return endYear;
+    }
+
+    /**
+     * This method gets the number of ranked countries
+     * @return the number of countries with a ranking value
+     */
+    public int size() {
+        return countries.length;
+    }
+
+    /**
+     * This method gets the country at a rank
+     * @param rank the rank, starting at 0 for the highest value
+     * @return index of the country in Util
+     */
+    public int getCountry(int rank) {
+        return countries[rank];
+    }
+
+    /**
+     * This method gets the ranking value at a rank
+     * @param rank the rank, starting at 0 for the highest value
+     * @return the value
+     */
+    public double getValue(int rank) {
+        return values[rank];
+    }
+
+    /**
+     * This method gets the name of the ranking value
+     * @return what the countries are ranked by
+     */
+    public String getValueLabel() {
+        IndicatorRegistry.AnalysisType analysis = IndicatorRegistry.getShared().getAnalysis(analysisType);
+        return analysis.isPair() ? "Correlation with " + analysis.getSecondary().getLabel() : analysis.getPrimary().getLabel();
+    }
+}
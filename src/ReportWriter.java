@@ -0,0 +1,264 @@
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * This class represents the report engine. A report has one row per year and one column per series, and is streamed
+ * row by row into any Appendable, such as a reused StringBuilder for the report viewer or a Writer for exporting to a file,
+ * so it takes time linear in the number of values and only holds one row at a time.
+ * How the report is laid out is decided by a pluggable Format
+ * @author Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie
+ */
+public class ReportWriter {
+
+    /**
+     * This interface represents a layout of the report
+     */
+    public interface Format {
+
+        /**
+         * This method writes the start of the report
+         * @param out where to write the report
+         * @param title the title of the report
+         * @param columns the name of each series
+         * @throws IOException if the report could not be written
+         */
+        void writeHeader(Appendable out, String title, String[] columns) throws IOException;
+
+        /**
+         * This method writes the values of one year
+         * @param out where to write the report
+         * @param year the year
+         * @param columns the name of each series
+         * @param series the series, in the same order as the columns
+         * @throws IOException if the report could not be written
+         */
+        void writeRow(Appendable out, int year, String[] columns, YearSeries[] series) throws IOException;
+
+        /**
+         * This method writes the statistics of the series after the rows, formats without room for them write nothing
+         * @param out where to write the report
+         * @param columns the name of each series
+         * @param statistics the statistics of the series
+         * @throws IOException if the report could not be written
+         */
+        default void writeSummary(Appendable out, String[] columns, SeriesStatistics statistics) throws IOException {
+        }
+
+        /**
+         * This method gets the file extension of reports in this format
+         * @return the extension, without the dot
+         */
+        String getExtension();
+    }
+
+    /**
+     * This enum represents the formats the application offers
+     */
+    public enum StandardFormat implements Format {
+
+        TEXT("txt") { // the indented layout shown in the report viewer
+            @Override
+            public void writeHeader(Appendable out, String title, String[] columns) throws IOException {
+                out.append(title).append("\n======================================\n"); // report title is analysis type
+            }
+
+            @Override
+            public void writeRow(Appendable out, int year, String[] columns, YearSeries[] series) throws IOException {
+                out.append("Year ").append(Integer.toString(year)).append(":\n"); // append the year name
+                for (int i = 0; i < series.length; i++) {
+                    out.append("\t\t").append(columns[i]).append(" => ").append(series[i].format(year)).append('\n'); // append the data of each series
+                }
+            }
+
+            @Override
+            public void writeSummary(Appendable out, String[] columns, SeriesStatistics statistics) throws IOException {
+                out.append("======================================\nStatistics:\n");
+                for (int i = 0; i < statistics.getSeriesCount(); i++) {
+                    out.append("\t\t").append(columns[i]).append(" trend => ").append(formatStatistic(statistics.getTrendSlope(i))).append(" per year\n");
+                    out.append("\t\t").append(columns[i]).append(" largest yearly change => ").append(largestChange(statistics, i)).append('\n');
+                }
+                if (statistics.getSeriesCount() == 2) { // correlation needs both series
+                    out.append("\t\tPearson correlation => ").append(formatStatistic(statistics.getPearson())).append('\n');
+                    out.append("\t\tSpearman correlation => ").append(formatStatistic(statistics.getSpearman())).append('\n');
+                }
+            }
+        },
+        CSV("csv") { // comma separated values, missing years are left empty
+            @Override
+            public void writeHeader(Appendable out, String title, String[] columns) throws IOException {
+                writeDelimitedHeader(out, columns, ',');
+            }
+
+            @Override
+            public void writeRow(Appendable out, int year, String[] columns, YearSeries[] series) throws IOException {
+                writeDelimitedRow(out, year, series, ',');
+            }
+        },
+        TSV("tsv") { // tab separated values, missing years are left empty
+            @Override
+            public void writeHeader(Appendable out, String title, String[] columns) throws IOException {
+                writeDelimitedHeader(out, columns, '\t');
+            }
+
+            @Override
+            public void writeRow(Appendable out, int year, String[] columns, YearSeries[] series) throws IOException {
+                writeDelimitedRow(out, year, series, '\t');
+            }
+        };
+
+        private final String extension; // file extension of the format
+
+        /**
+         * Constructor for a format
+         * @param extension the file extension of the format
+         */
+        StandardFormat(String extension) {
+            this.extension = extension;
+        }
+
+        /**
+         * This method gets the file extension of reports in this format
+         * @return the extension, without the dot
+         */
+        @Override
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * This method finds the format of a file extension
+         * @param extension the extension, without the dot, in any case
+         * @return the format, or null if no format uses the extension
+         */
+        public static StandardFormat forExtension(String extension) {
+            for (StandardFormat format : values()) {
+                if (format.extension.equalsIgnoreCase(extension)) return format;
+            }
+            return null;
+        }
+    }
+
+    private final Format format; // the layout of the report
+    private final Appendable out; // where the report is written
+
+    /**
+     * Constructor for the report writer
+     * @param format the layout of the report
+     * @param out where to write the report
+     */
+    public ReportWriter(Format format, Appendable out) {
+        this.format = format;
+        this.out = out;
+    }
+
+    /**
+     * This method writes a report of several series over a range of years. Series can be of any indicators and countries
+     * @param title the title of the report
+     * @param columns the name of each series
+     * @param series the series, in the same order as the columns
+     * @param startYear the first year of the report
+     * @param endYear the last year of the report
+     * @throws IOException if the report could not be written
+     */
+    public void write(String title, String[] columns, YearSeries[] series, int startYear, int endYear) throws IOException {
+        format.writeHeader(out, title, columns);
+        for (int year = startYear; year <= endYear; year++) { // loop through selected years
+            format.writeRow(out, year, columns, series);
+        }
+    }
+
+    /**
+     * This method writes the report of an analysis, the series of its first indicator followed by the second if the analysis type has one
+     * @param analysis the analysis
+     * @throws IOException if the report could not be written
+     */
+    public void write(Analysis analysis) throws IOException {
+        IndicatorRegistry.AnalysisType analysisType = analysis.getAnalysisType();
+        String[] columns = analysisType.isPair()
+                ? new String[]{analysisType.getPrimary().getLabel(), analysisType.getSecondary().getLabel()} // one column per indicator
+                : new String[]{analysisType.getPrimary().getLabel()};
+        YearSeries[] series = analysis.getSeries();
+        write(analysisType.getName(), columns, series, analysis.getCurrentStartYear(), analysis.getCurrentEndYear()); // report title is analysis type
+        SeriesStatistics statistics = analysis.getStatistics();
+        if (statistics != null) format.writeSummary(out, columns, statistics);
+    }
+
+    /**
+     * This method formats a statistic for the text report
+     * @param value the statistic
+     * @return the statistic to 4 decimal places, or "null" if it is NaN
+     */
+    private static String formatStatistic(double value) {
+        return Double.isNaN(value) ? "null" : String.format(Locale.ROOT, "%.4f", value);
+    }
+
+    /**
+     * This method describes the largest change of a series from one year to the next
+     * @param statistics the statistics of the series
+     * @param series index of the series
+     * @return the change and the year it happened in, or "null" if no two consecutive years have values
+     */
+    private static String largestChange(SeriesStatistics statistics, int series) {
+        int largestYear = -1;
+        double largest = 0;
+        for (int year = statistics.getStartYear() + 1; year <= statistics.getEndYear(); year++) {
+            double change = statistics.getYearOverYear(series, year);
+            if (!Double.isNaN(change) && (largestYear == -1 || Math.abs(change) > Math.abs(largest))) {
+                largest = change;
+                largestYear = year;
+            }
+        }
+        return largestYear == -1 ? "null" : formatStatistic(largest) + " in " + largestYear;
+    }
+
+    /**
+     * This method writes the header line of a delimited format
+     * @param out where to write the report
+     * @param columns the name of each series
+     * @param delimiter the separator between fields
+     * @throws IOException if the report could not be written
+     */
+    private static void writeDelimitedHeader(Appendable out, String[] columns, char delimiter) throws IOException {
+        out.append("Year");
+        for (String column : columns) {
+            out.append(delimiter);
+            writeField(out, column, delimiter);
+        }
+        out.append('\n');
+    }
+
+    /**
+     * This method writes one year of a delimited format
+     * @param out where to write the report
+     * @param year the year
+     * @param series the series
+     * @param delimiter the separator between fields
+     * @throws IOException if the report could not be written
+     */
+    private static void writeDelimitedRow(Appendable out, int year, YearSeries[] series, char delimiter) throws IOException {
+        out.append(Integer.toString(year));
+        for (YearSeries values : series) {
+            out.append(delimiter);
+            if (!values.isMissing(year)) out.append(Double.toString(values.get(year))); // a missing year is an empty field
+        }
+        out.append('\n');
+    }
+
+    /**
+     * This method writes a text field of a delimited format. CSV fields containing a comma, quote or line break are quoted,
+     * TSV has no quoting so tabs and line breaks are replaced by spaces
+     * @param out where to write the report
+     * @param field the text of the field
+     * @param delimiter the separator between fields
+     * @throws IOException if the report could not be written
+     */
+    private static void writeField(Appendable out, String field, char delimiter) throws IOException {
+        if (delimiter == '\t') {
+            out.append(field.replace('\t', ' ').replace('\n', ' ').replace('\r', ' '));
+        } else if (field.indexOf(delimiter) >= 0 || field.indexOf('"') >= 0 || field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0) {
+            out.append('"').append(field.replace("\"", "\"\"")).append('"');
+        } else {
+            out.append(field);
+        }
+    }
+}
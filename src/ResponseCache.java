@@ -0,0 +1,268 @@
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * This class represents a persistent on-disk cache of API responses, keyed by country code, indicator and year range.
+ * Entries expire after a time-to-live, and the least recently used entries are evicted once the cache grows past its size limit
+ * @author Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie
+ */
+public class ResponseCache {
+
+    public static final long DEFAULT_TTL = 24L * 60 * 60 * 1000; // entries are fresh for one day
+    public static final long DEFAULT_MAX_BYTES = 16L * 1024 * 1024; // the cache directory is kept under 16MB
+
+    private static final int MAGIC = 0x43534153; // the bytes "CSAS", written at the start of every entry file
+    private static final int VERSION = 2; // version of the entry file format, version 2 added the validators
+    private static final String EXTENSION = ".csc"; // file extension of entry files
+
+    private static ResponseCache sharedCache; // the cache shared by every DatabaseAPIHandler
+
+    private final File directory; // the directory the entry files are stored in
+    private final long ttl; // time-to-live of an entry in milliseconds
+    private final long maxBytes; // maximum total size of the entry files in bytes
+    private final LinkedHashMap<String, File> index = new LinkedHashMap<>(16, 0.75f, true); // access ordered map of keys to entry files, the eldest key is the least recently used
+    private long totalBytes; // current total size of the entry files in bytes
+
+    /**
+     * Constructor for the response cache, loads the index of any entries already stored in the directory
+     * @param directory the directory to store entry files in
+     * @param ttl the time-to-live of an entry in milliseconds
+     * @param maxBytes the maximum total size of the entry files in bytes
+     */
+    public ResponseCache(File directory, long ttl, long maxBytes) {
+        this.directory = directory;
+        this.ttl = ttl;
+        this.maxBytes = maxBytes;
+        loadIndex();
+    }
+
+    /**
+     * This method gets the cache shared across the application, creating it on first use
+     * @return the shared response cache
+     */
+    public static synchronized ResponseCache getSharedCache() {
+        if (sharedCache == null) {
+            sharedCache = new ResponseCache(new File(System.getProperty("csas.cache.dir", "cache")), DEFAULT_TTL, DEFAULT_MAX_BYTES); // directory can be overridden with -Dcsas.cache.dir
+        }
+        return sharedCache;
+    }
+
+    /**
+     * This method creates the cache key of a request
+     * @param countryCode the ISO3 code of the country
+     * @param indicator the repository indicator
+     * @param startYear the start year of the request
+     * @param endYear the end year of the request
+     * @return the key, which is also safe to use as a file name
+     */
+    public static String createKey(String countryCode, String indicator, int startYear, int endYear) {
+        return countryCode + "_" + indicator + "_" + startYear + "_" + endYear;
+    }
+
+    /**
+     * This method gets the data stored for a key, if it exists and has not expired
+     * @param key the cache key
+     * @return the stored data, or null if there is no fresh entry for the key
+     */
+    public synchronized byte[] get(String key) {
+        Entry entry = getEntry(key);
+        return entry != null && entry.isFresh() ? entry.getData() : null;
+    }
+
+    /**
+     * This method gets the entry stored for a key even if it has expired, so that it can be revalidated with the API
+     * @param key the cache key
+     * @return the entry, or null if there is no entry for the key
+     */
+    public synchronized Entry getEntry(String key) {
+        File file = index.get(key); // also marks the key as most recently used
+        if (file == null) return null;
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) { // not an entry file we understand
+                remove(key);
+                return null;
+            }
+            long storedAt = in.readLong();
+            String etag = in.readUTF(); // validators of the response, empty if the API did not send them
+            String lastModified = in.readUTF();
+            byte[] data = new byte[in.readInt()]; // uncompressed length of the data
+            new DataInputStream(new GZIPInputStream(in)).readFully(data);
+            file.setLastModified(System.currentTimeMillis()); // keep the access order across restarts
+            return new Entry(data, System.currentTimeMillis() - storedAt <= ttl,
+                    etag.isEmpty() ? null : etag, lastModified.isEmpty() ? null : lastModified);
+        } catch (IOException e) { // corrupt or unreadable entry, treat as a miss
+            remove(key);
+            return null;
+        }
+    }
+
+    /**
+     * This method stores data for a key without validators
+     * @param key the cache key
+     * @param data the data to store
+     */
+    public void put(String key, byte[] data) {
+        put(key, data, null, null);
+    }
+
+    /**
+     * This method stores data for a key, evicting least recently used entries if the cache grows too large.
+     * The cache is best effort, so failures to write are ignored
+     * @param key the cache key
+     * @param data the data to store
+     * @param etag the ETag the API sent with the data, or null
+     * @param lastModified the Last-Modified date the API sent with the data, or null
+     */
+    public synchronized void put(String key, byte[] data, String etag, String lastModified) {
+        if (!directory.isDirectory() && !directory.mkdirs()) return; // can not create the cache directory
+        remove(key); // drop any old entry so the sizes stay correct
+        File file = new File(directory, key + EXTENSION);
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(System.currentTimeMillis()); // time the entry was stored, used for the time-to-live
+            out.writeUTF(etag == null ? "" : etag);
+            out.writeUTF(lastModified == null ? "" : lastModified);
+            out.writeInt(data.length);
+            out.write(compress(data));
+        } catch (IOException e) {
+            file.delete();
+            return;
+        }
+        index.put(key, file);
+        totalBytes += file.length();
+        evict();
+    }
+
+    /**
+     * This method restarts the time-to-live of an entry, called when the API confirms the cached data has not changed
+     * @param key the cache key
+     */
+    public synchronized void renew(String key) {
+        Entry entry = getEntry(key);
+        if (entry != null) put(key, entry.getData(), entry.getETag(), entry.getLastModified());
+    }
+
+    /**
+     * This method removes the entry for a key, if one exists
+     * @param key the cache key
+     */
+    private void remove(String key) {
+        File file = index.remove(key);
+        if (file != null) {
+            totalBytes -= file.length();
+            file.delete();
+        }
+    }
+
+    /**
+     * This method evicts least recently used entries until the cache is within its size limit
+     */
+    private void evict() {
+        Iterator<Map.Entry<String, File>> it = index.entrySet().iterator(); // iterates from least to most recently used
+        while (totalBytes > maxBytes && it.hasNext()) {
+            File file = it.next().getValue();
+            totalBytes -= file.length();
+            file.delete();
+            it.remove();
+        }
+    }
+
+    /**
+     * This method builds the index from the entry files in the cache directory, ordered by when they were last used
+     */
+    private void loadIndex() {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(EXTENSION));
+        if (files == null) return; // the directory does not exist yet
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified)); // oldest first, so the eldest key is the least recently used
+        for (File file : files) {
+            String name = file.getName();
+            index.put(name.substring(0, name.length() - EXTENSION.length()), file);
+            totalBytes += file.length();
+        }
+        evict();
+    }
+
+    /**
+     * This method gzip compresses a byte array
+     * @param data the data to compress
+     * @return the compressed data
+     * @throws IOException if the data could not be compressed
+     */
+    private static byte[] compress(byte[] data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(data);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * This class represents an entry read from the cache
+     */
+    public static class Entry {
+
+        private final byte[] data; // the stored data
+        private final boolean fresh; // whether the entry was within its time-to-live when read
+        private final String etag; // validators of the response the data came from, null if the API did not send them
+        private final String lastModified;
+
+        /**
+         * Constructor for an entry
+         * @param data the stored data
+         * @param fresh whether the entry is within its time-to-live
+         * @param etag the ETag of the response, or null
+         * @param lastModified the Last-Modified date of the response, or null
+         */
+        Entry(byte[] data, boolean fresh, String etag, String lastModified) {
+            this.data = data;
+            this.fresh = fresh;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * This method gets the stored data
+         * @return the data
+         */
+        public byte[] getData() {
+            return data;
+        }
+
+        /**
+         * This method checks whether the entry was within its time-to-live when it was read
+         * @return true if the entry is fresh
+         */
+        public boolean isFresh() {
+            return fresh;
+        }
+
+        /**
+         * This method gets the ETag of the response the data came from
+         * @return the ETag, or null if the API did not send one
+         */
+        public String getETag() {
+            return etag;
+        }
+
+        /**
+         * This method gets the Last-Modified date of the response the data came from
+         * @return the date, or null if the API did not send one
+         */
+        public String getLastModified() {
+            return lastModified;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This class represents a policy for retrying failed API calls with jittered exponential backoff, bounded by a deadline
+ * @author Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie
+ */
+public class RetryPolicy {
+
+    /**
+     * This interface represents a call that can be retried
+     * @param <T> the result type of the call
+     */
+    public interface Attempt<T> {
+
+        /**
+         * This method makes one attempt at the call
+         * @param timeoutMillis how long this attempt may take
+         * @return the result of the call
+         * @throws IOException if the attempt failed
+         */
+        T run(long timeoutMillis) throws IOException;
+    }
+
+    private final int maxAttempts; // the most attempts made for one call
+    private final long baseDelayMillis; // the delay before the first retry, doubled for each retry after
+    private final long maxDelayMillis; // the longest delay between attempts
+
+    /**
+     * Constructor for the retry policy
+     * @param maxAttempts the most attempts made for one call
+     * @param baseDelayMillis the delay before the first retry, doubled for each retry after
+     * @param maxDelayMillis the longest delay between attempts
+     */
+    public RetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis) {
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    /**
+     * This method makes a call, retrying transient failures until it succeeds, the attempts run out or the deadline passes
+     * @param attempt the call
+     * @param deadlineMillis the time by which the call must finish, in milliseconds since the epoch
+     * @param <T> the result type of the call
+     * @return the result of the first successful attempt
+     * @throws IOException the failure of the last attempt, or an InterruptedIOException if the calling thread was interrupted
+     */
+    public <T> T call(Attempt<T> attempt, long deadlineMillis) throws IOException {
+        for (int i = 1; ; i++) {
+            long remaining = deadlineMillis - System.currentTimeMillis();
+            if (remaining <= 0) throw new IOException("Deadline passed before the API responded");
+            try {
+                return attempt.run(remaining);
+            } catch (IOException e) {
+                if (Thread.currentThread().isInterrupted() || !isTransient(e) || i >= maxAttempts) throw e; // give up
+                long delay = delayBeforeRetry(i);
+                if (System.currentTimeMillis() + delay >= deadlineMillis) throw e; // no time left for another attempt
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt(); // preserve the interrupt for the caller
+                    throw new InterruptedIOException("Request cancelled");
+                }
+            }
+        }
+    }
+
+    /**
+     * This method calculates the delay before a retry, half of the exponential delay is fixed and the other half random
+     * so that clients that failed together do not retry together
+     * @param attempt the number of the attempt that just failed, starting at 1
+     * @return the delay in milliseconds
+     */
+    long delayBeforeRetry(int attempt) {
+        long delay = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 20));
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    /**
+     * This method checks whether a failure is worth retrying
+     * @param e the failure
+     * @return false for client errors (4xx other than 429 Too Many Requests) since repeating the request will not help
+     */
+    private static boolean isTransient(IOException e) {
+        if (e instanceof ApiClient.StatusException) {
+            int status = ((ApiClient.StatusException) e).getStatus();
+            return status >= 500 || status == 429;
+        }
+        return true; // connection failures and timeouts
+    }
+}
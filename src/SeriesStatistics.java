@@ -0,0 +1,186 @@
+import org.jfree.data.statistics.Regression;
+
+import java.util.Arrays;
+
+/**
+ * This class represents the statistics derived from the series of an analysis over a range of years: the Pearson and Spearman
+ * correlation between the two series, an ordinary least squares trend of each series over the years, and the change of each
+ * series from one year to the next. Everything is computed on primitive arrays, so recomputing for every country is cheap
+ * @author Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie
+ */
+public class SeriesStatistics {
+
+    private final int startYear; // the range of years the statistics cover
+    private final int endYear;
+    private final double pearson; // correlation between the two series, NaN if there is only one series or too few years
+    private final double spearman;
+    private final double[][] trends; // the intercept and slope of the trend of each series, NaN if it has too few years
+    private final double[][] yearOverYear; // the change of each series from the previous year, by year - startYear, NaN for the first year and around missing years
+
+    /**
+     * Constructor for the statistics, computes them from the series
+     * @param series the series, one or two
+     * @param startYear the first year of the range
+     * @param endYear the last year of the range
+     */
+    public SeriesStatistics(YearSeries[] series, int startYear, int endYear) {
+        this.startYear = startYear;
+        this.endYear = endYear;
+        int years = endYear + 1 - startYear;
+        double[][] values = new double[series.length][years]; // the values of each series, by year - startYear
+        trends = new double[series.length][];
+        yearOverYear = new double[series.length][years];
+        for (int s = 0; s < series.length; s++) {
+            double[][] points = new double[years][]; // the (year, value) points of the years that have values
+            int count = 0;
+            for (int i = 0; i < years; i++) { // a single pass gathers the values, the regression points and the yearly changes
+                values[s][i] = series[s].get(startYear + i);
+                yearOverYear[s][i] = i == 0 ? Double.NaN : values[s][i] - values[s][i - 1]; // NaN propagates around missing years
+                if (!Double.isNaN(values[s][i])) points[count++] = new double[]{startYear + i, values[s][i]};
+            }
+            trends[s] = count < 2 ? new double[]{Double.NaN, Double.NaN} : Regression.getOLSRegression(Arrays.copyOf(points, count));
+        }
+        if (series.length == 2) {
+            pearson = pearson(values[0], values[1]);
+            spearman = spearman(values[0], values[1]);
+        } else {
+            pearson = Double.NaN;
+            spearman = Double.NaN;
+        }
+    }
+
+    /**
+     * This method gets the Pearson correlation between the two series
+     * @return the correlation, or NaN if there is only one series or fewer than 2 years with both values
+     */
+    public double getPearson() {
+        return pearson;
+    }
+
+    /**
+     * This method gets the Spearman rank correlation between the two series
+     * @return the correlation, or NaN if there is only one series or fewer than 2 years with both values
+     */
+    public double getSpearman() {
+        return spearman;
+    }
+
+    /**
+     * This method gets the first year the statistics cover
+     * @return the start year
+     */
+    public int getStartYear() {
+        return startYear;
+    }
+
+    /**
+     * This method gets the last year the statistics cover
+     * @return the end year
+     */
+    public int getEndYear() {
+        return endYear;
+    }
+
+    /**
+     * This method gets the number of series the statistics were computed from
+     * @return 1 or 2
+     */
+    public int getSeriesCount() {
+        return trends.length;
+    }
+
+    /**
+     * This method gets the slope of the trend of a series, its average change per year
+     * @param series index of the series
+     * @return the slope, or NaN if the series has fewer than 2 years with values
+     */
+    public double getTrendSlope(int series) {
+        return trends[series][1];
+    }
+
+    /**
+     * This method gets the value of the trend of a series in a year
+     * @param series index of the series
+     * @param year the year
+     * @return the value on the trend line, or NaN if the series has fewer than 2 years with values
+     */
+    public double getTrendValue(int series, int year) {
+        return trends[series][0] + trends[series][1] * year;
+    }
+
+    /**
+     * This method gets the change of a series from the previous year
+     * @param series index of the series
+     * @param year the year
+     * @return the change, or NaN for the first year of the range or if either year is missing
+     */
+    public double getYearOverYear(int series, int year) {
+        return year < startYear || year > endYear ? Double.NaN : yearOverYear[series][year - startYear];
+    }
+
+    /**
+     * This method calculates the Pearson correlation of the years where both series have values.
+     * JFreeChart's Statistics.getCorrelation takes boxed Number arrays, so it is calculated here on the primitive arrays instead
+     * @param x the values of the first series
+     * @param y the values of the second series
+     * @return the correlation, or NaN if fewer than 2 years have both values or a series is constant
+     */
+    private static double pearson(double[] x, double[] y) {
+        int n = 0;
+        double sumX = 0, sumY = 0, sumXX = 0, sumYY = 0, sumXY = 0;
+        for (int i = 0; i < x.length; i++) {
+            if (Double.isNaN(x[i]) || Double.isNaN(y[i])) continue; // only pairs where both are known
+            n++;
+            sumX += x[i];
+            sumY += y[i];
+            sumXX += x[i] * x[i];
+            sumYY += y[i] * y[i];
+            sumXY += x[i] * y[i];
+        }
+        if (n < 2) return Double.NaN;
+        double covariance = n * sumXY - sumX * sumY;
+        double varianceX = n * sumXX - sumX * sumX;
+        double varianceY = n * sumYY - sumY * sumY;
+        if (varianceX <= 0 || varianceY <= 0) return Double.NaN; // a constant series has no correlation
+        return covariance / Math.sqrt(varianceX * varianceY);
+    }
+
+    /**
+     * This method calculates the Spearman rank correlation of the years where both series have values, the Pearson correlation of their ranks
+     * @param x the values of the first series
+     * @param y the values of the second series
+     * @return the correlation, or NaN if fewer than 2 years have both values or a series is constant
+     */
+    private static double spearman(double[] x, double[] y) {
+        int n = 0;
+        double[] pairedX = new double[x.length];
+        double[] pairedY = new double[y.length];
+        for (int i = 0; i < x.length; i++) {
+            if (Double.isNaN(x[i]) || Double.isNaN(y[i])) continue;
+            pairedX[n] = x[i];
+            pairedY[n] = y[i];
+            n++;
+        }
+        return pearson(ranks(pairedX, n), ranks(pairedY, n));
+    }
+
+    /**
+     * This method ranks values, tied values share the average of their ranks
+     * @param values the values, only the first n are ranked
+     * @param n the number of values
+     * @return the rank of each value, starting at 1
+     */
+    private static double[] ranks(double[] values, int n) {
+        double[] sorted = Arrays.copyOf(values, n);
+        Arrays.sort(sorted); // sorting primitive doubles, no boxing
+        double[] ranks = new double[n];
+        for (int i = 0; i < n; i++) {
+            int first = Arrays.binarySearch(sorted, values[i]); // any position of the value among the sorted values
+            int last = first;
+            while (first > 0 && sorted[first - 1] == values[i]) first--; // widen to every tied value
+            while (last < n - 1 && sorted[last + 1] == values[i]) last++;
+            ranks[i] = (first + last) / 2.0 + 1; // average rank of the ties
+        }
+        return ranks;
+    }
+}
@@ -0,0 +1,171 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class represents the series held in memory for the session, by country and indicator, along with which years of each have been loaded.
+ * When the selected range widens only the years not held yet need to be requested. A series is only trusted for as long as a cached response,
+ * once it is older than the response cache's time-to-live its years count as missing again, so they are revalidated with the API
+ * @author Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie
+ */
+public class SeriesStore {
+
+    private static final SeriesStore shared = new SeriesStore(); // the store used by every analysis
+
+    private final Map<String, YearSeries> series = new HashMap<>(); // resident series, by country code and indicator
+    private final Map<String, BitSet> loaded = new HashMap<>(); // set bits are the years of each series that have been loaded
+    private final Map<String, Long> fetchedAt = new HashMap<>(); // when the oldest loaded years of each series were fetched from the API
+    private final long maxAge; // how long a series is trusted after it was fetched, in milliseconds
+
+    /**
+     * Constructor for a store whose series are trusted for as long as a cached response
+     */
+    public SeriesStore() {
+        this(ResponseCache.DEFAULT_TTL);
+    }
+
+    /**
+     * Constructor for a store
+     * @param maxAge how long a series is trusted after it was fetched, in milliseconds
+     */
+    public SeriesStore(long maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * This method gets the store shared by every analysis
+     * @return the shared store
+     */
+    public static SeriesStore getShared() {
+        return shared;
+    }
+
+    /**
+     * This method finds the sub-ranges of a range that have not been loaded yet. A series older than the maximum age is dropped first,
+     * so the whole range is missing and gets requested again
+     * @param country index of the country
+     * @param indicator index of the indicator in the registry
+     * @param startYear the first year of the range
+     * @param endYear the last year of the range
+     * @return the missing sub-ranges as {start, end} pairs in year order, empty if the whole range is held
+     */
+    public synchronized List<int[]> getMissingRanges(int country, int indicator, int startYear, int endYear) {
+        String key = createKey(country, indicator);
+        Long fetched = fetchedAt.get(key);
+        if (fetched != null && System.currentTimeMillis() - fetched > maxAge) { // expired, its values are kept until they are replaced
+            loaded.remove(key);
+            fetchedAt.remove(key);
+        }
+        BitSet years = loaded.get(key);
+        List<int[]> ranges = new ArrayList<>();
+        int end = endYear - Util.MIN_YEAR;
+        for (int i = startYear - Util.MIN_YEAR; i <= end; ) {
+            int from = years == null ? i : years.nextClearBit(i); // first year not loaded
+            if (from > end) break;
+            int nextLoaded = years == null ? -1 : years.nextSetBit(from);
+            int to = nextLoaded < 0 ? end : Math.min(end, nextLoaded - 1); // last year of the gap
+            ranges.add(new int[]{Util.MIN_YEAR + from, Util.MIN_YEAR + to});
+            i = to + 1;
+        }
+        return ranges;
+    }
+
+    /**
+     * This method merges requested data into the resident series and marks its years as loaded
+     * @param country index of the country
+     * @param indicator index of the indicator in the registry
+     * @param startYear the first year that was requested
+     * @param endYear the last year that was requested
+     * @param data the requested data
+     */
+    public synchronized void merge(int country, int indicator, int startYear, int endYear, YearSeries data) {
+        String key = createKey(country, indicator);
+        YearSeries resident = series.computeIfAbsent(key, k -> new YearSeries());
+        for (int year = startYear; year <= endYear; year++) {
+            resident.set(year, data.get(year)); // a missing year stays missing, but now counts as loaded
+        }
+        loaded.computeIfAbsent(key, k -> new BitSet(YearSeries.SIZE)).set(startYear - Util.MIN_YEAR, endYear + 1 - Util.MIN_YEAR);
+        fetchedAt.putIfAbsent(key, System.currentTimeMillis()); // years loaded earlier keep the series as old as they are
+    }
+
+    /**
+     * This method copies a range of a resident series, so the copy is unaffected by later merges
+     * @param country index of the country
+     * @param indicator index of the indicator in the registry
+     * @param startYear the first year of the range
+     * @param endYear the last year of the range
+     * @return the copy, where years that are not held are missing
+     */
+    public synchronized YearSeries getSeries(int country, int indicator, int startYear, int endYear) {
+        YearSeries copy = new YearSeries();
+        YearSeries resident = series.get(createKey(country, indicator));
+        if (resident != null) {
+            for (int year = startYear; year <= endYear; year++) {
+                copy.set(year, resident.get(year));
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * This method writes every resident series, the years loaded for it and when they were fetched, so a later session can start with them.
+     * Series are keyed by country code and indicator code, which stay valid when countries or indicators are added
+     * @param out the output to write to
+     * @throws IOException if the series could not be written
+     */
+    public synchronized void writeTo(DataOutput out) throws IOException {
+        out.writeInt(fetchedAt.size());
+        for (Map.Entry<String, YearSeries> entry : series.entrySet()) {
+            if (!fetchedAt.containsKey(entry.getKey())) continue; // expired and not requested again, nothing to save
+            out.writeUTF(entry.getKey());
+            out.writeLong(fetchedAt.get(entry.getKey()));
+            long[] years = loaded.get(entry.getKey()).toLongArray(); // one long holds every year
+            out.writeByte(years.length);
+            for (long word : years) out.writeLong(word);
+            entry.getValue().writeTo(out); // only the years that have values
+        }
+    }
+
+    /**
+     * This method reads series written by writeTo into the store. Years already loaded in this session are kept as they are,
+     * and the restored years keep the time they were first fetched, so saving them again does not make them any fresher
+     * @param in the input to read from
+     * @return the number of series read
+     * @throws IOException if the series could not be read
+     */
+    public synchronized int readFrom(DataInput in) throws IOException {
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            String key = in.readUTF();
+            long fetched = in.readLong();
+            long[] words = new long[in.readByte()];
+            for (int j = 0; j < words.length; j++) words[j] = in.readLong();
+            BitSet years = BitSet.valueOf(words);
+            YearSeries data = YearSeries.readFrom(in);
+            YearSeries resident = series.computeIfAbsent(key, k -> new YearSeries());
+            BitSet residentYears = loaded.computeIfAbsent(key, k -> new BitSet(YearSeries.SIZE));
+            for (int year = years.nextSetBit(0); year >= 0; year = years.nextSetBit(year + 1)) {
+                if (residentYears.get(year)) continue; // data requested this session is newer
+                resident.set(Util.MIN_YEAR + year, data.get(Util.MIN_YEAR + year));
+                residentYears.set(year);
+                fetchedAt.merge(key, fetched, Math::min); // the series is as old as its oldest years
+            }
+        }
+        return count;
+    }
+
+    /**
+     * This method creates the key of a series
+     * @param country index of the country
+     * @param indicator index of the indicator in the registry
+     * @return the key
+     */
+    private static String createKey(int country, int indicator) {
+        return Util.COUNTRY_CODES[country] + "_" + IndicatorRegistry.getShared().getIndicator(indicator).getCode();
+    }
+}
@@ -0,0 +1,77 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class represents the batch job that downloads every indicator for every country into the offline snapshot.
+ * Usage: java SnapshotImporter [-file snapshot.dat] [-maxAge hours] [indicator ...]
+ * With no indicators every indicator in the registry is refreshed, and with -maxAge only indicators refreshed longer ago than that are
+ * @author Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie
+ */
+public class SnapshotImporter {
+
+    /**
+     * The main method of the importer
+     * @param args command line args
+     */
+    public static void main(String[] args) {
+        File file = new File(SnapshotStore.DEFAULT_FILE);
+        long maxAgeMillis = -1; // refresh regardless of age by default
+        List<String> indicators = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) { // parse the command line args
+            if (args[i].equals("-file") && i + 1 < args.length) {
+                file = new File(args[++i]);
+            } else if (args[i].equals("-maxAge") && i + 1 < args.length) {
+                maxAgeMillis = Long.parseLong(args[++i]) * 60 * 60 * 1000;
+            } else {
+                indicators.add(args[i]);
+            }
+        }
+        try {
+            SnapshotStore store = openForRefresh(file);
+            int[] countries = new int[Util.COUNTRY_CODES.length]; // every country is requested
+            for (int i = 0; i < countries.length; i++) countries[i] = i;
+            DatabaseAPIHandler apiHandler = new DatabaseAPIHandler();
+            String[] indicatorCodes = IndicatorRegistry.getShared().getIndicatorCodes();
+            for (int type = 0; type < indicatorCodes.length; type++) {
+                if (!indicators.isEmpty() && !indicators.contains(indicatorCodes[type])) continue; // not one of the requested indicators
+                if (maxAgeMillis >= 0 && System.currentTimeMillis() - store.getRefreshedAt(type) < maxAgeMillis) continue; // still fresh
+                System.out.println("Refreshing " + indicatorCodes[type] + "...");
+                YearSeries[] series = apiHandler.requestBatch(countries, new int[]{type}, Util.MIN_YEAR, Util.MAX_YEAR)[0];
+                for (int country = 0; country < countries.length; country++) {
+                    store.putSeries(country, type, series[country]);
+                }
+                store.setRefreshedAt(type, System.currentTimeMillis());
+                store.flush(); // write each indicator as soon as it is done, so an interrupted import keeps its progress
+            }
+            System.out.println("Snapshot " + file + " is up to date");
+        } catch (IOException e) {
+            System.err.println("Snapshot import failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * This method opens the snapshot for refreshing. If the file does not exist or was built for a different set of countries,
+     * indicators or years, a new file is written and the data of the old one carried over. The old file is only ever read into memory,
+     * never mapped, so nothing maps it while it is replaced
+     * @param file the snapshot file
+     * @return the snapshot, opened for writing
+     * @throws IOException if the snapshot could not be opened or created
+     */
+    private static SnapshotStore openForRefresh(File file) throws IOException {
+        String[] indicatorCodes = IndicatorRegistry.getShared().getIndicatorCodes();
+        SnapshotStore existing = file.isFile() ? SnapshotStore.read(file) : null;
+        if (existing == null || !existing.hasLayout(Util.COUNTRY_CODES, indicatorCodes, Util.MIN_YEAR, Util.MAX_YEAR)) {
+            SnapshotStore store = SnapshotStore.create(Util.COUNTRY_CODES, indicatorCodes, Util.MIN_YEAR, Util.MAX_YEAR);
+            if (existing != null) store.copyFrom(existing); // keep everything the old layout already had
+            File rebuilt = new File(file.getPath() + ".tmp");
+            store.writeTo(rebuilt);
+            Files.move(rebuilt.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING); // replace the old file in one step
+        }
+        return SnapshotStore.open(file, true); // map the file only once it is in place, so indicators are written straight to it
+    }
+}
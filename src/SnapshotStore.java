@@ -0,0 +1,311 @@
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class represents an offline snapshot of every indicator for every country, stored in a memory-mapped columnar binary file.
+ * The file holds a header listing the countries, indicators and years it covers and when each indicator was last refreshed,
+ * followed by one column per indicator of country-major year values, so any (country, indicator, year) is read in constant time
+ * @author Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie
+ */
+public class SnapshotStore {
+
+    public static final String DEFAULT_FILE = "snapshot.dat"; // snapshot file used when -Dcsas.snapshot is not set
+
+    private static final int MAGIC = 0x43534E50; // the bytes "CSNP", written at the start of the file
+    private static final int VERSION = 1; // version of the file format
+
+    private static SnapshotStore sharedStore; // the snapshot used by the application, null if there is none
+    private static boolean sharedOpened; // whether opening the shared snapshot has been attempted
+
+    private final ByteBuffer buffer; // the whole file, mapped into memory or read into the heap
+    private final DoubleBuffer data; // view of the value columns
+    private final int timestampOffset; // offset of the per-indicator refresh times in the file
+    private final String[] countryCodes; // the countries in the file, in column order
+    private final String[] indicatorCodes; // the indicators in the file, in column order
+    private final int minYear; // the years covered by the file
+    private final int maxYear;
+    private final int years; // number of years per country
+    private final int[] countryPositions = new int[Util.COUNTRY_CODES.length]; // position in the file of each country index in Util, -1 if not in the file
+    private final int[] indicatorPositions = new int[IndicatorRegistry.getShared().getIndicatorCount()]; // position in the file of each indicator index in the registry, -1 if not in the file
+
+    /**
+     * Constructor for the snapshot store, reads the header of a snapshot file
+     * @param buffer the whole file
+     * @throws IOException if the file is not a snapshot
+     */
+    private SnapshotStore(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) throw new IOException("Not a snapshot file");
+        minYear = buffer.getInt();
+        maxYear = buffer.getInt();
+        years = maxYear + 1 - minYear;
+        countryCodes = new String[buffer.getInt()];
+        indicatorCodes = new String[buffer.getInt()];
+        for (int i = 0; i < countryCodes.length; i++) countryCodes[i] = readString(buffer);
+        for (int i = 0; i < indicatorCodes.length; i++) indicatorCodes[i] = readString(buffer);
+        timestampOffset = align(buffer.position());
+        int dataOffset = timestampOffset + 8 * indicatorCodes.length;
+        if (buffer.capacity() < dataOffset + 8L * indicatorCodes.length * countryCodes.length * years) throw new IOException("Truncated snapshot file");
+        buffer.position(dataOffset);
+        data = buffer.slice().asDoubleBuffer();
+        buffer.position(0);
+        mapPositions(Util.COUNTRY_CODES, countryCodes, countryPositions);
+        mapPositions(IndicatorRegistry.getShared().getIndicatorCodes(), indicatorCodes, indicatorPositions);
+    }
+
+    /**
+     * This method opens a snapshot file
+     * @param file the snapshot file
+     * @param writable whether the snapshot will be refreshed
+     * @return the snapshot store
+     * @throws IOException if the file could not be opened or is not a snapshot
+     */
+    public static SnapshotStore open(File file, boolean writable) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, writable ? "rw" : "r");
+             FileChannel channel = raf.getChannel()) {
+            MappedByteBuffer buffer = channel.map(writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, 0, channel.size()); // the mapping stays valid after the channel is closed
+            return new SnapshotStore(buffer);
+        }
+    }
+
+    /**
+     * This method reads a whole snapshot file into memory without mapping it, so the file can be replaced while the snapshot is in use
+     * @param file the snapshot file
+     * @return the snapshot store, changes to it are only written by writeTo
+     * @throws IOException if the file could not be read or is not a snapshot
+     */
+    public static SnapshotStore read(File file) throws IOException {
+        return new SnapshotStore(ByteBuffer.wrap(Files.readAllBytes(file.toPath())));
+    }
+
+    /**
+     * This method creates an empty snapshot in memory, where no indicator has been loaded yet
+     * @param countryCodes the countries the snapshot covers
+     * @param indicatorCodes the indicators the snapshot covers
+     * @param minYear the first year the snapshot covers
+     * @param maxYear the last year the snapshot covers
+     * @return the snapshot store, changes to it are only written by writeTo
+     * @throws IOException if the snapshot could not be created
+     */
+    public static SnapshotStore create(String[] countryCodes, String[] indicatorCodes, int minYear, int maxYear) throws IOException {
+        long values = (long) indicatorCodes.length * countryCodes.length * (maxYear + 1 - minYear);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream((int) (1024 + 8 * values));
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(minYear);
+            out.writeInt(maxYear);
+            out.writeInt(countryCodes.length);
+            out.writeInt(indicatorCodes.length);
+            for (String code : countryCodes) out.writeUTF(code);
+            for (String code : indicatorCodes) out.writeUTF(code);
+            for (int i = out.size(); i < align(out.size()); i++) out.writeByte(0); // pad so the columns are 8 byte aligned
+            for (int i = 0; i < indicatorCodes.length; i++) out.writeLong(0); // no indicator has been refreshed
+            for (long i = 0; i < values; i++) out.writeDouble(Double.NaN); // every value starts out missing
+        }
+        return new SnapshotStore(ByteBuffer.wrap(bytes.toByteArray()));
+    }
+
+    /**
+     * This method writes the whole snapshot to a file, replacing any existing file
+     * @param file the file to write
+     * @throws IOException if the file could not be written
+     */
+    public void writeTo(File file) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(file);
+             FileChannel channel = out.getChannel()) {
+            ByteBuffer whole = buffer.duplicate();
+            whole.position(0);
+            while (whole.hasRemaining()) channel.write(whole);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * This method gets the snapshot used by the application, opening it on first use.
+     * The file is DEFAULT_FILE unless overridden with -Dcsas.snapshot
+     * @return the snapshot, or null if there is no usable snapshot file
+     */
+    public static synchronized SnapshotStore getShared() {
+        if (!sharedOpened) {
+            sharedOpened = true;
+            File file = new File(System.getProperty("csas.snapshot", DEFAULT_FILE));
+            if (file.isFile()) {
+                try {
+                    sharedStore = open(file, false);
+                } catch (IOException e) {
+                    sharedStore = null; // an unreadable snapshot is the same as no snapshot, data is requested from the API instead
+                }
+            }
+        }
+        return sharedStore;
+    }
+
+    /**
+     * This method gets one value from the snapshot
+     * @param country index of the country in Util
+     * @param indicator index of the indicator in the registry
+     * @param year the year
+     * @return the value, or NaN if it is missing or not covered by the snapshot
+     */
+    public double get(int country, int indicator, int year) {
+        int countryPosition = countryPositions[country];
+        int indicatorPosition = indicatorPositions[indicator];
+        if (countryPosition < 0 || indicatorPosition < 0 || year < minYear || year > maxYear) return Double.NaN;
+        return data.get(valueIndex(indicatorPosition, countryPosition, year));
+    }
+
+    /**
+     * This method checks whether an indicator has been loaded into the snapshot, if it has the snapshot is authoritative for it
+     * @param indicator index of the indicator in the registry
+     * @return true if the indicator has been refreshed at least once
+     */
+    public boolean isLoaded(int indicator) {
+        return getRefreshedAt(indicator) != 0;
+    }
+
+    /**
+     * This method gets when an indicator was last refreshed
+     * @param indicator index of the indicator in the registry
+     * @return the refresh time in milliseconds since the epoch, or 0 if it has never been loaded or is not in the snapshot
+     */
+    public long getRefreshedAt(int indicator) {
+        int indicatorPosition = indicatorPositions[indicator];
+        return indicatorPosition < 0 ? 0 : buffer.getLong(timestampOffset + 8 * indicatorPosition);
+    }
+
+    /**
+     * This method gets the series of a country and indicator for a range of years
+     * @param country index of the country in Util
+     * @param indicator index of the indicator in the registry
+     * @param startYear the first year of the range
+     * @param endYear the last year of the range
+     * @return the series, or null if the snapshot can not answer for the range
+     */
+    public YearSeries getSeries(int country, int indicator, int startYear, int endYear) {
+        if (!isLoaded(indicator) || countryPositions[country] < 0 || startYear < minYear || endYear > maxYear) return null;
+        YearSeries series = new YearSeries();
+        int index = valueIndex(indicatorPositions[indicator], countryPositions[country], startYear);
+        for (int year = startYear; year <= endYear; year++) {
+            series.set(year, data.get(index++));
+        }
+        return series;
+    }
+
+    /**
+     * This method stores the series of a country and indicator, replacing every year the snapshot covers
+     * @param country index of the country in Util
+     * @param indicator index of the indicator in the registry
+     * @param series the series to store
+     */
+    public void putSeries(int country, int indicator, YearSeries series) {
+        int countryPosition = countryPositions[country];
+        int indicatorPosition = indicatorPositions[indicator];
+        if (countryPosition < 0 || indicatorPosition < 0) return;
+        int index = valueIndex(indicatorPosition, countryPosition, minYear);
+        for (int year = minYear; year <= maxYear; year++) {
+            data.put(index++, series.get(year));
+        }
+    }
+
+    /**
+     * This method records that an indicator has been refreshed
+     * @param indicator index of the indicator in the registry
+     * @param time the refresh time in milliseconds since the epoch
+     */
+    public void setRefreshedAt(int indicator, long time) {
+        int indicatorPosition = indicatorPositions[indicator];
+        if (indicatorPosition >= 0) buffer.putLong(timestampOffset + 8 * indicatorPosition, time);
+    }
+
+    /**
+     * This method copies every loaded indicator of another snapshot into this one, for the countries and years both cover
+     * @param other the snapshot to copy from
+     */
+    public void copyFrom(SnapshotStore other) {
+        for (int indicator = 0; indicator < indicatorPositions.length; indicator++) {
+            if (indicatorPositions[indicator] < 0 || !other.isLoaded(indicator)) continue;
+            for (int country = 0; country < countryPositions.length; country++) {
+                YearSeries series = other.getSeries(country, indicator, Math.max(minYear, other.minYear), Math.min(maxYear, other.maxYear));
+                if (series != null) putSeries(country, indicator, series);
+            }
+            setRefreshedAt(indicator, other.getRefreshedAt(indicator));
+        }
+    }
+
+    /**
+     * This method checks whether the snapshot covers exactly the given countries, indicators and years
+     * @param countryCodes the countries
+     * @param indicatorCodes the indicators
+     * @param minYear the first year
+     * @param maxYear the last year
+     * @return true if the layout of the snapshot matches
+     */
+    public boolean hasLayout(String[] countryCodes, String[] indicatorCodes, int minYear, int maxYear) {
+        return this.minYear == minYear && this.maxYear == maxYear
+                && Arrays.equals(this.countryCodes, countryCodes) && Arrays.equals(this.indicatorCodes, indicatorCodes);
+    }
+
+    /**
+     * This method writes any changes to the snapshot file, if the snapshot is mapped from one
+     */
+    public void flush() {
+        if (buffer instanceof MappedByteBuffer) ((MappedByteBuffer) buffer).force();
+    }
+
+    /**
+     * This method calculates the position of a value in the columns
+     * @param indicatorPosition position of the indicator in the file
+     * @param countryPosition position of the country in the file
+     * @param year the year
+     * @return the index of the value in the data buffer
+     */
+    private int valueIndex(int indicatorPosition, int countryPosition, int year) {
+        return (indicatorPosition * countryCodes.length + countryPosition) * years + (year - minYear);
+    }
+
+    /**
+     * This method finds the position in the file of each code in Util or the registry
+     * @param utilCodes the codes in Util or the registry
+     * @param fileCodes the codes in the file
+     * @param positions array to fill with the position of each of those codes, -1 if the file does not have it
+     */
+    private static void mapPositions(String[] utilCodes, String[] fileCodes, int[] positions) {
+        Map<String, Integer> byCode = new HashMap<>();
+        for (int i = 0; i < fileCodes.length; i++) byCode.put(fileCodes[i], i);
+        for (int i = 0; i < utilCodes.length; i++) positions[i] = byCode.getOrDefault(utilCodes[i], -1);
+    }
+
+    /**
+     * This method reads a string written by DataOutput.writeUTF, the codes are all ASCII so the encodings agree
+     * @param buffer the buffer to read from
+     * @return the string
+     */
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xffff];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * This method rounds an offset up to a multiple of 8
+     * @param offset the offset
+     * @return the aligned offset
+     */
+    private static int align(int offset) {
+        return (offset + 7) & ~7;
+    }
+}
@@ -0,0 +1,153 @@
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class represents the user database, read once into a hash map from username to credentials so a login is a single lookup.
+ * Each line of the file is username,credentials where the credentials are either $pbkdf2$iterations$salt$hash, a salted
+ * PBKDF2 hash with the salt and hash in Base64, or a legacy plaintext password.
+ * Usage: java UserStore userDB.txt username password, adds or replaces a user with a hashed password
+ * @author Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie
+ */
+public class UserStore {
+
+    public static final String DEFAULT_FILE = "userDB.txt"; // user database used by the login window
+
+    private static final String HASH_PREFIX = "$pbkdf2$"; // start of hashed credentials
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256"; // the key derivation used for hashes
+    private static final int ITERATIONS = 65536; // iterations used for new hashes
+    private static final int SALT_BYTES = 16; // size of new salts
+    private static final int HASH_BITS = 256; // size of the hashes
+
+    private static final SecureRandom random = new SecureRandom(); // source of salts
+
+    private final Map<String, String> credentials = new HashMap<>(); // the credentials of each user, by username
+
+    /**
+     * This method reads a user database file
+     * @param file the file
+     * @return the user store
+     * @throws IOException if the file could not be read
+     */
+    public static UserStore load(File file) throws IOException {
+        UserStore store = new UserStore();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int comma = line.indexOf(','); // the username can not contain a comma, the credentials can
+                if (comma > 0) store.credentials.put(line.substring(0, comma), line.substring(comma + 1));
+            }
+        }
+        return store;
+    }
+
+    /**
+     * This method checks a username and password
+     * @param username the username entered by the user
+     * @param password the password entered by the user
+     * @return true if the user exists and the password is theirs
+     */
+    public boolean verify(String username, char[] password) {
+        String stored = credentials.get(username);
+        if (stored == null) return false;
+        if (!stored.startsWith(HASH_PREFIX)) { // a legacy plaintext password
+            return MessageDigest.isEqual(stored.getBytes(StandardCharsets.UTF_8), new String(password).getBytes(StandardCharsets.UTF_8));
+        }
+        String[] parts = stored.substring(HASH_PREFIX.length()).split("\\$");
+        if (parts.length != 3) return false; // malformed credentials never match
+        try {
+            byte[] salt = Base64.getDecoder().decode(parts[1]);
+            byte[] expected = Base64.getDecoder().decode(parts[2]);
+            return MessageDigest.isEqual(expected, hash(password, salt, Integer.parseInt(parts[0]), expected.length * 8)); // constant time comparison
+        } catch (IllegalArgumentException e) { // covers bad Base64 and a bad iteration count
+            return false;
+        }
+    }
+
+    /**
+     * This method adds or replaces a user, hashing the password with a new salt
+     * @param username the username, which can not contain a comma
+     * @param password the password
+     */
+    public void setPassword(String username, char[] password) {
+        if (username.isEmpty() || username.indexOf(',') >= 0) throw new IllegalArgumentException("Invalid username");
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        credentials.put(username, HASH_PREFIX + ITERATIONS + "$" + Base64.getEncoder().encodeToString(salt)
+                + "$" + Base64.getEncoder().encodeToString(hash(password, salt, ITERATIONS, HASH_BITS)));
+    }
+
+    /**
+     * This method writes every user to a user database file
+     * @param file the file, replaced if it exists
+     * @throws IOException if the file could not be written
+     */
+    public void save(File file) throws IOException {
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            for (Map.Entry<String, String> entry : credentials.entrySet()) {
+                out.write(entry.getKey());
+                out.write(',');
+                out.write(entry.getValue());
+                out.write('\n');
+            }
+        }
+    }
+
+    /**
+     * This method hashes a password
+     * @param password the password
+     * @param salt the salt
+     * @param iterations the number of iterations
+     * @param bits the size of the hash
+     * @return the hash
+     */
+    private static byte[] hash(char[] password, byte[] salt, int iterations, int bits) {
+        PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, bits);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) { // every Java platform has to support the algorithm
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    /**
+     * The main method of the user tool, adds or replaces a user in a user database file
+     * @param args command line args, the file, username and password
+     */
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.err.println("Usage: java UserStore userDB.txt username password");
+            System.exit(2);
+        }
+        try {
+            File file = new File(args[0]);
+            UserStore store = file.isFile() ? load(file) : new UserStore();
+            char[] password = args[2].toCharArray();
+            store.setPassword(args[1], password);
+            Arrays.fill(password, '\0');
+            store.save(file);
+            System.out.println("Saved user " + args[1] + " to " + file);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Could not save the user: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
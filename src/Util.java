@@ -512,17 +512,10 @@ public class Util {
     public static final int MIN_YEAR = 1960; // the minimum year you can choose
     public static final int MAX_YEAR = 2021; // the maximum year you can choose
 
-    // array of the different analysis types, the first dataset described in each dataset is Forest area, analysis types 2-8 contain a second variable dataset
-    public static final String[] ANALYSIS_TYPES = {"Forest area (% of land area)", "Forest area vs GDP growth (annual %)", "Forest area vs Manufacturing, value added (annual % growth)", "Forest area vs Agriculture, value added (% of GDP)", "Forest area vs Population, total", "Forest area vs Exports of goods and services (% of GDP)","Forest area vs Military expenditure (% of GDP)","Forest area vs Time required to start a business (days)"};
-
-    // array of analysis types formatted as chart labels, the first string represents the forest area dataset while the remainder represent the variable dataset in the analysis type
-    public static final String[] CHART_LABELS = {"Forest area (% of land area)", "GDP growth (annual %)", "Manufacturing, value added (annual % growth)", "Agriculture, value added (% of GDP)", "Population, total", "Exports of goods and services (% of GDP)","Military expenditure (% of GDP)","Time required to start a business (days)"};
-
-    // array of api indicators for the analysis types, this array and the 2 previous ones should index identically
-    public static final String[] INDICATORS = {"AG.LND.FRST.ZS", "NY.GDP.MKTP.KD.ZG", "NV.IND.MANF.KD.ZG", "NV.AGR.TOTL.ZS", "SP.POP.TOTL", "NE.EXP.GNFS.ZS","MS.MIL.XPND.GD.ZS","IC.REG.DURS"};
+    // the analysis types, their chart labels and api indicators are loaded from indicators.cfg, see IndicatorRegistry
 
     // array of types of graph viewers you can choose
-    public static final String[] VIEW_TYPES = {"Report", "Bar Chart", "Line Chart", "Scatter Plot"};
+    public static final String[] VIEW_TYPES = {"Report", "Bar Chart", "Line Chart", "Scatter Plot", "Country Ranking"};
 
 
     /**
@@ -537,17 +530,5 @@ public class Util {
         return years;
     }
 
-    /**
-     * This method returns a list of the 2 analysis types being graphed, only called when 2 datasets are present
-     * @return a String[] of the 2 analysis types
-     */
-    public static String[] getAnalysisList() {
-        String[] analyses = {
-                ANALYSIS_TYPES[0], // the forest analysis
-                ANALYSIS_TYPES[MainUI.getAnalysisType()] // the variable analysis
-        };
-        return analyses;
-    }
-
 
 }
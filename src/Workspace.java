@@ -0,0 +1,213 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * This class represents the workspace of a session: the selected country, analysis type and years, the open viewers with the countries
+ * overlaid on them, and the series held in the series store. It is saved to a compressed file when the application closes and loaded
+ * in the background on the next start, so the restored analysis and charts are answered from the series store without any request.
+ * Countries and indicators are saved by code and analysis types by name, so the file stays valid when the config changes
+ * @author Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie
+ */
+public class Workspace {
+
+    public static final String DEFAULT_FILE = "workspace.csw"; // workspace file name, in the working directory
+
+    private static final int MAGIC = 0x43535753; // the bytes "CSWS", written at the start of the file
+    private static final int VERSION = 2; // version of the file format, version 1 did not record when each series was fetched
+
+    private final int country; // index of the selected country
+    private final int analysisType; // index of the selected analysis type
+    private final int startYear; // the selected range of years
+    private final int endYear;
+    private final List<Integer> viewTypes = new ArrayList<>(); // the view type of each open viewer, in display order
+    private final List<int[]> overlays = new ArrayList<>(); // the countries overlaid on each open viewer
+
+    /**
+     * Constructor for a workspace, takes the selections
+     * @param country index of the selected country
+     * @param analysisType index of the selected analysis type
+     * @param startYear the selected start year
+     * @param endYear the selected end year
+     */
+    public Workspace(int country, int analysisType, int startYear, int endYear) {
+        this.country = country;
+        this.analysisType = analysisType;
+        this.startYear = startYear;
+        this.endYear = endYear;
+    }
+
+    /**
+     * This method gets the workspace file, DEFAULT_FILE unless overridden with -Dcsas.workspace
+     * @return the file
+     */
+    public static File getFile() {
+        return new File(System.getProperty("csas.workspace", DEFAULT_FILE));
+    }
+
+    /**
+     * This method adds an open viewer to the workspace
+     * @param viewType the view type of the viewer, as an index
+     * @param overlayCountries indexes of the countries overlaid on the viewer
+     */
+    public void addViewer(int viewType, int[] overlayCountries) {
+        viewTypes.add(viewType);
+        overlays.add(overlayCountries);
+    }
+
+    /**
+     * This method writes the workspace and every series of a series store to a file. The file is replaced in one step,
+     * so a failed save leaves the previous workspace intact
+     * @param file the workspace file
+     * @param store the series store to save
+     * @throws IOException if the file could not be written
+     */
+    public void save(File file, SeriesStore store) throws IOException {
+        CountryCatalog catalog = CountryCatalog.getShared();
+        File temp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(temp))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(catalog.getCode(country));
+            out.writeUTF(IndicatorRegistry.getShared().getAnalysis(analysisType).getName());
+            out.writeShort(startYear);
+            out.writeShort(endYear);
+            out.writeByte(viewTypes.size());
+            for (int i = 0; i < viewTypes.size(); i++) {
+                out.writeByte(viewTypes.get(i));
+                out.writeShort(overlays.get(i).length);
+                for (int overlayCountry : overlays.get(i)) out.writeUTF(catalog.getCode(overlayCountry));
+            }
+            store.writeTo(out);
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * This method reads a workspace file, merging its series into a series store. Countries and analysis types that no longer exist
+     * fall back to the first one, and overlaid countries that no longer exist are left out
+     * @param file the workspace file
+     * @param store the series store to merge the saved series into
+     * @return the workspace, or null if there is no workspace file
+     * @throws IOException if the file could not be read or is not a workspace file
+     */
+    public static Workspace load(File file, SeriesStore store) throws IOException {
+        if (!file.isFile()) return null; // the first session has no workspace
+        CountryCatalog catalog = CountryCatalog.getShared();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) throw new IOException(file + " is not a workspace file");
+            int country = Math.max(0, catalog.indexOf(in.readUTF()));
+            int analysisType = Math.max(0, indexOfAnalysis(in.readUTF()));
+            int startYear = clampYear(in.readShort());
+            int endYear = clampYear(in.readShort());
+            Workspace workspace = new Workspace(country, analysisType, startYear, endYear);
+            int viewerCount = in.readByte();
+            for (int i = 0; i < viewerCount; i++) {
+                int viewType = in.readByte();
+                int[] overlayCountries = new int[in.readShort()];
+                int overlayCount = 0;
+                for (int j = 0; j < overlayCountries.length; j++) {
+                    int overlayCountry = catalog.indexOf(in.readUTF());
+                    if (overlayCountry >= 0) overlayCountries[overlayCount++] = overlayCountry;
+                }
+                if (viewType >= 0 && viewType < Util.VIEW_TYPES.length) {
+                    workspace.addViewer(viewType, Arrays.copyOf(overlayCountries, overlayCount));
+                }
+            }
+            store.readFrom(in);
+            return workspace;
+        }
+    }
+
+    /**
+     * This method finds an analysis type by name
+     * @param name the name of the analysis type
+     * @return index of the analysis type, or -1 if there is none with the name
+     */
+    private static int indexOfAnalysis(String name) {
+        String[] names = IndicatorRegistry.getShared().getAnalysisNames();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * This method limits a saved year to the years that can be chosen
+     * @param year the saved year
+     * @return the year, within MIN_YEAR and MAX_YEAR
+     */
+    private static int clampYear(int year) {
+        return Math.max(Util.MIN_YEAR, Math.min(Util.MAX_YEAR, year));
+    }
+
+    /**
+     * This method gets the selected country
+     * @return index of the country in Util
+     */
+    public int getCountry() {
+        return country;
+    }
+
+    /**
+     * This method gets the selected analysis type
+     * @return index of the analysis type
+     */
+    public int getAnalysisType() {
+        return analysisType;
+    }
+
+    /**
+     * This method gets the selected start year
+     * @return the start year
+     */
+    public int getStartYear() {
+        return startYear;
+    }
+
+    /**
+     * This method gets the selected end year
+     * @return the end year
+     */
+    public int getEndYear() {
+        return endYear;
+    }
+
+    /**
+     * This method gets the number of open viewers
+     * @return the number of viewers
+     */
+    public int getViewerCount() {
+        return viewTypes.size();
+    }
+
+    /**
+     * This method gets the view type of an open viewer
+     * @param viewer index of the viewer, in display order
+     * @return the view type, as an index
+     */
+    public int getViewType(int viewer) {
+        return viewTypes.get(viewer);
+    }
+
+    /**
+     * This method gets the countries overlaid on an open viewer
+     * @param viewer index of the viewer, in display order
+     * @return indexes of the countries
+     */
+    public int[] getOverlayCountries(int viewer) {
+        return overlays.get(viewer);
+    }
+}
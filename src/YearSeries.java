@@ -0,0 +1,108 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.BitSet;
+
+/**
+ * This class represents the values of one indicator for one country, stored by year.
+ * Values are held in a primitive array indexed by (year - Util.MIN_YEAR), and a bit set records which years have no value
+ * @author Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie
+ */
+public class YearSeries {
+
+    public static final int SIZE = Util.MAX_YEAR + 1 - Util.MIN_YEAR; // number of years a series can hold
+
+    private final double[] values = new double[SIZE]; // the value of each year, only meaningful if the year is not missing
+    private final BitSet missing = new BitSet(SIZE); // set bits are years without a value
+
+    /**
+     * Constructor for the series, every year starts out missing
+     */
+    public YearSeries() {
+        missing.set(0, SIZE);
+    }
+
+    /**
+     * This method sets the value of a year, years outside the supported range are ignored
+     * @param year the year
+     * @param value the value, NaN marks the year as missing
+     */
+    public void set(int year, double value) {
+        if (year < Util.MIN_YEAR || year > Util.MAX_YEAR) return;
+        int i = year - Util.MIN_YEAR;
+        if (Double.isNaN(value)) {
+            missing.set(i);
+        } else {
+            values[i] = value;
+            missing.clear(i);
+        }
+    }
+
+    /**
+     * This method gets the value of a year
+     * @param year the year
+     * @return the value, or NaN if the year is missing
+     */
+    public double get(int year) {
+        return isMissing(year) ? Double.NaN : values[year - Util.MIN_YEAR];
+    }
+
+    /**
+     * This method checks whether a year has no value
+     * @param year the year
+     * @return true if the year is missing or outside the supported range
+     */
+    public boolean isMissing(int year) {
+        return year < Util.MIN_YEAR || year > Util.MAX_YEAR || missing.get(year - Util.MIN_YEAR);
+    }
+
+    /**
+     * This method checks whether every year in a range has a value
+     * @param startYear the first year of the range
+     * @param endYear the last year of the range
+     * @return true if no year in the range is missing
+     */
+    public boolean isComplete(int startYear, int endYear) {
+        if (startYear < Util.MIN_YEAR || endYear > Util.MAX_YEAR) return false;
+        int firstMissing = missing.nextSetBit(startYear - Util.MIN_YEAR);
+        return firstMissing == -1 || firstMissing > endYear - Util.MIN_YEAR;
+    }
+
+    /**
+     * This method formats the value of a year for display
+     * @param year the year
+     * @return the value as a string, or "null" if the year is missing
+     */
+    public String format(int year) {
+        return isMissing(year) ? "null" : Double.toString(values[year - Util.MIN_YEAR]);
+    }
+
+    /**
+     * This method writes the series as a count followed by (year, value) pairs of the years that have values
+     * @param out the output to write to
+     * @throws IOException if the series could not be written
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(SIZE - missing.cardinality());
+        for (int i = missing.nextClearBit(0); i < SIZE; i = missing.nextClearBit(i + 1)) {
+            out.writeShort(Util.MIN_YEAR + i);
+            out.writeDouble(values[i]);
+        }
+    }
+
+    /**
+     * This method reads a series written by writeTo
+     * @param in the input to read from
+     * @return the series
+     * @throws IOException if the series could not be read
+     */
+    public static YearSeries readFrom(DataInput in) throws IOException {
+        YearSeries series = new YearSeries();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            int year = in.readShort();
+            series.set(year, in.readDouble());
+        }
+        return series;
+    }
+}
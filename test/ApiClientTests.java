@@ -0,0 +1,180 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import junit.framework.TestCase;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * This class tests ApiClient against a local stub server: gzip bodies, conditional requests answered with 304,
+ * error statuses and a body that stalls part way through
+ * @author Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie
+ */
+public class ApiClientTests extends TestCase {
+
+    private static final String BODY = "[{\"page\":1,\"pages\":1},[]]"; // the body every stub response carries
+
+    private HttpServer server; // the stub server, on a free local port
+    private ExecutorService handlers; // the threads answering requests, so a stalled handler does not block the server
+    private String previousBaseUrl; // the base url before the test, restored afterwards
+
+    /**
+     * This method starts the stub server and points the client at it
+     * @throws IOException if the server could not be started
+     */
+    @Override
+    protected void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        handlers = Executors.newCachedThreadPool();
+        server.setExecutor(handlers);
+        server.start();
+        previousBaseUrl = ApiClient.getBaseUrl();
+        ApiClient.setBaseUrl("http://localhost:" + server.getAddress().getPort() + "/");
+    }
+
+    /**
+     * This method stops the stub server and restores the base url
+     */
+    @Override
+    protected void tearDown() {
+        handlers.shutdownNow(); // interrupt any stalled handler
+        server.stop(0);
+        ApiClient.setBaseUrl(previousBaseUrl);
+    }
+
+    /**
+     * A gzip compressed body is requested, and decompressed as it is read
+     * @throws IOException if the request failed
+     */
+    public void testGzipBody() throws IOException {
+        String[] acceptEncoding = new String[1];
+        server.createContext("/data", exchange -> {
+            acceptEncoding[0] = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(BODY.getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            send(exchange, 200, compressed.toByteArray());
+        });
+        try (ApiClient.Response response = ApiClient.get("data", null, null, Duration.ofSeconds(5))) {
+            assertEquals("gzip", acceptEncoding[0]);
+            assertEquals(200, response.getStatus());
+            assertEquals(BODY, readAll(response.getBody()));
+        }
+    }
+
+    /**
+     * A request carrying the validators of a cached response gets NOT_MODIFIED while they match,
+     * and the validators are kept for the cache
+     * @throws IOException if the request failed
+     */
+    public void testNotModified() throws IOException {
+        server.createContext("/data", exchange -> {
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                send(exchange, 304, null);
+            } else {
+                exchange.getResponseHeaders().set("ETag", "\"v1\"");
+                exchange.getResponseHeaders().set("Last-Modified", "Sun, 18 Oct 2026 00:00:00 GMT");
+                send(exchange, 200, BODY.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        String etag;
+        String lastModified;
+        try (ApiClient.Response response = ApiClient.get("data", null, null, Duration.ofSeconds(5))) {
+            assertEquals(200, response.getStatus());
+            etag = response.getETag();
+            lastModified = response.getLastModified();
+        }
+        assertEquals("\"v1\"", etag);
+        try (ApiClient.Response response = ApiClient.get("data", etag, lastModified, Duration.ofSeconds(5))) {
+            assertEquals(ApiClient.NOT_MODIFIED, response.getStatus());
+            assertNull(response.getBody());
+            assertEquals(etag, response.getETag());
+            assertEquals(lastModified, response.getLastModified());
+        }
+        try (ApiClient.Response response = ApiClient.get("data", "\"v0\"", null, Duration.ofSeconds(5))) {
+            assertEquals(200, response.getStatus()); // an outdated validator gets the full body
+            assertEquals(BODY, readAll(response.getBody()));
+        }
+    }
+
+    /**
+     * An error status is reported as a StatusException carrying the status
+     */
+    public void testErrorStatus() {
+        server.createContext("/data", exchange -> send(exchange, 503, BODY.getBytes(StandardCharsets.UTF_8)));
+        try {
+            ApiClient.get("data", null, null, Duration.ofSeconds(5)).close();
+            fail("Should have thrown a StatusException");
+        } catch (ApiClient.StatusException e) {
+            assertEquals(503, e.getStatus());
+        } catch (IOException e) {
+            fail("Unexpected failure " + e);
+        }
+    }
+
+    /**
+     * A body that stops arriving after the headers is abandoned once the timeout passes, instead of blocking the reader
+     */
+    public void testStalledBody() {
+        server.createContext("/data", exchange -> {
+            exchange.sendResponseHeaders(200, 1000); // promise a body
+            OutputStream out = exchange.getResponseBody();
+            out.write(new byte[10]); // but only send part of it
+            out.flush();
+            try {
+                Thread.sleep(10000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        long start = System.currentTimeMillis();
+        try {
+            ApiClient.get("data", null, null, Duration.ofMillis(500)).close();
+            fail("Should have timed out");
+        } catch (HttpTimeoutException e) {
+            // the required exception
+        } catch (IOException e) {
+            fail("Unexpected failure " + e);
+        }
+        assertTrue(System.currentTimeMillis() - start < 5000);
+    }
+
+    /**
+     * This method sends a response from the stub server
+     * @param exchange the exchange to answer
+     * @param status the HTTP status
+     * @param body the body, or null for none
+     * @throws IOException if the response could not be sent
+     */
+    static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body == null ? -1 : body.length);
+        if (body != null) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+        exchange.close();
+    }
+
+    /**
+     * This method reads a stream to the end as UTF-8 text
+     * @param in the stream
+     * @return the text
+     * @throws IOException if the stream could not be read
+     */
+    private static String readAll(InputStream in) throws IOException {
+        return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+}
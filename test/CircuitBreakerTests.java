@@ -0,0 +1,99 @@
+import junit.framework.TestCase;
+
+/**
+ * This class tests the state changes of CircuitBreaker: closed, open, half open with a single trial call, and closed again
+ * @author Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie
+ */
+public class CircuitBreakerTests extends TestCase {
+
+    private static final long OPEN_MILLIS = 100; // how long the breakers under test stay open
+
+    /**
+     * This method opens a breaker by recording failures up to its threshold
+     * @param breaker the breaker
+     * @param threshold its failure threshold
+     */
+    private static void open(CircuitBreaker breaker, int threshold) {
+        for (int i = 0; i < threshold; i++) {
+            assertTrue(breaker.allowRequest());
+            breaker.recordFailure();
+        }
+    }
+
+    /**
+     * This method waits for the open period of a breaker to pass
+     * @throws InterruptedException if the wait was interrupted
+     */
+    private static void waitForTrial() throws InterruptedException {
+        Thread.sleep(OPEN_MILLIS + 50);
+    }
+
+    /**
+     * The breaker stays closed below the threshold, and a success resets the count of consecutive failures
+     */
+    public void testClosedBelowThreshold() {
+        CircuitBreaker breaker = new CircuitBreaker(3, OPEN_MILLIS);
+        open(breaker, 2);
+        assertFalse(breaker.isOpen());
+        breaker.recordSuccess();
+        open(breaker, 2);
+        assertFalse(breaker.isOpen());
+        assertTrue(breaker.allowRequest());
+    }
+
+    /**
+     * The breaker opens at the threshold and refuses calls until the open period has passed
+     */
+    public void testOpensAtThreshold() {
+        CircuitBreaker breaker = new CircuitBreaker(3, OPEN_MILLIS);
+        open(breaker, 3);
+        assertTrue(breaker.isOpen());
+        assertFalse(breaker.allowRequest());
+    }
+
+    /**
+     * After the open period a single trial call is let through, and its success closes the breaker
+     * @throws InterruptedException if the wait was interrupted
+     */
+    public void testSuccessfulTrialCloses() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(3, OPEN_MILLIS);
+        open(breaker, 3);
+        waitForTrial();
+        assertTrue(breaker.allowRequest()); // the trial call
+        assertFalse(breaker.allowRequest()); // only one at a time
+        breaker.recordSuccess();
+        assertFalse(breaker.isOpen());
+        assertTrue(breaker.allowRequest());
+        assertTrue(breaker.allowRequest());
+    }
+
+    /**
+     * A failed trial call opens the breaker again for another open period
+     * @throws InterruptedException if the wait was interrupted
+     */
+    public void testFailedTrialReopens() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(3, OPEN_MILLIS);
+        open(breaker, 3);
+        waitForTrial();
+        assertTrue(breaker.allowRequest());
+        breaker.recordFailure();
+        assertTrue(breaker.isOpen());
+        assertFalse(breaker.allowRequest());
+        waitForTrial();
+        assertTrue(breaker.allowRequest());
+    }
+
+    /**
+     * An abandoned trial call lets another trial through without waiting
+     * @throws InterruptedException if the wait was interrupted
+     */
+    public void testAbandonedTrial() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(3, OPEN_MILLIS);
+        open(breaker, 3);
+        waitForTrial();
+        assertTrue(breaker.allowRequest());
+        breaker.recordAbandoned();
+        assertTrue(breaker.isOpen());
+        assertTrue(breaker.allowRequest());
+    }
+}
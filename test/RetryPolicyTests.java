@@ -0,0 +1,156 @@
+import com.sun.net.httpserver.HttpServer;
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class tests RetryPolicy, retrying requests to a local stub server that fails a number of times before answering
+ * @author Paul Scoropan, Gouri Sikha, Bizman Sawhney, Owen Tjhie
+ */
+public class RetryPolicyTests extends TestCase {
+
+    private HttpServer server; // the stub server, on a free local port
+    private ExecutorService handlers; // the threads answering requests
+    private String previousBaseUrl; // the base url before the test, restored afterwards
+    private final AtomicInteger requests = new AtomicInteger(); // the number of requests the stub received
+
+    /**
+     * This method starts the stub server and points the client at it
+     * @throws IOException if the server could not be started
+     */
+    @Override
+    protected void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        handlers = Executors.newCachedThreadPool();
+        server.setExecutor(handlers);
+        server.start();
+        previousBaseUrl = ApiClient.getBaseUrl();
+        ApiClient.setBaseUrl("http://localhost:" + server.getAddress().getPort() + "/");
+    }
+
+    /**
+     * This method stops the stub server and restores the base url
+     */
+    @Override
+    protected void tearDown() {
+        handlers.shutdownNow();
+        server.stop(0);
+        ApiClient.setBaseUrl(previousBaseUrl);
+    }
+
+    /**
+     * This method makes the stub answer with an error status a number of times, then with 200
+     * @param status the error status
+     * @param failures how many requests fail
+     */
+    private void failThenSucceed(int status, int failures) {
+        server.createContext("/data", exchange -> {
+            boolean fail = requests.incrementAndGet() <= failures;
+            ApiClientTests.send(exchange, fail ? status : 200, "[]".getBytes(StandardCharsets.UTF_8));
+        });
+    }
+
+    /**
+     * This method makes one call through the policy to the stub
+     * @param policy the retry policy
+     * @param deadlineMillis how long the call may take
+     * @return the status of the response
+     * @throws IOException if the call failed
+     */
+    private static int call(RetryPolicy policy, long deadlineMillis) throws IOException {
+        return policy.call(timeoutMillis -> {
+            try (ApiClient.Response response = ApiClient.get("data", null, null, Duration.ofMillis(timeoutMillis))) {
+                return response.getStatus();
+            }
+        }, System.currentTimeMillis() + deadlineMillis);
+    }
+
+    /**
+     * Server errors are retried until the call succeeds
+     * @throws IOException if the call failed
+     */
+    public void testRetriesServerErrors() throws IOException {
+        failThenSucceed(503, 2);
+        assertEquals(200, call(new RetryPolicy(4, 10, 50), 5000));
+        assertEquals(3, requests.get());
+    }
+
+    /**
+     * 429 Too Many Requests is retried like a server error
+     * @throws IOException if the call failed
+     */
+    public void testRetriesTooManyRequests() throws IOException {
+        failThenSucceed(429, 1);
+        assertEquals(200, call(new RetryPolicy(4, 10, 50), 5000));
+        assertEquals(2, requests.get());
+    }
+
+    /**
+     * Client errors are not retried
+     */
+    public void testDoesNotRetryClientErrors() {
+        failThenSucceed(404, 1);
+        try {
+            call(new RetryPolicy(4, 10, 50), 5000);
+            fail("Should have thrown a StatusException");
+        } catch (ApiClient.StatusException e) {
+            assertEquals(404, e.getStatus());
+        } catch (IOException e) {
+            fail("Unexpected failure " + e);
+        }
+        assertEquals(1, requests.get());
+    }
+
+    /**
+     * The last failure is thrown once the attempts run out
+     */
+    public void testGivesUpAfterMaxAttempts() {
+        failThenSucceed(500, Integer.MAX_VALUE);
+        try {
+            call(new RetryPolicy(3, 10, 50), 5000);
+            fail("Should have thrown a StatusException");
+        } catch (ApiClient.StatusException e) {
+            assertEquals(500, e.getStatus());
+        } catch (IOException e) {
+            fail("Unexpected failure " + e);
+        }
+        assertEquals(3, requests.get());
+    }
+
+    /**
+     * No retry is made when its backoff would end after the deadline
+     */
+    public void testStopsAtDeadline() {
+        failThenSucceed(500, Integer.MAX_VALUE);
+        long start = System.currentTimeMillis();
+        try {
+            call(new RetryPolicy(10, 400, 400), 1000);
+            fail("Should have thrown a StatusException");
+        } catch (IOException e) {
+            // the required exception
+        }
+        assertTrue(System.currentTimeMillis() - start < 1500);
+        assertTrue(requests.get() < 10);
+    }
+
+    /**
+     * The backoff doubles with each attempt, is capped at the maximum delay, and at least half of it is kept as jitter is added
+     */
+    public void testBackoff() {
+        RetryPolicy policy = new RetryPolicy(10, 100, 1000);
+        for (int i = 0; i < 100; i++) {
+            long first = policy.delayBeforeRetry(1);
+            assertTrue(first >= 50 && first <= 100);
+            long third = policy.delayBeforeRetry(3);
+            assertTrue(third >= 200 && third <= 400);
+            long capped = policy.delayBeforeRetry(8);
+            assertTrue(capped >= 500 && capped <= 1000);
+        }
+    }
+}